@@ -21,6 +21,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.model.IPersonProjection;
 import org.springframework.data.jpa.model.Person;
 import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
 
 /**
  * @author Christoph Strobl
@@ -37,6 +38,9 @@ public interface PersonRepository extends ListCrudRepository<Person, Integer> {
 	@Query("SELECT p FROM org.springframework.data.jpa.model.Person p WHERE p.firstname = ?1")
 	List<Person> findAllWithAnnotatedQueryByFirstname(String firstname, Sort sort);
 
+	@Query("SELECT p FROM org.springframework.data.jpa.model.Person p WHERE p.firstname = :#{#firstname.toLowerCase()}")
+	List<Person> findAllWithSpelExpressionByFirstname(@Param("firstname") String firstname);
+
 	@Query(value = "SELECT * FROM person WHERE firstname = ?1", nativeQuery = true)
 	List<Person> findAllWithNativeQueryByFirstname(String firstname);
 
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jmh.mbr.junit5.Microbenchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.data.jpa.model.Person;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.jpa.repository.support.StatelessJpaRepository;
+
+/**
+ * Benchmark comparing {@link StatelessJpaRepository#insertAll(Iterable)} with {@code saveAll(…)}.
+ *
+ * @author agent
+ */
+@Microbenchmark
+@Fork(1)
+@Warmup(time = 2, iterations = 3)
+@Measurement(time = 2)
+@Timeout(time = 2)
+public class BulkInsertTests {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkParameters {
+
+		@Param({ "100", "1000" }) int size;
+
+		EntityManagerFactory entityManagerFactory;
+		EntityManager entityManager;
+		PersonRepository repositoryProxy;
+		StatelessJpaRepository<Person> statelessRepository;
+
+		@Setup(Level.Trial)
+		public void doSetup() {
+
+			Map<String, String> properties = new HashMap<>();
+			properties.put("jakarta.persistence.jdbc.url", "jdbc:h2:mem:bulk");
+			properties.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+			properties.put("hibernate.hbm2ddl.auto", "update");
+			entityManagerFactory = Persistence.createEntityManagerFactory("benchmark", properties);
+		}
+
+		@Setup(Level.Invocation)
+		public void beginTransaction() {
+
+			entityManager = entityManagerFactory.createEntityManager();
+			entityManager.getTransaction().begin();
+
+			repositoryProxy = new JpaRepositoryFactory(entityManager).getRepository(PersonRepository.class);
+			statelessRepository = new StatelessJpaRepository<>(Person.class, entityManager);
+		}
+
+		@TearDown(Level.Invocation)
+		public void rollbackTransaction() {
+
+			entityManager.getTransaction().rollback();
+			entityManager.close();
+		}
+
+		@TearDown(Level.Trial)
+		public void doTearDown() {
+			entityManagerFactory.close();
+		}
+
+		List<Person> createPersons() {
+
+			List<Person> persons = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				persons.add(new Person("first" + i, "last" + i, "person" + i + "@benchmark.com"));
+			}
+
+			return persons;
+		}
+	}
+
+	@Benchmark
+	public List<Person> saveAll(BenchmarkParameters parameters) {
+
+		List<Person> result = parameters.repositoryProxy.saveAll(parameters.createPersons());
+		parameters.entityManager.flush();
+
+		return result;
+	}
+
+	@Benchmark
+	public long statelessInsertAll(BenchmarkParameters parameters) {
+		return parameters.statelessRepository.insertAll(parameters.createPersons());
+	}
+}
@@ -174,6 +174,11 @@ public class RepositoryFinderTests {
 		return parameters.repositoryProxy.findAllWithAnnotatedQueryByFirstname(PERSON_FIRSTNAME, Sort.by(COLUMN_PERSON_FIRSTNAME));
 	}
 
+	@Benchmark
+	public List<Person> stringBasedQueryWithSpelExpression(BenchmarkParameters parameters) {
+		return parameters.repositoryProxy.findAllWithSpelExpressionByFirstname(PERSON_FIRSTNAME);
+	}
+
 	@Benchmark
 	public List<Person> stringBasedNativeQuery(BenchmarkParameters parameters) {
 		return parameters.repositoryProxy.findAllWithNativeQueryByFirstname(PERSON_FIRSTNAME);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import jmh.mbr.junit5.Microbenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Benchmark comparing {@link DefaultQueryEnhancer} with the {@link QueryUtils} regular expressions.
+ *
+ * @author agent
+ */
+@Microbenchmark
+@Fork(1)
+@Warmup(time = 2, iterations = 3)
+@Measurement(time = 2)
+@Timeout(time = 2)
+public class DefaultQueryEnhancerTests {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkParameters {
+
+		DeclaredQuery query;
+		Sort sort = Sort.by("foo");
+
+		@Setup(Level.Iteration)
+		public void doSetup() {
+
+			String s = """
+					select distinct p.id, p.name, (select count(*) from orders o where o.person_id = p.id) as order_count
+					from person p left join address a on a.person_id = p.id
+					where p.name like 'from%' and a.city = :city -- (select ... from)
+					order by p.id""";
+
+			query = DeclaredQuery.of(s, true);
+		}
+	}
+
+	@Benchmark
+	public Object applySorting(BenchmarkParameters parameters) {
+		return new DefaultQueryEnhancer(parameters.query).applySorting(parameters.sort);
+	}
+
+	@Benchmark
+	public Object createCountQuery(BenchmarkParameters parameters) {
+		return new DefaultQueryEnhancer(parameters.query).createCountQueryFor();
+	}
+
+	@Benchmark
+	@SuppressWarnings("deprecation")
+	public Object applySortingUsingRegex(BenchmarkParameters parameters) {
+
+		String query = parameters.query.getQueryString();
+		return QueryUtils.applySorting(query, parameters.sort, QueryUtils.detectAlias(query));
+	}
+
+	@Benchmark
+	public Object createCountQueryUsingRegex(BenchmarkParameters parameters) {
+		return QueryUtils.createCountQueryFor(parameters.query.getQueryString(), null, true);
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import jmh.mbr.junit5.Microbenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark measuring the first parses after clearing the DFA cache of the HQL parser, optionally after warming up the
+ * parser using {@link JpaQueryParserWarmUp}.
+ *
+ * @author agent
+ */
+@Microbenchmark
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Timeout(time = 2)
+public class HqlParserColdStartTests {
+
+	private static final List<String> QUERIES = List.of( //
+			"select p from Person p where p.firstname = :firstname and p.lastname <> ?2", //
+			"select distinct p from Person p left join p.address a where a.city in :cities order by p.id", //
+			"select p.lastname, avg(p.age) from Person p group by p.lastname having avg(p.age) < 40", //
+			"select new com.example.PersonDto(p.id, p.emailAddress) from Person p inner join p.manager m", //
+			"select p from Person p where not exists (select o from Order o where o.person = p and o.total > 10)", //
+			"select coalesce(p.nickname, p.firstname) from Person p where p.createdAt > current_date", //
+			"update Person p set p.emailAddress = lower(p.emailAddress) where p.id = :id", //
+			"delete from Person p where p.age is null or p.lastname like 'test%'");
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkParameters {
+
+		@Param({ "10", "100" }) int parses;
+		@Param({ "false", "true" }) boolean warmUp;
+
+		List<String> queries;
+
+		@Setup(Level.Trial)
+		public void doSetup() {
+
+			queries = new ArrayList<>(parses);
+
+			for (int i = 0; i < parses; i++) {
+				queries.add(QUERIES.get(i % QUERIES.size()).replace("Person p", "Person p" + i).replace("p.", "p" + i + "."));
+			}
+		}
+
+		@Setup(Level.Iteration)
+		public void clearCaches() {
+
+			new HqlParser(new CommonTokenStream(new HqlLexer(CharStreams.fromString("")))).getInterpreter().clearDFA();
+
+			if (warmUp) {
+				JpaQueryParserWarmUp.warmUp(JpaQueryEnhancer.HqlQueryParser::parseQuery);
+			}
+		}
+	}
+
+	@Benchmark
+	public Object measureColdParses(BenchmarkParameters parameters) {
+
+		Object result = null;
+
+		for (String query : parameters.queries) {
+			result = JpaQueryEnhancer.HqlQueryParser.parseQuery(query);
+		}
+
+		return result;
+	}
+
+}
@@ -17,6 +17,7 @@ package org.springframework.data.jpa.repository.query;
 
 import jmh.mbr.junit5.Microbenchmark;
 
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
@@ -26,6 +27,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Timeout;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
 
 import org.springframework.data.domain.Sort;
 
@@ -61,9 +63,68 @@ public class HqlParserTests {
 		}
 	}
 
+	/**
+	 * Retained size of the most recently measured enhancer in bytes as determined by walking its object graph.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RetainedSize {
+
+		public long retainedBytes;
+
+		@Setup(Level.Iteration)
+		public void doSetup() {
+			retainedBytes = 0;
+		}
+	}
+
 	@Benchmark
 	public Object measure(BenchmarkParameters parameters) {
 		return parameters.enhancer.applySorting(parameters.sort);
 	}
 
+	@Benchmark
+	public Object measureCountQuery(BenchmarkParameters parameters) {
+		return parameters.enhancer.createCountQueryFor();
+	}
+
+	/**
+	 * Measures creating and fully rendering an enhancer. Run with {@code -prof gc} to compare the allocated footprint.
+	 */
+	@Benchmark
+	public Object measureEnhancerLifecycle(BenchmarkParameters parameters) {
+
+		QueryEnhancer enhancer = QueryEnhancerFactory.forQuery(parameters.query);
+		enhancer.applySorting(parameters.sort);
+		enhancer.createCountQueryFor();
+
+		return enhancer;
+	}
+
+	/**
+	 * Measures the retained size of a newly created enhancer through the {@code retainedBytes} counter.
+	 */
+	@Benchmark
+	public Object measureRetainedSize(BenchmarkParameters parameters, RetainedSize size) {
+
+		QueryEnhancer enhancer = QueryEnhancerFactory.forQuery(parameters.query);
+		size.retainedBytes = GraphLayout.parseInstance(enhancer).totalSize();
+
+		return enhancer;
+	}
+
+	/**
+	 * Measures the retained size of an enhancer after rendering a sorted and the count query through the
+	 * {@code retainedBytes} counter.
+	 */
+	@Benchmark
+	public Object measureRetainedSizeAfterRendering(BenchmarkParameters parameters, RetainedSize size) {
+
+		QueryEnhancer enhancer = QueryEnhancerFactory.forQuery(parameters.query);
+		enhancer.applySorting(parameters.sort);
+		enhancer.createCountQueryFor();
+		size.retainedBytes = GraphLayout.parseInstance(enhancer).totalSize();
+
+		return enhancer;
+	}
 }
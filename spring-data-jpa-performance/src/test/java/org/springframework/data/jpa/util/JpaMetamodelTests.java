@@ -0,0 +1,217 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.util;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.metamodel.EmbeddableType;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type.PersistenceType;
+import jmh.mbr.junit5.Microbenchmark;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.util.StreamUtils;
+
+/**
+ * Benchmark for {@link JpaMetamodel} lookups against a metamodel with 500 generated entity classes and 50 generated
+ * embeddable classes. The {@code UsingEntityScan} and {@code UsingManagedTypeLookup} variants mirror the lookups
+ * {@link JpaMetamodel} performed before indexing them by Java type.
+ *
+ * @author agent
+ */
+@Microbenchmark
+@Fork(1)
+@Warmup(time = 2, iterations = 3)
+@Measurement(time = 2)
+@Timeout(time = 2)
+public class JpaMetamodelTests {
+
+	private static final int ENTITY_COUNT = 500;
+	private static final int EMBEDDABLE_COUNT = 50;
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkParameters {
+
+		Metamodel metamodel;
+		JpaMetamodel jpaMetamodel;
+		Class<?> entity;
+
+		// lazily computed by JpaMetamodel before indexing lookups by Java type
+		Collection<Class<?>> managedTypes;
+		Collection<Class<?>> jpaEmbeddables;
+
+		@Setup(Level.Trial)
+		public void doSetup() {
+
+			Set<EntityType<?>> entities = new LinkedHashSet<>();
+			Set<EmbeddableType<?>> embeddables = new LinkedHashSet<>();
+			Map<Class<?>, ManagedType<?>> managedTypesByJavaType = new HashMap<>();
+
+			for (int i = 0; i < ENTITY_COUNT; i++) {
+
+				entity = generateClass("Entity" + i, Entity.class);
+
+				EntityType<?> entityType = entityType(entity);
+				entities.add(entityType);
+				managedTypesByJavaType.put(entity, entityType);
+			}
+
+			for (int i = 0; i < EMBEDDABLE_COUNT; i++) {
+
+				Class<?> type = generateClass("Embeddable" + i, Embeddable.class);
+
+				EmbeddableType<?> embeddableType = embeddableType(type);
+				embeddables.add(embeddableType);
+				managedTypesByJavaType.put(type, embeddableType);
+			}
+
+			Set<ManagedType<?>> managedTypes = new LinkedHashSet<>(entities);
+			managedTypes.addAll(embeddables);
+
+			metamodel = mock(Metamodel.class, withSettings().stubOnly());
+			doReturn(entities).when(metamodel).getEntities();
+			doReturn(embeddables).when(metamodel).getEmbeddables();
+			doReturn(managedTypes).when(metamodel).getManagedTypes();
+
+			// resolves managed types through a map like the metamodel of persistence providers does
+			doAnswer(invocation -> {
+
+				ManagedType<?> managedType = managedTypesByJavaType.get(invocation.getArgument(0));
+
+				if (managedType == null) {
+					throw new IllegalArgumentException("Not a managed type: " + invocation.getArgument(0));
+				}
+
+				return managedType;
+			}).when(metamodel).managedType(any());
+
+			this.managedTypes = metamodel.getManagedTypes().stream() //
+					.map(ManagedType::getJavaType) //
+					.filter(Objects::nonNull) //
+					.collect(StreamUtils.toUnmodifiableSet());
+
+			this.jpaEmbeddables = metamodel.getEmbeddables().stream() //
+					.map(ManagedType::getJavaType) //
+					.filter(Objects::nonNull) //
+					.filter(it -> AnnotatedElementUtils.isAnnotated(it, Embeddable.class)) //
+					.collect(StreamUtils.toUnmodifiableSet());
+
+			JpaMetamodel.clear();
+			jpaMetamodel = JpaMetamodel.of(metamodel);
+		}
+	}
+
+	@Benchmark
+	public boolean isSingleIdAttribute(BenchmarkParameters parameters) {
+		return parameters.jpaMetamodel.isSingleIdAttribute(parameters.entity, "id", Long.class);
+	}
+
+	@Benchmark
+	public boolean isSingleIdAttributeUsingEntityScan(BenchmarkParameters parameters) {
+
+		return parameters.metamodel.getEntities().stream() //
+				.filter(it -> parameters.entity.equals(it.getJavaType())) //
+				.findFirst() //
+				.filter(EntityType::hasSingleIdAttribute) //
+				.flatMap(it -> it.getSingularAttributes().stream().filter(SingularAttribute::isId).findFirst()) //
+				.filter(it -> it.getJavaType().equals(Long.class)) //
+				.map(it -> it.getName().equals("id")) //
+				.orElse(false);
+	}
+
+	@Benchmark
+	public boolean isMappedType(BenchmarkParameters parameters) {
+		return parameters.jpaMetamodel.isMappedType(parameters.entity);
+	}
+
+	@Benchmark
+	public boolean isMappedTypeUsingManagedTypeLookup(BenchmarkParameters parameters) {
+
+		if (!parameters.managedTypes.contains(parameters.entity)) {
+			return false;
+		}
+
+		ManagedType<?> managedType = parameters.metamodel.managedType(parameters.entity);
+
+		return !managedType.getPersistenceType().equals(PersistenceType.EMBEDDABLE)
+				|| parameters.jpaEmbeddables.contains(parameters.entity);
+	}
+
+	private static Class<?> generateClass(String name, Class<? extends Annotation> annotation) {
+
+		return new ByteBuddy() //
+				.subclass(Object.class) //
+				.name(JpaMetamodelTests.class.getName() + "$" + name) //
+				.annotateType(AnnotationDescription.Builder.ofType(annotation).build()) //
+				.make() //
+				.load(JpaMetamodelTests.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER) //
+				.getLoaded();
+	}
+
+	private static EntityType<?> entityType(Class<?> type) {
+
+		SingularAttribute<?, ?> id = mock(SingularAttribute.class, withSettings().stubOnly());
+		doReturn("id").when(id).getName();
+		doReturn(Long.class).when(id).getJavaType();
+		doReturn(true).when(id).isId();
+
+		EntityType<?> entityType = mock(EntityType.class, withSettings().stubOnly());
+		doReturn(type.getSimpleName()).when(entityType).getName();
+		doReturn(type).when(entityType).getJavaType();
+		doReturn(PersistenceType.ENTITY).when(entityType).getPersistenceType();
+		doReturn(true).when(entityType).hasSingleIdAttribute();
+		doReturn(Set.of(id)).when(entityType).getSingularAttributes();
+
+		return entityType;
+	}
+
+	private static EmbeddableType<?> embeddableType(Class<?> type) {
+
+		EmbeddableType<?> embeddableType = mock(EmbeddableType.class, withSettings().stubOnly());
+		doReturn(type).when(embeddableType).getJavaType();
+		doReturn(PersistenceType.EMBEDDABLE).when(embeddableType).getPersistenceType();
+
+		return embeddableType;
+	}
+}
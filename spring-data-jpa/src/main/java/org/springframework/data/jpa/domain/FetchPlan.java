@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Value object describing the associations to fetch eagerly along with the entities returned by a query. Paths are
+ * expressed as dot-separated property paths (e.g. {@code manager.roles}).
+ * <p>
+ * Paths that traverse to-one associations only are fetched together with the result using a fetch join. Paths that
+ * traverse a collection are fetched through a secondary query restricting the results by their identifiers so that
+ * pagination is applied to the root entities and the result does not contain duplicates.
+ *
+ * @author agent
+ * @since 3.4
+ */
+public final class FetchPlan implements Serializable {
+
+	@Serial private static final long serialVersionUID = 1L;
+
+	private static final FetchPlan NONE = new FetchPlan(Collections.emptySet());
+
+	private final Set<String> paths;
+
+	private FetchPlan(Set<String> paths) {
+		this.paths = paths;
+	}
+
+	/**
+	 * Returns an empty {@link FetchPlan}.
+	 *
+	 * @return an empty {@link FetchPlan}.
+	 */
+	public static FetchPlan none() {
+		return NONE;
+	}
+
+	/**
+	 * Creates a new {@link FetchPlan} for the given property paths.
+	 *
+	 * @param paths must not be {@literal null}.
+	 * @return a new {@link FetchPlan}.
+	 */
+	public static FetchPlan of(String... paths) {
+
+		Assert.notNull(paths, "Paths must not be null");
+
+		return of(Arrays.asList(paths));
+	}
+
+	/**
+	 * Creates a new {@link FetchPlan} for the given property paths.
+	 *
+	 * @param paths must not be {@literal null}.
+	 * @return a new {@link FetchPlan}.
+	 */
+	public static FetchPlan of(Collection<String> paths) {
+
+		Assert.notNull(paths, "Paths must not be null");
+		Assert.noNullElements(paths, "Paths must not contain null elements");
+
+		return paths.isEmpty() ? NONE : new FetchPlan(Collections.unmodifiableSet(new LinkedHashSet<>(paths)));
+	}
+
+	/**
+	 * Returns a new {@link FetchPlan} consisting of the paths of this and the given {@link FetchPlan}.
+	 *
+	 * @param other must not be {@literal null}.
+	 * @return a new {@link FetchPlan}.
+	 */
+	public FetchPlan and(FetchPlan other) {
+
+		Assert.notNull(other, "Other FetchPlan must not be null");
+
+		Set<String> paths = new LinkedHashSet<>(this.paths);
+		paths.addAll(other.paths);
+
+		return of(paths);
+	}
+
+	/**
+	 * @return the property paths to fetch.
+	 */
+	public Set<String> getPaths() {
+		return paths;
+	}
+
+	/**
+	 * @return {@literal true} if this {@link FetchPlan} does not contain any paths.
+	 */
+	public boolean isEmpty() {
+		return paths.isEmpty();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+
+		if (this == o) {
+			return true;
+		}
+
+		if (!(o instanceof FetchPlan that)) {
+			return false;
+		}
+
+		return ObjectUtils.nullSafeEquals(paths, that.paths);
+	}
+
+	@Override
+	public int hashCode() {
+		return ObjectUtils.nullSafeHashCode(paths);
+	}
+
+	@Override
+	public String toString() {
+		return "FetchPlan " + paths;
+	}
+}
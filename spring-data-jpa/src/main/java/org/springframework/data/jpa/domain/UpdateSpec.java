@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.domain;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Specification of the assignments applied by a {@link CriteriaUpdate bulk update}. Assignments are collected through
+ * {@link CriteriaUpdate#set(SingularAttribute, Object)} and friends.
+ *
+ * @param <T> the entity type.
+ * @author agent
+ * @since 3.4
+ * @see org.springframework.data.jpa.repository.JpaSpecificationExecutor#update(Specification, UpdateSpec)
+ */
+@FunctionalInterface
+public interface UpdateSpec<T> extends Serializable {
+
+	@Serial long serialVersionUID = 1L;
+
+	/**
+	 * Creates an {@link UpdateSpec} assigning {@code value} to the given {@link SingularAttribute}.
+	 *
+	 * @param attribute must not be {@literal null}.
+	 * @param value can be {@literal null}.
+	 * @return guaranteed to be not {@literal null}.
+	 */
+	static <T, Y, X extends Y> UpdateSpec<T> set(SingularAttribute<? super T, Y> attribute, @Nullable X value) {
+
+		Assert.notNull(attribute, "Attribute must not be null");
+
+		return (root, update, builder) -> update.set(attribute, value);
+	}
+
+	/**
+	 * Creates an {@link UpdateSpec} assigning {@code value} to the given property path.
+	 *
+	 * @param property must not be {@literal null} or empty.
+	 * @param value can be {@literal null}.
+	 * @return guaranteed to be not {@literal null}.
+	 */
+	static <T> UpdateSpec<T> set(String property, @Nullable Object value) {
+
+		Assert.hasText(property, "Property must not be null or empty");
+
+		return (root, update, builder) -> update.set(property, value);
+	}
+
+	/**
+	 * Combines the assignments of this {@link UpdateSpec} with the given one.
+	 *
+	 * @param other must not be {@literal null}.
+	 * @return the combined {@link UpdateSpec}.
+	 */
+	default UpdateSpec<T> and(UpdateSpec<T> other) {
+
+		Assert.notNull(other, "Other UpdateSpec must not be null");
+
+		return (root, update, builder) -> {
+			apply(root, update, builder);
+			other.apply(root, update, builder);
+		};
+	}
+
+	/**
+	 * Applies assignments to the given {@link CriteriaUpdate}.
+	 *
+	 * @param root must not be {@literal null}.
+	 * @param update must not be {@literal null}.
+	 * @param criteriaBuilder must not be {@literal null}.
+	 */
+	void apply(Root<T> root, CriteriaUpdate<T> update, CriteriaBuilder criteriaBuilder);
+}
@@ -15,9 +15,20 @@
  */
 package org.springframework.data.jpa.provider;
 
+import jakarta.persistence.EntityManager;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import org.hibernate.ConnectionReleaseMode;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.query.Query;
 import org.hibernate.query.spi.SqmQuery;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * Utility functions to work with Hibernate. Mostly using reflection to make sure common functionality can be executed
@@ -68,4 +79,52 @@ public abstract class HibernateUtils {
 			throw new IllegalArgumentException("Don't know how to extract the query string from " + query);
 		}
 	}
+
+	/**
+	 * Detaches all managed entities of the given type from the persistence context of the given {@link EntityManager}.
+	 *
+	 * @param entityManager must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @since 3.4
+	 */
+	public static void detachEntitiesOfType(EntityManager entityManager, Class<?> type) {
+
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+
+		for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+			if (type.isInstance(entry.getKey())) {
+				session.evict(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Opens a {@link StatelessSession} on the JDBC connection of the {@link Session} backing the given
+	 * {@link EntityManager} after flushing pending changes to that connection. The connection is obtained from and
+	 * remains owned by the {@link Session}: the {@link StatelessSession} does not close it and must not be used beyond
+	 * the current transaction as the connection is released when the transaction completes. Sessions releasing their
+	 * connection after each statement are rejected.
+	 *
+	 * @param entityManager must not be {@literal null}.
+	 * @return the {@link StatelessSession} sharing the connection and transaction of the given {@link EntityManager}.
+	 * @throws IllegalStateException if the {@link Session} releases its connection after each statement.
+	 * @since 3.4
+	 */
+	public static StatelessSession openStatelessSession(EntityManager entityManager) {
+
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+
+		Assert.state(session.getJdbcSessionContext().getPhysicalConnectionHandlingMode()
+				.getReleaseMode() != ConnectionReleaseMode.AFTER_STATEMENT,
+				"StatelessSession cannot share a connection that is released after each statement");
+
+		session.flush();
+
+		Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+
+		return session.getSessionFactory() //
+				.withStatelessOptions() //
+				.connection(connection) //
+				.openStatelessSession();
+	}
 }
@@ -66,6 +66,20 @@ public @interface EntityGraph {
 	 */
 	String[] attributePaths() default {};
 
+	/**
+	 * Whether to paginate in two phases when the annotated method returns a {@link org.springframework.data.domain.Page}.
+	 * The first phase selects the identifiers of the requested page without applying the {@link EntityGraph} so that
+	 * pagination is applied by the database. The second phase loads the entities of that page along with the
+	 * {@link EntityGraph} through an {@code IN} query on their identifiers and returns them in the order of the first
+	 * phase. This avoids in-memory pagination when the {@link EntityGraph} contains collections. Requires a single
+	 * identifier attribute. Methods returning projections, {@code distinct} queries, native queries and queries that
+	 * select anything but the entity itself are paginated in a single phase.
+	 *
+	 * @return whether to paginate in two phases, {@literal false} by default.
+	 * @since 3.4
+	 */
+	boolean twoPhasePagination() default false;
+
 	/**
 	 * Enum for JPA 2.1 {@link jakarta.persistence.EntityGraph} types.
 	 *
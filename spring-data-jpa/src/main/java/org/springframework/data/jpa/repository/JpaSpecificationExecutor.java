@@ -22,11 +22,14 @@ import jakarta.persistence.criteria.Root;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.FetchPlan;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpec;
 import org.springframework.data.repository.query.FluentQuery;
 import org.springframework.lang.Nullable;
 
@@ -59,6 +62,25 @@ public interface JpaSpecificationExecutor<T> {
 	 */
 	List<T> findAll(@Nullable Specification<T> spec);
 
+	/**
+	 * Returns all entities matching the given {@link Specification} fetching the associations described by the given
+	 * {@link FetchPlan}. To-one associations are fetched through fetch joins, collections through a secondary query
+	 * restricting the root entities by their identifiers so that the result contains no duplicates.
+	 * <p>
+	 * If no {@link Specification} is given all entities matching {@code <T>} will be selected.
+	 *
+	 * <p>
+	 * The default implementation ignores the {@link FetchPlan} and delegates to {@link #findAll(Specification)}.
+	 *
+	 * @param spec can be {@literal null}.
+	 * @param fetchPlan must not be {@literal null}.
+	 * @return never {@literal null}.
+	 * @since 3.4
+	 */
+	default List<T> findAll(@Nullable Specification<T> spec, FetchPlan fetchPlan) {
+		return findAll(spec);
+	}
+
 	/**
 	 * Returns a {@link Page} of entities matching the given {@link Specification}.
 	 * <p>
@@ -119,6 +141,52 @@ public interface JpaSpecificationExecutor<T> {
 	 */
 	long delete(@Nullable Specification<T> spec);
 
+	/**
+	 * Updates all entities matching the {@link Specification} applying the assignments of the given {@link UpdateSpec} and
+	 * returns the number of rows updated.
+	 * <p>
+	 * This method uses {@link jakarta.persistence.criteria.CriteriaUpdate Criteria API bulk update} that maps directly to
+	 * a single database update statement without loading the affected entities. Pending changes are flushed before the
+	 * update and managed instances of the domain type are detached afterwards so that subsequent reads observe the
+	 * updated state. On persistence providers other than Hibernate, the persistence context is cleared instead, which
+	 * detaches all managed entities.
+	 * <p>
+	 * If no {@link Specification} is given all entities matching {@code <T>} will be updated.
+	 * <p>
+	 * The default implementation throws {@link UnsupportedOperationException} so that existing implementations of this
+	 * interface remain compatible.
+	 *
+	 * @param spec the {@link Specification} selecting the rows to update, can be {@literal null}.
+	 * @param updateSpec the assignments to apply, must not be {@literal null}.
+	 * @return the number of entities updated.
+	 * @throws UnsupportedOperationException if the implementation does not support bulk updates.
+	 * @since 3.4
+	 */
+	default long update(@Nullable Specification<T> spec, UpdateSpec<T> updateSpec) {
+		throw new UnsupportedOperationException("Bulk updates are not supported by " + getClass().getName());
+	}
+
+	/**
+	 * Returns a parallel {@link Stream} of all entities matching the given {@link Specification} by reading up to
+	 * {@code partitions} disjoint identifier ranges concurrently. Range boundaries split the range between the smallest
+	 * and the largest matching integral identifier evenly, other identifier types are read as a single partition. Each
+	 * partition reads its range in chunks ordered by identifier through its own short-lived
+	 * {@link jakarta.persistence.EntityManager EntityManagers}, so memory per partition is bounded and partitions do not
+	 * participate in a surrounding transaction. Returned entities are detached. Requires a single,
+	 * {@link Comparable comparable} identifier attribute.
+	 * <p>
+	 * The default implementation loads all matching entities through {@link #findAll(Specification)} and returns a
+	 * parallel stream over the loaded list without bounding memory.
+	 *
+	 * @param spec the {@link Specification} selecting the entities to read, can be {@literal null}.
+	 * @param partitions the number of partitions, must be greater than zero.
+	 * @return a parallel {@link Stream} of all matching entities.
+	 * @since 3.4
+	 */
+	default Stream<T> parallelStream(@Nullable Specification<T> spec, int partitions) {
+		return findAll(spec).parallelStream();
+	}
+
 	/**
 	 * Returns entities matching the given {@link Specification} applying the {@code queryFunction} that defines the query
 	 * and its result type.
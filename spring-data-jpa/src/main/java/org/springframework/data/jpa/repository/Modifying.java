@@ -57,4 +57,13 @@ public @interface Modifying {
 	 * @return
 	 */
 	boolean clearAutomatically() default false;
+
+	/**
+	 * Defines whether to execute the modifying query once for each element of the single {@link Iterable} argument of
+	 * the query method. Batch methods must return {@code int[]} containing the update count per element.
+	 *
+	 * @return
+	 * @since 3.4
+	 */
+	boolean batch() default false;
 }
@@ -59,6 +59,20 @@ public interface QueryRewriter {
 		return rewrite(query, pageRequest.getSort());
 	}
 
+	/**
+	 * Returns whether the rewritten query is a pure function of the assembled query, its {@link Sort} and whether the
+	 * query is paged. Results of cacheable rewriters are memoized per query method so that the rewriter is called once
+	 * for each distinct combination of query, {@link Sort} and paging. Rewriters that consider
+	 * {@link Pageable#getOffset() offset}, {@link Pageable#getPageSize() page size} or any other state must not be
+	 * cacheable.
+	 *
+	 * @return {@literal true} if the rewritten query can be cached. {@literal false} by default.
+	 * @since 3.4
+	 */
+	default boolean isCacheable() {
+		return false;
+	}
+
 	/**
 	 * A {@link QueryRewriter} that doesn't change the query.
 	 */
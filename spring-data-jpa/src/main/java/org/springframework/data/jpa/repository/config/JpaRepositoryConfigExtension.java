@@ -41,11 +41,13 @@ import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.annotation.PersistenceExceptionTranslationPostProcessor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.query.QueryEnhancerFactory;
 import org.springframework.data.jpa.repository.support.DefaultJpaContext;
 import org.springframework.data.jpa.repository.support.EntityManagerBeanDefinitionRegistrarPostProcessor;
 import org.springframework.data.jpa.repository.support.JpaEvaluationContextExtension;
@@ -82,6 +84,8 @@ public class JpaRepositoryConfigExtension extends RepositoryConfigurationExtensi
 	private static final String DEFAULT_TRANSACTION_MANAGER_BEAN_NAME = "transactionManager";
 	private static final String ENABLE_DEFAULT_TRANSACTIONS_ATTRIBUTE = "enableDefaultTransactions";
 	private static final String JPA_METAMODEL_CACHE_CLEANUP_CLASSNAME = "org.springframework.data.jpa.util.JpaMetamodelCacheCleanup";
+	private static final String JPA_ENTITY_INFORMATION_CACHE_CLEANUP_CLASSNAME = "org.springframework.data.jpa.repository.support.JpaEntityInformationCacheCleanup";
+	private static final String JPA_QUERY_PARSER_WARM_UP_CLASSNAME = "org.springframework.data.jpa.repository.query.JpaQueryParserWarmUp";
 	private static final String ESCAPE_CHARACTER_PROPERTY = "escapeCharacter";
 
 	private final Map<Object, String> entityManagerRefs = new LinkedHashMap<>();
@@ -191,6 +195,14 @@ public class JpaRepositoryConfigExtension extends RepositoryConfigurationExtensi
 		registerIfNotAlreadyRegistered(() -> new RootBeanDefinition(JPA_METAMODEL_CACHE_CLEANUP_CLASSNAME), registry,
 				JPA_METAMODEL_CACHE_CLEANUP_CLASSNAME, source);
 
+		registerIfNotAlreadyRegistered(() -> new RootBeanDefinition(JPA_ENTITY_INFORMATION_CACHE_CLEANUP_CLASSNAME),
+				registry, JPA_ENTITY_INFORMATION_CACHE_CLEANUP_CLASSNAME, source);
+
+		if (SpringProperties.getFlag(QueryEnhancerFactory.WARM_UP_PROPERTY_NAME)) {
+			registerIfNotAlreadyRegistered(() -> new RootBeanDefinition(JPA_QUERY_PARSER_WARM_UP_CLASSNAME), registry,
+					JPA_QUERY_PARSER_WARM_UP_CLASSNAME, source);
+		}
+
 		// EvaluationContextExtension for JPA specific SpEL functions
 
 		registerIfNotAlreadyRegistered(() -> {
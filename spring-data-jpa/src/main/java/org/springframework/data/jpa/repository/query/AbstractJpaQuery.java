@@ -17,24 +17,31 @@ package org.springframework.data.jpa.repository.query;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceUnitUtil;
 import jakarta.persistence.Query;
 import jakarta.persistence.QueryHint;
 import jakarta.persistence.Tuple;
 import jakarta.persistence.TupleElement;
 import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.query.JpaQueryExecution.BatchModifyingExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.CollectionExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.ModifyingExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.PagedExecution;
@@ -73,6 +80,7 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 	private final JpaMetamodel metamodel;
 	private final PersistenceProvider provider;
 	private final Lazy<JpaQueryExecution> execution;
+	private final Lazy<Function<Object[], JpaParametersParameterAccessor>> parameterAccessorFactory;
 
 	final Lazy<ParameterBinder> parameterBinder = Lazy.of(this::createBinder);
 
@@ -97,6 +105,8 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 				return new StreamExecution();
 			} else if (method.isProcedureQuery()) {
 				return new ProcedureExecution(method.isCollectionQuery());
+			} else if (method.isModifyingQuery() && method.isBatchQuery()) {
+				return new BatchModifyingExecution(method, em);
 			} else if (method.isCollectionQuery()) {
 				return new CollectionExecution();
 			} else if (method.isSliceQuery()) {
@@ -109,6 +119,14 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 				return new SingleEntityExecution();
 			}
 		});
+		this.parameterAccessorFactory = Lazy.of(() -> {
+
+			if (method.isNativeQuery() && PersistenceProvider.HIBERNATE.equals(provider)) {
+				return HibernateJpaParametersParameterAccessor.factory(method.getParameters(), em);
+			}
+
+			return values -> new JpaParametersParameterAccessor(method.getParameters(), values);
+		});
 	}
 
 	@Override
@@ -125,6 +143,16 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 		return em;
 	}
 
+	/**
+	 * Returns the {@link PersistenceProvider}.
+	 *
+	 * @return will never be {@literal null}.
+	 * @since 3.4
+	 */
+	PersistenceProvider getProvider() {
+		return provider;
+	}
+
 	/**
 	 * Returns the {@link JpaMetamodel}.
 	 *
@@ -157,12 +185,7 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 	}
 
 	private JpaParametersParameterAccessor obtainParameterAccessor(Object[] values) {
-
-		if (method.isNativeQuery() && PersistenceProvider.HIBERNATE.equals(provider)) {
-			return new HibernateJpaParametersParameterAccessor(method.getParameters(), values, em);
-		}
-
-		return new JpaParametersParameterAccessor(method.getParameters(), values);
+		return parameterAccessorFactory.get().apply(values);
 	}
 
 	protected JpaQueryExecution getExecution() {
@@ -243,6 +266,98 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 		return applyLockMode(applyEntityGraphConfiguration(applyHints(doCreateQuery(parameters), method), method), method);
 	}
 
+	/**
+	 * Creates the query for the first phase of a two-phase pagination that selects the identifiers of the entities of a
+	 * page. Returns {@literal null} if the query method cannot be paginated in two phases, e.g. because it returns a
+	 * projection, the domain type uses a composite identifier or the query cannot be rewritten to select identifiers.
+	 *
+	 * @param accessor must not be {@literal null}.
+	 * @return the identifier query with hints and lock mode applied but without the fetch graph hint, can be
+	 *         {@literal null}.
+	 * @since 3.4
+	 * @see EntityGraph#twoPhasePagination()
+	 */
+	@Nullable
+	Query createIdentifierQuery(JpaParametersParameterAccessor accessor) {
+
+		if (method.getResultProcessor().withDynamicProjection(accessor).getReturnedType().isProjecting()) {
+			return null;
+		}
+
+		SingularAttribute<?, ?> idAttribute = getSingleIdAttribute(
+				em.getMetamodel().entity(method.getEntityInformation().getJavaType()));
+
+		if (idAttribute == null) {
+			return null;
+		}
+
+		Query query = doCreateIdentifierQuery(accessor, idAttribute.getName());
+
+		return query == null ? null : applyLockMode(applyHints(query, method), method);
+	}
+
+	/**
+	 * Loads the entities with the given identifiers applying the {@link EntityGraph} of the {@link JpaQueryMethod} and
+	 * returns them in the order of the given identifiers. This is the second phase of a two-phase pagination.
+	 *
+	 * @param ids must not be {@literal null}.
+	 * @return the entities in the order of the given identifiers.
+	 * @since 3.4
+	 * @see #createIdentifierQuery(JpaParametersParameterAccessor)
+	 */
+	List<?> findAllWithEntityGraph(List<?> ids) {
+
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		JpaEntityMetadata<?> entityInformation = method.getEntityInformation();
+		SingularAttribute<?, ?> idAttribute = getSingleIdAttribute(
+				em.getMetamodel().entity(entityInformation.getJavaType()));
+
+		Assert.state(idAttribute != null, "Two-phase pagination requires a single identifier attribute");
+
+		Query query = em.createQuery(String.format(QueryUtils.READ_ALL_QUERY_BY_ID_STRING,
+				entityInformation.getEntityName(), idAttribute.getName()));
+		query = applyLockMode(applyEntityGraphConfiguration(applyHints(query, method), method), method);
+
+		PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		Map<Object, Object> entitiesById = new HashMap<>(ids.size());
+
+		for (Object entity : query.setParameter("ids", ids).getResultList()) {
+			entitiesById.put(persistenceUnitUtil.getIdentifier(entity), entity);
+		}
+
+		List<Object> content = new ArrayList<>(ids.size());
+
+		for (Object id : ids) {
+
+			Object entity = entitiesById.get(id);
+
+			if (entity != null) {
+				content.add(entity);
+			}
+		}
+
+		return content;
+	}
+
+	@Nullable
+	private static SingularAttribute<?, ?> getSingleIdAttribute(EntityType<?> entityType) {
+
+		if (!entityType.hasSingleIdAttribute()) {
+			return null;
+		}
+
+		for (SingularAttribute<?, ?> attribute : entityType.getSingularAttributes()) {
+			if (attribute.isId()) {
+				return attribute;
+			}
+		}
+
+		return null;
+	}
+
 	/**
 	 * Configures the {@link jakarta.persistence.EntityGraph} to use for the given {@link JpaQueryMethod} if the
 	 * {@link EntityGraph} annotation is present.
@@ -304,6 +419,21 @@ public abstract class AbstractJpaQuery implements RepositoryQuery {
 	 */
 	protected abstract Query doCreateCountQuery(JpaParametersParameterAccessor accessor);
 
+	/**
+	 * Creates a {@link Query} selecting the identifiers of the entities the query created through
+	 * {@link #doCreateQuery(JpaParametersParameterAccessor)} would return, including sorting and pagination. Returns
+	 * {@literal null} by default to indicate the query cannot be rewritten.
+	 *
+	 * @param accessor must not be {@literal null}.
+	 * @param idAttributeName the name of the identifier attribute of the domain type.
+	 * @return can be {@literal null}.
+	 * @since 3.4
+	 */
+	@Nullable
+	protected Query doCreateIdentifierQuery(JpaParametersParameterAccessor accessor, String idAttributeName) {
+		return null;
+	}
+
 	static class TupleConverter implements Converter<Object, Object> {
 
 		private final ReturnedType type;
@@ -17,11 +17,18 @@ package org.springframework.data.jpa.repository.query;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.metamodel.EntityType;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.repository.QueryRewriter;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
 import org.springframework.data.repository.query.ResultProcessor;
@@ -56,6 +63,8 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 	private final QueryRewriter queryRewriter;
 	private final QuerySortRewriter querySortRewriter;
 	private final Lazy<ParameterBinder> countParameterBinder;
+	private final @Nullable ConcurrentLruCache<ProjectedQuery, String> projectedQueries;
+	private final Lazy<ConcurrentLruCache<RewrittenQuery, String>> rewrittenQueries;
 
 	/**
 	 * Creates a new {@link AbstractStringBasedJpaQuery} from the given {@link JpaQueryMethod}, {@link EntityManager} and
@@ -92,6 +101,10 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 						method.isNativeQuery());
 			}
 
+			if (query instanceof StringQuery stringQuery) {
+				return stringQuery.deriveCountQuery(method.getCountQueryProjection(), getMetamodel());
+			}
+
 			return query.deriveCountQuery(method.getCountQueryProjection());
 		});
 
@@ -102,6 +115,11 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 		this.parser = parser;
 		this.queryRewriter = queryRewriter;
 
+		// resolved on first use as isCacheable() may require the actual rewriter bean
+		this.rewrittenQueries = Lazy.of(() -> queryRewriter.isCacheable()
+				? new ConcurrentLruCache<RewrittenQuery, String>(16, it -> it.rewrite(queryRewriter))
+				: null);
+
 		JpaParameters parameters = method.getParameters();
 		if (parameters.hasPageableParameter() || parameters.hasSortParameter()) {
 			this.querySortRewriter = new CachingQuerySortRewriter();
@@ -111,6 +129,23 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 
 		Assert.isTrue(method.isNativeQuery() || !query.usesJdbcStyleParameters(),
 				"JDBC style parameters (?) are not supported for JPA queries");
+
+		if (method.isModifyingQuery() && method.isBatchQuery()) {
+			verifyBatchBindings(method, query.getParameterBindings());
+		}
+
+		if (!method.isNativeQuery() && query.isDefaultProjection() && !query.hasConstructorExpression()) {
+
+			DtoProjectionRewriter rewriter = new DtoProjectionRewriter(getMetamodel(),
+					!PersistenceProvider.ECLIPSELINK.equals(getProvider()));
+			this.projectedQueries = new ConcurrentLruCache<>(16, it -> {
+
+				String projected = rewriter.rewrite(it.queryString(), it.returnedType());
+				return projected != null ? projected : it.queryString();
+			});
+		} else {
+			this.projectedQueries = null;
+		}
 	}
 
 	@Override
@@ -130,6 +165,131 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 		return parameterBinder.get().bindAndPrepare(query, metadata, accessor);
 	}
 
+	@Override
+	@Nullable
+	protected Query doCreateIdentifierQuery(JpaParametersParameterAccessor accessor, String idAttributeName) {
+
+		if (getQueryMethod().isNativeQuery()) {
+			return null;
+		}
+
+		Sort sort = accessor.getSort();
+		ScannedQuery scanned = ScannedQuery.scan(potentiallyRewriteQuery(getSortedQueryString(sort), sort,
+				accessor.getPageable()));
+		String alias = scanned.getAlias();
+		String entityName = scanned.getEntityName();
+
+		if (alias == null || entityName == null || scanned.isDistinct() || scanned.hasFetchJoin()
+				|| scanned.hasConstructorExpression() || !scanned.getProjection().equalsIgnoreCase(alias)) {
+			return null;
+		}
+
+		// the selected entity is not necessarily the domain type of the repository
+		EntityType<?> entity = getMetamodel().getEntity(entityName);
+
+		if (entity == null || !getQueryMethod().getEntityInformation().getJavaType().equals(entity.getJavaType())) {
+			return null;
+		}
+
+		String identifierQueryString = scanned.replaceProjection(alias + "." + idAttributeName);
+
+		if (identifierQueryString == null) {
+			return null;
+		}
+
+		Query query = getEntityManager().createQuery(identifierQueryString);
+		QueryParameterSetter.QueryMetadata metadata = metadataCache.getMetadata(identifierQueryString, query);
+
+		return parameterBinder.get().bindAndPrepare(query, metadata, accessor);
+	}
+
+	/**
+	 * Executes the modifying query once for each element of {@code arguments}. Native queries are sent using JDBC
+	 * batching when running on Hibernate inside a transaction. Other queries create the JPA {@link Query} once and
+	 * execute it for each element binding only the element values. Native batch queries must not use {@literal IN}
+	 * parameters as collections cannot be bound to a single JDBC placeholder.
+	 *
+	 * @param arguments must not be {@literal null}.
+	 * @return the update counts per element.
+	 * @since 3.4
+	 * @see BatchExecutionSupport
+	 */
+	int[] executeBatch(Iterable<?> arguments) {
+
+		Assert.notNull(arguments, "Arguments must not be null");
+
+		List<ParameterBinding> bindings = query.getParameterBindings();
+		EntityManager em = getEntityManager();
+
+		if (getQueryMethod().isNativeQuery() && BatchExecutionSupport.supportsJdbcBatching(em, getProvider())) {
+
+			BatchExecutionSupport.JdbcStatement statement = BatchExecutionSupport
+					.toJdbcStatement(potentiallyRewriteQuery(query.getQueryString(), Sort.unsorted(), null), bindings);
+
+			if (statement != null) {
+				Class<?>[] parameterTypes = statement
+						.getParameterTypes(BatchExecutionSupport.getElementType(getQueryMethod()));
+
+				return HibernateJdbcBatchSupport.executeJdbcBatch(em, statement.sql(), arguments, statement::getValues,
+						parameterTypes, getQueryMethod().getEntityInformation().getJavaType());
+			}
+		}
+
+		Query jpaQuery = applyHints(createJpaQuery(query.getQueryString(), Sort.unsorted(), null,
+				getQueryMethod().getResultProcessor().getReturnedType()), getQueryMethod());
+		int[] updateCounts = new int[arguments instanceof Collection<?> collection ? collection.size() : 16];
+		int count = 0;
+		boolean singleParameter = BatchExecutionSupport.bindsSingleParameter(bindings);
+
+		for (Object argument : arguments) {
+
+			for (ParameterBinding binding : bindings) {
+
+				Object value = binding.prepare(BatchExecutionSupport.getValue(argument,
+						((ParameterBinding.MethodInvocationArgument) binding.getOrigin()).identifier(), singleParameter));
+
+				if (binding.getIdentifier().hasName()) {
+					jpaQuery.setParameter(binding.getIdentifier().getName(), value);
+				} else {
+					jpaQuery.setParameter(binding.getIdentifier().getPosition(), value);
+				}
+			}
+
+			if (count == updateCounts.length) {
+				updateCounts = Arrays.copyOf(updateCounts, Math.max(count * 2, 16));
+			}
+
+			updateCounts[count++] = jpaQuery.executeUpdate();
+		}
+
+		return count == updateCounts.length ? updateCounts : Arrays.copyOf(updateCounts, count);
+	}
+
+	/**
+	 * Verifies that the parameters of a batch query can be bound from the elements of its {@link Iterable} argument.
+	 * Batch queries must not use expression parameters, and native batch queries must not use {@literal IN} parameters
+	 * as collections cannot be bound to a single JDBC placeholder.
+	 *
+	 * @throws InvalidDataAccessApiUsageException if the parameters cannot be bound from the batch elements.
+	 */
+	private static void verifyBatchBindings(JpaQueryMethod method, List<ParameterBinding> bindings) {
+
+		for (ParameterBinding binding : bindings) {
+
+			if (!(binding.getOrigin() instanceof ParameterBinding.MethodInvocationArgument)) {
+				throw new InvalidDataAccessApiUsageException(
+						"Batch queries do not support expression parameters; Offending method: " + method);
+			}
+
+			if (method.isNativeQuery() && binding instanceof ParameterBinding.InParameterBinding) {
+				throw new InvalidDataAccessApiUsageException(
+						"Native batch queries do not support IN parameters; Offending method: " + method);
+			}
+		}
+
+		BatchExecutionSupport.verifyBindings(BatchExecutionSupport.getElementType(method), bindings, method);
+	}
+
 	String getSortedQueryString(Sort sort) {
 		return querySortRewriter.getSorted(query, sort);
 	}
@@ -183,21 +343,32 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 			ReturnedType returnedType) {
 
 		EntityManager em = getEntityManager();
+		String rewrittenQuery = potentiallyRewriteQuery(queryString, sort, pageable);
+
+		if (projectedQueries != null && returnedType.needsCustomConstruction()) {
+
+			String projectedQuery = projectedQueries.get(new ProjectedQuery(rewrittenQuery, returnedType));
 
-		if (this.query.hasConstructorExpression() || this.query.isDefaultProjection()) {
-			return em.createQuery(potentiallyRewriteQuery(queryString, sort, pageable));
+			if (!projectedQuery.equals(rewrittenQuery)) {
+				return returnedType.getReturnedType().isInterface() //
+						? em.createQuery(projectedQuery, Tuple.class) //
+						: em.createQuery(projectedQuery);
+			}
 		}
 
-		Class<?> typeToRead = getTypeToRead(returnedType);
+		Class<?> typeToRead = this.query.hasConstructorExpression() || this.query.isDefaultProjection() //
+				? null //
+				: getTypeToRead(returnedType);
 
 		return typeToRead == null //
-				? em.createQuery(potentiallyRewriteQuery(queryString, sort, pageable)) //
-				: em.createQuery(potentiallyRewriteQuery(queryString, sort, pageable), typeToRead);
+				? em.createQuery(rewrittenQuery) //
+				: em.createQuery(rewrittenQuery, typeToRead);
 	}
 
 	/**
 	 * Use the {@link QueryRewriter}, potentially rewrite the query, using relevant {@link Sort} and {@link Pageable}
-	 * information.
+	 * information. Queries rewritten by a {@link QueryRewriter#isCacheable() cacheable} {@link QueryRewriter} are cached
+	 * by query, {@link Sort} and whether the query is paged.
 	 *
 	 * @param originalQuery
 	 * @param sort
@@ -206,6 +377,12 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 	 */
 	protected String potentiallyRewriteQuery(String originalQuery, Sort sort, @Nullable Pageable pageable) {
 
+		ConcurrentLruCache<RewrittenQuery, String> rewrittenQueries = this.rewrittenQueries.getNullable();
+
+		if (rewrittenQueries != null) {
+			return rewrittenQueries.get(new RewrittenQuery(originalQuery, sort, pageable));
+		}
+
 		return pageable != null && pageable.isPaged() //
 				? queryRewriter.rewrite(originalQuery, pageable) //
 				: queryRewriter.rewrite(originalQuery, sort);
@@ -213,7 +390,7 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 
 	String applySorting(CachableQuery cachableQuery) {
 
-		return QueryEnhancerFactory.forQuery(cachableQuery.getDeclaredQuery()).applySorting(cachableQuery.getSort(),
+		return cachableQuery.getDeclaredQuery().getQueryEnhancer().applySorting(cachableQuery.getSort(),
 				cachableQuery.getAlias());
 	}
 
@@ -259,6 +436,78 @@ abstract class AbstractStringBasedJpaQuery extends AbstractJpaQuery {
 		}
 	}
 
+	/**
+	 * Cache key for queries rewritten by a cacheable {@link QueryRewriter}. Keys are considered equal if their query
+	 * strings, effective {@link Sort} and paging state are equal regardless of the offset and size of the
+	 * {@link Pageable}.
+	 *
+	 * @since 3.4
+	 */
+	static class RewrittenQuery {
+
+		private final String queryString;
+		private final Sort sort;
+		private final @Nullable Pageable pageable;
+
+		RewrittenQuery(String queryString, Sort sort, @Nullable Pageable pageable) {
+
+			this.queryString = queryString;
+			this.pageable = pageable != null && pageable.isPaged() ? pageable : null;
+			this.sort = this.pageable != null ? this.pageable.getSort() : sort;
+		}
+
+		String rewrite(QueryRewriter rewriter) {
+			return pageable != null ? rewriter.rewrite(queryString, pageable) : rewriter.rewrite(queryString, sort);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+
+			return o instanceof RewrittenQuery that && queryString.equals(that.queryString) && sort.equals(that.sort)
+					&& (pageable == null) == (that.pageable == null);
+		}
+
+		@Override
+		public int hashCode() {
+
+			int result = queryString.hashCode();
+			result = 31 * result + sort.hashCode();
+			return 31 * result + (pageable != null ? 1 : 0);
+		}
+	}
+
+	/**
+	 * Cache key for queries rewritten to select the properties of a {@link ReturnedType}. Keys are considered equal if
+	 * their query strings and returned types are equal.
+	 *
+	 * @param queryString the query string.
+	 * @param returnedType the returned type.
+	 * @since 3.4
+	 * @see DtoProjectionRewriter
+	 */
+	record ProjectedQuery(String queryString, ReturnedType returnedType) {
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+
+			return o instanceof ProjectedQuery that && queryString.equals(that.queryString)
+					&& returnedType.getReturnedType().equals(that.returnedType.getReturnedType());
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * queryString.hashCode() + returnedType.getReturnedType().hashCode();
+		}
+	}
+
 	/**
 	 * Value object with optimized {@link Object#equals(Object)} to cache a query based on its query string and
 	 * {@link Sort sorting}.
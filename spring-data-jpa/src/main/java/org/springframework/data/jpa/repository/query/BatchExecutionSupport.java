@@ -0,0 +1,571 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import jakarta.persistence.EntityManager;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.data.jpa.repository.query.ParameterBinding.BindingIdentifier;
+import org.springframework.data.jpa.repository.query.ParameterBinding.MethodInvocationArgument;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Support for query methods executing their query once per element of an {@link Iterable} argument. Elements are
+ * either {@code Object[]}, {@link Record records} whose components are bound in declaration order or by name,
+ * {@link Map maps} bound by name, or single values bound to the only parameter of the query. Batches are sent through
+ * JDBC batching using {@link HibernateJdbcBatchSupport} when running on Hibernate inside a transaction.
+ *
+ * @author agent
+ * @since 3.4
+ * @see JpaQueryMethod#isBatchQuery()
+ */
+class BatchExecutionSupport {
+
+	private static final Map<Class<?>, RecordAccessor> RECORD_ACCESSORS = new ConcurrentReferenceHashMap<>();
+
+	/**
+	 * Returns the values to bind for the given batch {@code element}.
+	 *
+	 * @param element can be {@literal null}.
+	 * @return the values to bind.
+	 */
+	static Object[] getValues(@Nullable Object element) {
+
+		if (element instanceof Object[] values) {
+			return values;
+		}
+
+		if (element instanceof Record) {
+			return getRecordAccessor(element.getClass()).getValues(element);
+		}
+
+		return new Object[] { element };
+	}
+
+	/**
+	 * Returns the values to bind for each element of {@code arguments} verifying that all elements bind the same number
+	 * of values.
+	 *
+	 * @param arguments must not be {@literal null}.
+	 * @return the values to bind per element.
+	 * @throws InvalidDataAccessApiUsageException if elements bind a different number of values.
+	 */
+	static List<Object[]> getBatchValues(Iterable<?> arguments) {
+
+		List<Object[]> batch = arguments instanceof Collection<?> collection ? new ArrayList<>(collection.size())
+				: new ArrayList<>();
+
+		for (Object argument : arguments) {
+
+			Object[] values = getValues(argument);
+
+			if (!batch.isEmpty() && batch.get(0).length != values.length) {
+				throw new InvalidDataAccessApiUsageException(
+						String.format("Batch element %d binds %d values but the first element binds %d values", batch.size(),
+								values.length, batch.get(0).length));
+			}
+
+			batch.add(values);
+		}
+
+		return batch;
+	}
+
+	/**
+	 * Returns the types to register for the values of the given {@code batch}. Record components use their declared
+	 * type, single values the declared {@code elementType} of the {@link Iterable} argument. Values of {@code Object[]}
+	 * elements use the type of the first non-null value at their position.
+	 *
+	 * @param elementType the declared element type of the {@link Iterable} argument.
+	 * @param batch the values to bind per element as obtained from {@link #getBatchValues(Iterable)}.
+	 * @return the parameter types.
+	 */
+	static Class<?>[] getParameterTypes(Class<?> elementType, List<Object[]> batch) {
+
+		if (elementType.isRecord()) {
+			return Arrays.stream(getRecordAccessor(elementType).getTypes()).map(ClassUtils::resolvePrimitiveIfNecessary)
+					.toArray(Class<?>[]::new);
+		}
+
+		Class<?>[] types = new Class<?>[batch.isEmpty() ? 0 : batch.get(0).length];
+
+		if (types.length == 1 && !elementType.isArray() && elementType != Object.class) {
+			types[0] = elementType;
+			return types;
+		}
+
+		for (int i = 0; i < types.length; i++) {
+
+			types[i] = Object.class;
+
+			for (Object[] values : batch) {
+
+				if (values[i] != null) {
+					types[i] = values[i].getClass();
+					break;
+				}
+			}
+		}
+
+		return types;
+	}
+
+	/**
+	 * Returns the declared element type of the {@link Iterable} argument of the given batch query method.
+	 *
+	 * @param method must not be {@literal null}.
+	 * @return the element type, {@link Object} if it cannot be resolved.
+	 */
+	static Class<?> getElementType(JpaQueryMethod method) {
+
+		return ResolvableType
+				.forMethodParameter(method.getMethod(), method.getParameters().getBindableParameter(0).getIndex())
+				.as(Iterable.class).getGeneric(0).resolve(Object.class);
+	}
+
+	/**
+	 * Returns whether the given {@code bindings} refer to a single method argument. Batch elements that are neither
+	 * records, maps nor arrays are then bound as the value of that parameter, regardless of its name or position.
+	 *
+	 * @param bindings the parameter bindings of the query, must not be {@literal null}.
+	 * @return {@literal true} if all bindings refer to the same method argument.
+	 */
+	static boolean bindsSingleParameter(List<ParameterBinding> bindings) {
+
+		BindingIdentifier first = null;
+
+		for (ParameterBinding binding : bindings) {
+
+			BindingIdentifier identifier = getIdentifier(binding);
+
+			if (first == null) {
+				first = identifier;
+			} else if (!first.equals(identifier)) {
+				return false;
+			}
+		}
+
+		return first != null;
+	}
+
+	/**
+	 * Verifies that the values of all {@code bindings} can be obtained from elements of the declared
+	 * {@code elementType}. Elements declared as {@link Object} are verified when binding their values.
+	 *
+	 * @param elementType the declared element type of the {@link Iterable} argument.
+	 * @param bindings the parameter bindings of the query, must not be {@literal null}.
+	 * @param method the query method used in exception messages.
+	 * @throws InvalidDataAccessApiUsageException if a binding cannot be resolved from elements of {@code elementType}.
+	 */
+	static void verifyBindings(Class<?> elementType, List<ParameterBinding> bindings, JpaQueryMethod method) {
+
+		if (elementType == Object.class) {
+			return;
+		}
+
+		if (!elementType.isRecord() && !elementType.isArray() && !Map.class.isAssignableFrom(elementType)) {
+
+			if (!bindings.isEmpty() && !bindsSingleParameter(bindings)) {
+				throw new InvalidDataAccessApiUsageException(String.format(
+						"Batch elements of type %s can only bind a single query parameter; Use records, maps or Object[] instead; Offending method: %s",
+						elementType.getName(), method));
+			}
+
+			return;
+		}
+
+		RecordAccessor accessor = elementType.isRecord() ? getRecordAccessor(elementType) : null;
+
+		for (ParameterBinding binding : bindings) {
+
+			BindingIdentifier identifier = getIdentifier(binding);
+			boolean resolvable;
+
+			if (accessor != null) {
+				resolvable = identifier.hasName() && accessor.indexOf(identifier.getName()) != -1
+						|| identifier.hasPosition() && identifier.getPosition() <= accessor.getNames().length;
+			} else if (elementType.isArray()) {
+				resolvable = identifier.hasPosition();
+			} else {
+				resolvable = identifier.hasName();
+			}
+
+			if (!resolvable) {
+				throw new InvalidDataAccessApiUsageException(
+						String.format("Cannot resolve query parameter %s from batch elements of type %s; Offending method: %s",
+								identifier, elementType.getName(), method));
+			}
+		}
+	}
+
+	/**
+	 * Returns the declared type of the value for the given {@link BindingIdentifier} as resolved by
+	 * {@link #getValue(Object, BindingIdentifier, boolean)} from elements of {@code elementType}.
+	 *
+	 * @param elementType the declared element type of the {@link Iterable} argument.
+	 * @param identifier must not be {@literal null}.
+	 * @param singleParameter whether the query binds a single parameter, see {@link #bindsSingleParameter(List)}.
+	 * @return the declared type or {@literal null} if it cannot be determined from the element type.
+	 */
+	@Nullable
+	static Class<?> getDeclaredType(Class<?> elementType, BindingIdentifier identifier, boolean singleParameter) {
+
+		if (elementType.isRecord()) {
+
+			RecordAccessor accessor = getRecordAccessor(elementType);
+			int index = identifier.hasName() ? accessor.indexOf(identifier.getName()) : -1;
+
+			if (index == -1 && identifier.hasPosition()) {
+				index = identifier.getPosition() - 1;
+			}
+
+			Class<?>[] types = accessor.getTypes();
+
+			return index >= 0 && index < types.length ? ClassUtils.resolvePrimitiveIfNecessary(types[index]) : null;
+		}
+
+		if (elementType.isArray() || elementType == Object.class || Map.class.isAssignableFrom(elementType)) {
+			return null;
+		}
+
+		return singleParameter || identifier.hasPosition() && identifier.getPosition() == 1 ? elementType : null;
+	}
+
+	/**
+	 * Returns the value for the given {@link BindingIdentifier} from the batch {@code element}. Named identifiers are
+	 * resolved against record components and map keys, positional identifiers against {@link #getValues(Object)}.
+	 * Elements that are neither records, maps nor arrays are the value of the only parameter of a query binding a
+	 * single parameter.
+	 *
+	 * @param element can be {@literal null}.
+	 * @param identifier must not be {@literal null}.
+	 * @param singleParameter whether the query binds a single parameter, see {@link #bindsSingleParameter(List)}.
+	 * @return the value to bind.
+	 * @throws InvalidDataAccessApiUsageException if the value cannot be resolved from {@code element}.
+	 */
+	@Nullable
+	static Object getValue(@Nullable Object element, BindingIdentifier identifier, boolean singleParameter) {
+
+		if (identifier.hasName()) {
+
+			if (element instanceof Record) {
+
+				RecordAccessor accessor = getRecordAccessor(element.getClass());
+				int index = accessor.indexOf(identifier.getName());
+
+				if (index != -1) {
+					return accessor.getValue(element, index);
+				}
+			}
+
+			if (element instanceof Map<?, ?> map) {
+				return map.get(identifier.getName());
+			}
+		}
+
+		if (singleParameter && !(element instanceof Record) && !(element instanceof Map)
+				&& !(element instanceof Object[])) {
+			return element;
+		}
+
+		if (identifier.hasPosition()) {
+
+			Object[] values = getValues(element);
+
+			if (identifier.getPosition() <= values.length) {
+				return values[identifier.getPosition() - 1];
+			}
+		}
+
+		throw new InvalidDataAccessApiUsageException(
+				String.format("Cannot resolve value for parameter %s from batch element %s", identifier, element));
+	}
+
+	/**
+	 * Translates the given native {@code sql} into a JDBC statement using {@code ?} placeholders. Named ({@code :name}),
+	 * indexed ({@code ?1}) and JDBC-style ({@code ?}) parameters are replaced while literals (including escaped quotes
+	 * such as {@code 'it''s'}), quoted identifiers, comments and {@code ::} casts are retained.
+	 *
+	 * @param sql must not be {@literal null}.
+	 * @param bindings the parameter bindings of the query.
+	 * @return the {@link JdbcStatement} or {@literal null} if the query contains parameters that cannot be resolved to
+	 *         {@link MethodInvocationArgument method arguments}.
+	 */
+	@Nullable
+	static JdbcStatement toJdbcStatement(String sql, List<ParameterBinding> bindings) {
+
+		StringBuilder result = new StringBuilder(sql.length());
+		List<ParameterBinding> parameters = new ArrayList<>();
+		int length = sql.length();
+		int jdbcParameters = 0;
+
+		for (int i = 0; i < length; i++) {
+
+			char c = sql.charAt(i);
+			char next = i + 1 < length ? sql.charAt(i + 1) : 0;
+			int end = skipLiteralOrComment(sql, i, c, next);
+
+			if (end != -1) {
+
+				result.append(sql, i, end + 1);
+				i = end;
+				continue;
+			}
+
+			ParameterBinding binding;
+
+			if (c == ':' && Character.isJavaIdentifierStart(next)) {
+
+				end = i + 1;
+				while (end < length && Character.isJavaIdentifierPart(sql.charAt(end))) {
+					end++;
+				}
+
+				binding = findBinding(bindings, sql.substring(i + 1, end), -1);
+			} else if (c == '?') {
+
+				end = i + 1;
+				while (end < length && Character.isDigit(sql.charAt(end))) {
+					end++;
+				}
+
+				int position = end > i + 1 ? Integer.parseInt(sql.substring(i + 1, end)) : ++jdbcParameters;
+				binding = findBinding(bindings, null, position);
+			} else {
+				result.append(c);
+				continue;
+			}
+
+			if (binding == null || !(binding.getOrigin() instanceof MethodInvocationArgument)) {
+				return null;
+			}
+
+			result.append('?');
+			parameters.add(binding);
+			i = end - 1;
+		}
+
+		return new JdbcStatement(result.toString(), parameters, bindsSingleParameter(parameters));
+	}
+
+	/**
+	 * @return the index of the last character of the literal, quoted identifier, comment or cast starting at {@code i}
+	 *         or {@literal -1} if there is none.
+	 */
+	private static int skipLiteralOrComment(String sql, int i, char c, char next) {
+
+		int end;
+
+		if (c == '\'' || c == '"') {
+
+			end = sql.indexOf(c, i + 1);
+
+			// doubled quotes escape the quote character within the literal or identifier
+			while (end != -1 && end + 1 < sql.length() && sql.charAt(end + 1) == c) {
+				end = sql.indexOf(c, end + 2);
+			}
+		} else if (c == '-' && next == '-') {
+			end = sql.indexOf('\n', i);
+		} else if (c == '/' && next == '*') {
+			end = sql.indexOf("*/", i + 2);
+			end = end == -1 ? -1 : end + 1;
+		} else if (c == ':' && next == ':') {
+			return i + 1;
+		} else {
+			return -1;
+		}
+
+		return end == -1 ? sql.length() - 1 : end;
+	}
+
+	private static BindingIdentifier getIdentifier(ParameterBinding binding) {
+		return ((MethodInvocationArgument) binding.getOrigin()).identifier();
+	}
+
+	@Nullable
+	private static ParameterBinding findBinding(List<ParameterBinding> bindings, @Nullable String name, int position) {
+
+		for (ParameterBinding binding : bindings) {
+
+			BindingIdentifier identifier = binding.getIdentifier();
+
+			if (name != null ? identifier.hasName() && name.equals(identifier.getName())
+					: identifier.hasPosition() && identifier.getPosition() == position) {
+				return binding;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the {@link RecordAccessor} for the given record type.
+	 *
+	 * @param recordType must not be {@literal null}.
+	 * @return the {@link RecordAccessor}.
+	 */
+	static RecordAccessor getRecordAccessor(Class<?> recordType) {
+		return RECORD_ACCESSORS.computeIfAbsent(recordType, RecordAccessor::new);
+	}
+
+	/**
+	 * Returns whether the given {@link EntityManager} can send batches through JDBC batching.
+	 *
+	 * @param em must not be {@literal null}.
+	 * @param provider must not be {@literal null}.
+	 */
+	static boolean supportsJdbcBatching(EntityManager em, PersistenceProvider provider) {
+		return provider == PersistenceProvider.HIBERNATE && em.isJoinedToTransaction();
+	}
+
+	/**
+	 * JDBC statement using {@code ?} placeholders along with the {@link ParameterBinding}s in placeholder order.
+	 *
+	 * @param sql the JDBC statement.
+	 * @param parameters bindings in placeholder order.
+	 * @param singleParameter whether all placeholders bind the same parameter.
+	 */
+	record JdbcStatement(String sql, List<ParameterBinding> parameters, boolean singleParameter) {
+
+		/**
+		 * @param element can be {@literal null}.
+		 * @return the prepared values to bind for the given batch {@code element} in placeholder order.
+		 */
+		Object[] getValues(@Nullable Object element) {
+
+			Object[] values = new Object[parameters.size()];
+
+			for (int i = 0; i < values.length; i++) {
+
+				ParameterBinding binding = parameters.get(i);
+				values[i] = binding.prepare(getValue(element, getIdentifier(binding), singleParameter));
+
+				if (values[i] instanceof Collection<?>) {
+					throw new InvalidDataAccessApiUsageException(
+							String.format("Cannot bind collection value for parameter %s to a single JDBC placeholder",
+									binding.getIdentifier()));
+				}
+			}
+
+			return values;
+		}
+
+		/**
+		 * @param elementType the declared element type of the {@link Iterable} argument.
+		 * @return the declared types of the values in placeholder order, {@literal null} for values whose type cannot be
+		 *         determined.
+		 */
+		Class<?>[] getParameterTypes(Class<?> elementType) {
+
+			Class<?>[] types = new Class<?>[parameters.size()];
+
+			for (int i = 0; i < types.length; i++) {
+				types[i] = getDeclaredType(elementType, getIdentifier(parameters.get(i)), singleParameter);
+			}
+
+			return types;
+		}
+	}
+
+	/**
+	 * Accessor for the components of a {@link Record} type.
+	 */
+	static class RecordAccessor {
+
+		private final String[] names;
+		private final Class<?>[] types;
+		private final Method[] accessors;
+
+		private RecordAccessor(Class<?> recordType) {
+
+			RecordComponent[] components = recordType.getRecordComponents();
+
+			this.names = new String[components.length];
+			this.types = new Class<?>[components.length];
+			this.accessors = new Method[components.length];
+
+			for (int i = 0; i < components.length; i++) {
+
+				names[i] = components[i].getName();
+				types[i] = components[i].getType();
+				accessors[i] = components[i].getAccessor();
+				ReflectionUtils.makeAccessible(accessors[i]);
+			}
+		}
+
+		/**
+		 * @return the component names in declaration order.
+		 */
+		String[] getNames() {
+			return names;
+		}
+
+		/**
+		 * @return the declared component types in declaration order.
+		 */
+		Class<?>[] getTypes() {
+			return types.clone();
+		}
+
+		/**
+		 * @param name must not be {@literal null}.
+		 * @return the index of the component or {@literal -1} if the record does not declare a component with that name.
+		 */
+		int indexOf(String name) {
+
+			for (int i = 0; i < names.length; i++) {
+				if (names[i].equals(name)) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+
+		@Nullable
+		Object getValue(Object record, int index) {
+			return ReflectionUtils.invokeMethod(accessors[index], record);
+		}
+
+		/**
+		 * @param record must not be {@literal null}.
+		 * @return the component values in declaration order.
+		 */
+		Object[] getValues(Object record) {
+
+			Object[] values = new Object[accessors.length];
+
+			for (int i = 0; i < accessors.length; i++) {
+				values[i] = ReflectionUtils.invokeMethod(accessors[i], record);
+			}
+
+			return values;
+		}
+	}
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.springframework.data.jpa.util.JpaMetamodel;
+import org.springframework.lang.Nullable;
+
+/**
+ * Determines joins of a query that do not affect the number of rows and can be removed from a derived count query.
+ * Joins are cardinality-neutral if they are:
+ * <ul>
+ * <li>left joins of to-one associations,</li>
+ * <li>inner joins of non-optional to-one associations,</li>
+ * <li>left fetch joins if the persistence provider de-duplicates results of fetch joins.</li>
+ * </ul>
+ * Cardinality-neutral joins are removed if they do not declare a join condition and their alias is not referenced
+ * anywhere else in the query or the count projection. Once all joins are removed, counting distinct root entities is
+ * equivalent to counting root entities.
+ * <p>
+ * Grammar-specific count query transformers register roots and joins of the outermost query before calling
+ * {@link #analyze(ParseTree, String, boolean)}.
+ *
+ * @author agent
+ * @since 3.4
+ */
+class CountQueryOptimizer {
+
+	private final JpaMetamodel metamodel;
+	private final boolean fetchJoinsDeduplicated;
+	private final Map<String, ManagedType<?>> aliasTypes = new HashMap<>();
+	private final Map<ParserRuleContext, String> candidates = new LinkedHashMap<>();
+	private final Set<ParserRuleContext> removableJoins = new HashSet<>();
+
+	private int rowSources;
+	private boolean primaryRootResolved;
+	private boolean distinctRedundant;
+
+	/**
+	 * @param metamodel the metamodel to resolve join paths.
+	 * @param fetchJoinsDeduplicated whether the persistence provider de-duplicates root entities of fetch join queries.
+	 */
+	CountQueryOptimizer(JpaMetamodel metamodel, boolean fetchJoinsDeduplicated) {
+
+		this.metamodel = metamodel;
+		this.fetchJoinsDeduplicated = fetchJoinsDeduplicated;
+	}
+
+	/**
+	 * Register a root of the {@literal FROM} clause or any other row source that is not a join such as cross joins or
+	 * collection member declarations.
+	 *
+	 * @param entityName the entity name, {@literal null} if the root does not refer to an entity.
+	 * @param alias the alias, can be {@literal null}.
+	 */
+	void addRoot(@Nullable String entityName, @Nullable String alias) {
+
+		EntityType<?> entity = entityName != null ? metamodel.getEntity(entityName) : null;
+
+		if (rowSources++ == 0) {
+			primaryRootResolved = entity != null;
+		}
+
+		if (entity != null && alias != null) {
+			aliasTypes.put(key(alias), entity);
+		}
+	}
+
+	/**
+	 * Register a join.
+	 *
+	 * @param join the join context to be rendered if the join cannot be removed.
+	 * @param path the join path, e.g. {@code u.address}.
+	 * @param alias the join alias, can be {@literal null}.
+	 * @param left whether the join is a left outer join.
+	 * @param inner whether the join is an inner join.
+	 * @param fetch whether the join is a fetch join.
+	 * @param restricted whether the join declares a join condition.
+	 */
+	void addJoin(ParserRuleContext join, String path, @Nullable String alias, boolean left, boolean inner,
+			boolean fetch, boolean restricted) {
+
+		rowSources++;
+
+		Attribute<?, ?> attribute = resolve(path);
+
+		if (attribute == null) {
+			return;
+		}
+
+		ManagedType<?> type = getTargetType(attribute);
+
+		if (type != null && alias != null) {
+			aliasTypes.put(key(alias), type);
+		}
+
+		if (!restricted && isCardinalityNeutral(attribute, left, inner, fetch)) {
+			candidates.put(join, alias);
+		}
+	}
+
+	/**
+	 * Determine removable joins by checking whether the aliases of cardinality-neutral joins are referenced within
+	 * {@code query}.
+	 *
+	 * @param query the query scope including all clauses that remain in the count query.
+	 * @param countProjection the count projection, can be {@literal null}.
+	 * @param grouped whether the query uses {@literal GROUP BY}.
+	 */
+	void analyze(ParseTree query, @Nullable String countProjection, boolean grouped) {
+
+		Map<String, Integer> references = new HashMap<>();
+
+		for (String alias : candidates.values()) {
+			if (alias != null) {
+				references.put(key(alias), 0);
+			}
+		}
+
+		if (!references.isEmpty()) {
+			countReferences(query, references);
+		}
+
+		Set<String> projectionTokens = tokenize(countProjection);
+
+		candidates.forEach((join, alias) -> {
+
+			if (alias == null || (references.get(key(alias)) <= 1 && !projectionTokens.contains(key(alias)))) {
+				removableJoins.add(join);
+			}
+		});
+
+		distinctRedundant = primaryRootResolved && !grouped && rowSources - removableJoins.size() == 1;
+	}
+
+	/**
+	 * @param join the join context.
+	 * @return whether the join can be removed from the count query.
+	 */
+	boolean isRemovable(ParserRuleContext join) {
+		return removableJoins.contains(join);
+	}
+
+	/**
+	 * @return whether counting distinct root entities is equivalent to counting root entities as the count query
+	 *         selects from a single root without joins.
+	 */
+	boolean isDistinctRedundant() {
+		return distinctRedundant;
+	}
+
+	private boolean isCardinalityNeutral(Attribute<?, ?> attribute, boolean left, boolean inner, boolean fetch) {
+
+		if (attribute.isAssociation() && attribute instanceof SingularAttribute<?, ?> singular) {
+			return left || (inner && !singular.isOptional());
+		}
+
+		return left && fetch && fetchJoinsDeduplicated;
+	}
+
+	@Nullable
+	private Attribute<?, ?> resolve(String path) {
+
+		String[] segments = path.split("\\.");
+		ManagedType<?> type = aliasTypes.get(key(segments[0]));
+		Attribute<?, ?> attribute = null;
+
+		for (int i = 1; i < segments.length; i++) {
+
+			if (type == null) {
+				return null;
+			}
+
+			try {
+				attribute = type.getAttribute(segments[i]);
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+
+			type = getTargetType(attribute);
+		}
+
+		return attribute;
+	}
+
+	@Nullable
+	private static ManagedType<?> getTargetType(Attribute<?, ?> attribute) {
+
+		Type<?> type = null;
+
+		if (attribute instanceof SingularAttribute<?, ?> singular) {
+			type = singular.getType();
+		} else if (attribute instanceof PluralAttribute<?, ?, ?> plural) {
+			type = plural.getElementType();
+		}
+
+		return type instanceof ManagedType<?> managedType ? managedType : null;
+	}
+
+	private static void countReferences(ParseTree tree, Map<String, Integer> references) {
+
+		if (tree instanceof TerminalNode) {
+			references.computeIfPresent(key(tree.getText()), (alias, count) -> count + 1);
+			return;
+		}
+
+		for (int i = 0; i < tree.getChildCount(); i++) {
+			countReferences(tree.getChild(i), references);
+		}
+	}
+
+	private static Set<String> tokenize(@Nullable String countProjection) {
+
+		if (countProjection == null) {
+			return Set.of();
+		}
+
+		Set<String> tokens = new HashSet<>();
+
+		for (String token : countProjection.split("[^\\p{L}\\p{N}_$]+")) {
+			tokens.add(key(token));
+		}
+
+		return tokens;
+	}
+
+	private static String key(String alias) {
+		return alias.toLowerCase(Locale.ROOT);
+	}
+}
@@ -102,6 +102,16 @@ interface DeclaredQuery {
 	 */
 	boolean usesJdbcStyleParameters();
 
+	/**
+	 * Returns the {@link QueryEnhancer} to apply sorting to this query and to derive count queries from it.
+	 *
+	 * @return the {@link QueryEnhancer} for this query.
+	 * @since 3.4
+	 */
+	default QueryEnhancer getQueryEnhancer() {
+		return QueryEnhancerFactory.forQuery(this);
+	}
+
 	/**
 	 * Return whether the query is a native query of not.
 	 *
@@ -19,9 +19,12 @@ import java.util.Set;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
- * The implementation of {@link QueryEnhancer} using {@link QueryUtils}.
+ * The implementation of {@link QueryEnhancer} using {@link ScannedQuery} and {@link QueryUtils}. The query is scanned
+ * once to determine its structure that is used to apply sorting and to derive count queries. Count queries for queries
+ * whose structure cannot be determined are derived using {@link QueryUtils}.
  *
  * @author Diego Krupitza
  * @since 2.7.0
@@ -29,52 +32,54 @@ import org.springframework.lang.Nullable;
 public class DefaultQueryEnhancer implements QueryEnhancer {
 
 	private final DeclaredQuery query;
-	private final boolean hasConstructorExpression;
-	private final String alias;
-	private final String projection;
-	private final Set<String> joinAliases;
+	private final ScannedQuery scanned;
 
 	public DefaultQueryEnhancer(DeclaredQuery query) {
 		this.query = query;
-		this.hasConstructorExpression = QueryUtils.hasConstructorExpression(query.getQueryString());
-		this.alias = QueryUtils.detectAlias(query.getQueryString());
-		this.projection = QueryUtils.getProjection(this.query.getQueryString());
-		this.joinAliases = QueryUtils.getOuterJoinAliases(this.query.getQueryString());
+		this.scanned = ScannedQuery.scan(query.getQueryString());
 	}
 
 	@Override
 	public String applySorting(Sort sort) {
-		return QueryUtils.applySorting(this.query.getQueryString(), sort, this.alias);
+		return applySorting(sort, detectAlias());
 	}
 
 	@Override
 	public String applySorting(Sort sort, @Nullable String alias) {
-		return QueryUtils.applySorting(this.query.getQueryString(), sort, alias);
+
+		Assert.hasText(this.query.getQueryString(), "Query must not be null or empty");
+
+		return QueryUtils.applySorting(this.query.getQueryString(), sort, alias, this.scanned.hasOrderByClause(),
+				this.scanned.getJoinAliases(), this.scanned.getSelectionAliases());
 	}
 
 	@Override
 	public String createCountQueryFor(@Nullable String countProjection) {
-		return QueryUtils.createCountQueryFor(this.query.getQueryString(), countProjection, this.query.isNativeQuery());
+
+		String countQuery = this.scanned.createCountQuery(countProjection, this.query.isNativeQuery());
+
+		return countQuery != null ? countQuery
+				: QueryUtils.createCountQueryFor(this.query.getQueryString(), countProjection, this.query.isNativeQuery());
 	}
 
 	@Override
 	public boolean hasConstructorExpression() {
-		return this.hasConstructorExpression;
+		return this.scanned.hasConstructorExpression();
 	}
 
 	@Override
 	public String detectAlias() {
-		return this.alias;
+		return this.scanned.getAlias();
 	}
 
 	@Override
 	public String getProjection() {
-		return this.projection;
+		return this.scanned.getProjection();
 	}
 
 	@Override
 	public Set<String> getJoinAliases() {
-		return this.joinAliases;
+		return this.scanned.getJoinAliases();
 	}
 
 	@Override
@@ -45,4 +45,9 @@ public class DelegatingQueryRewriter implements QueryRewriter {
 	public String rewrite(String query, Pageable pageRequest) {
 		return delegate.get().rewrite(query, pageRequest);
 	}
+
+	@Override
+	public boolean isCacheable() {
+		return delegate.get().isCacheable();
+	}
 }
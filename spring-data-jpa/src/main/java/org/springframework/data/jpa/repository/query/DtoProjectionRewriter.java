@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.Attribute.PersistentAttributeType;
+import jakarta.persistence.metamodel.EntityType;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.springframework.data.jpa.util.JpaMetamodel;
+import org.springframework.data.mapping.Parameter;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.model.PreferredConstructorDiscoverer;
+import org.springframework.data.repository.query.ReturnedType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Rewrites queries selecting the root entity, such as {@code select u from User u}, into queries selecting only the
+ * properties required by a {@link ReturnedType}:
+ * <ul>
+ * <li>a constructor expression {@code select new com.example.UserDto(u.firstname, u.lastname) from User u} for DTO
+ * classes,</li>
+ * <li>an aliased tuple projection {@code select u.firstname as firstname, u.lastname as lastname from User u} for
+ * closed interface projections.</li>
+ * </ul>
+ * Queries are rewritten only if they select the domain type from their {@literal FROM} clause, every input property
+ * maps to a basic or embedded attribute of the domain type and the query neither uses {@literal DISTINCT} nor fetch
+ * joins. Otherwise, entities are loaded and converted as before.
+ *
+ * @author agent
+ * @since 3.4
+ */
+class DtoProjectionRewriter {
+
+	private final JpaMetamodel metamodel;
+	private final boolean tupleProjections;
+
+	/**
+	 * @param metamodel the metamodel to resolve the domain type attributes.
+	 * @param tupleProjections whether to rewrite queries for interface projections into tuple projections.
+	 */
+	DtoProjectionRewriter(JpaMetamodel metamodel, boolean tupleProjections) {
+
+		this.metamodel = metamodel;
+		this.tupleProjections = tupleProjections;
+	}
+
+	/**
+	 * Rewrite {@code query} to select the properties of {@code returnedType}.
+	 *
+	 * @param query the query selecting its root entity.
+	 * @param returnedType the returned type.
+	 * @return the rewritten query or {@literal null} if the query cannot be rewritten.
+	 */
+	@Nullable
+	String rewrite(String query, ReturnedType returnedType) {
+
+		if (!returnedType.needsCustomConstruction()) {
+			return null;
+		}
+
+		ScannedQuery scanned = ScannedQuery.scan(query);
+		String alias = scanned.getAlias();
+
+		if (alias == null || scanned.isDistinct() || scanned.hasFetchJoin() || scanned.hasConstructorExpression()
+				|| !scanned.getProjection().equalsIgnoreCase(alias)) {
+			return null;
+		}
+
+		String projection = getProjection(alias, scanned.getEntityName(), returnedType);
+
+		return projection != null ? scanned.replaceProjection(projection) : null;
+	}
+
+	@Nullable
+	private String getProjection(String alias, @Nullable String entityName, ReturnedType returnedType) {
+
+		// the selected entity is not necessarily the domain type of the repository
+		EntityType<?> entity = entityName != null ? metamodel.getEntity(entityName) : null;
+		List<String> properties = returnedType.getInputProperties();
+
+		if (entity == null || !returnedType.getDomainType().equals(entity.getJavaType()) || properties.isEmpty()) {
+			return null;
+		}
+
+		Class<?> type = returnedType.getReturnedType();
+
+		if (type.isInterface()) {
+
+			if (!tupleProjections) {
+				return null;
+			}
+
+			StringJoiner selection = new StringJoiner(", ");
+
+			for (String property : properties) {
+
+				if (getAttribute(entity, property) == null) {
+					return null;
+				}
+
+				selection.add(alias + "." + property + " as " + property);
+			}
+
+			return selection.toString();
+		}
+
+		PreferredConstructor<?, ?> constructor = PreferredConstructorDiscoverer.discover(type);
+
+		if (constructor == null || constructor.getParameterCount() != properties.size()) {
+			return null;
+		}
+
+		StringJoiner arguments = new StringJoiner(", ", "new " + type.getName() + "(", ")");
+		int index = 0;
+
+		for (Parameter<?, ?> parameter : constructor.getParameters()) {
+
+			String property = properties.get(index++);
+			Attribute<?, ?> attribute = getAttribute(entity, property);
+
+			if (attribute == null || !ClassUtils.isAssignable(parameter.getRawType(), attribute.getJavaType())) {
+				return null;
+			}
+
+			arguments.add(alias + "." + property);
+		}
+
+		return arguments.toString();
+	}
+
+	/**
+	 * @return the attribute if it is a basic or embedded attribute that can be selected without joining.
+	 */
+	@Nullable
+	private static Attribute<?, ?> getAttribute(EntityType<?> entity, String property) {
+
+		Attribute<?, ?> attribute;
+
+		try {
+			attribute = entity.getAttribute(property);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+
+		PersistentAttributeType attributeType = attribute.getPersistentAttributeType();
+
+		return attributeType == PersistentAttributeType.BASIC || attributeType == PersistentAttributeType.EMBEDDED
+				? attribute
+				: null;
+	}
+}
@@ -17,8 +17,10 @@ package org.springframework.data.jpa.repository.query;
 
 import static org.springframework.data.jpa.repository.query.QueryTokens.*;
 
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.springframework.data.jpa.repository.query.QueryRenderer.QueryRendererBuilder;
 import org.springframework.data.jpa.repository.query.QueryTransformers.CountSelectionTokenStream;
+import org.springframework.data.jpa.util.JpaMetamodel;
 import org.springframework.lang.Nullable;
 
 /**
@@ -35,16 +37,27 @@ class EqlCountQueryTransformer extends EqlQueryRenderer {
 
 	private final @Nullable String countProjection;
 	private final @Nullable String primaryFromAlias;
+	private final @Nullable JpaMetamodel metamodel;
+	private @Nullable CountQueryOptimizer optimizer;
 
 	EqlCountQueryTransformer(@Nullable String countProjection, @Nullable String primaryFromAlias) {
+		this(countProjection, primaryFromAlias, null);
+	}
 
+	EqlCountQueryTransformer(@Nullable String countProjection, @Nullable String primaryFromAlias,
+			@Nullable JpaMetamodel metamodel) {
 		this.countProjection = countProjection;
 		this.primaryFromAlias = primaryFromAlias;
+		this.metamodel = metamodel;
 	}
 
 	@Override
 	public QueryRendererBuilder visitSelect_statement(EqlParser.Select_statementContext ctx) {
 
+		if (metamodel != null && optimizer == null && ctx.setOperator().isEmpty()) {
+			optimizer = createOptimizer(ctx);
+		}
+
 		QueryRendererBuilder builder = QueryRenderer.builder();
 
 		builder.appendExpression(visit(ctx.select_clause()));
@@ -76,8 +89,16 @@ class EqlCountQueryTransformer extends EqlQueryRenderer {
 		QueryRendererBuilder nested = QueryRenderer.builder();
 		if (countProjection == null) {
 			if (usesDistinct) {
-				nested.append(QueryTokens.expression(ctx.DISTINCT()));
-				nested.append(getDistinctCountSelection(QueryTokenStream.concat(ctx.select_item(), this::visit, TOKEN_COMMA)));
+
+				QueryRendererBuilder selection = getDistinctCountSelection(
+						QueryTokenStream.concat(ctx.select_item(), this::visit, TOKEN_COMMA));
+
+				if (optimizer == null || !optimizer.isDistinctRedundant() || primaryFromAlias == null
+						|| !primaryFromAlias.equals(QueryRenderer.TokenRenderer.render(selection))) {
+					nested.append(QueryTokens.expression(ctx.DISTINCT()));
+				}
+
+				nested.append(selection);
 			} else {
 				nested.append(QueryTokens.token(primaryFromAlias));
 			}
@@ -93,6 +114,64 @@ class EqlCountQueryTransformer extends EqlQueryRenderer {
 		return builder;
 	}
 
+	@Override
+	public QueryTokenStream visitJoin(EqlParser.JoinContext ctx) {
+		return optimizer != null && optimizer.isRemovable(ctx) ? QueryRenderer.builder() : super.visitJoin(ctx);
+	}
+
+	@Override
+	public QueryTokenStream visitFetch_join(EqlParser.Fetch_joinContext ctx) {
+		return optimizer != null && optimizer.isRemovable(ctx) ? QueryRenderer.builder() : super.visitFetch_join(ctx);
+	}
+
+	private CountQueryOptimizer createOptimizer(EqlParser.Select_statementContext ctx) {
+
+		CountQueryOptimizer optimizer = new CountQueryOptimizer(metamodel, false);
+		EqlParser.From_clauseContext from = ctx.from_clause();
+
+		register(optimizer, from.identification_variable_declaration());
+
+		for (EqlParser.IdentificationVariableDeclarationOrCollectionMemberDeclarationContext declaration : from
+				.identificationVariableDeclarationOrCollectionMemberDeclaration()) {
+
+			if (declaration.identification_variable_declaration() != null) {
+				register(optimizer, declaration.identification_variable_declaration());
+			} else {
+				optimizer.addRoot(null, null);
+			}
+		}
+
+		optimizer.analyze(ctx, countProjection, ctx.groupby_clause() != null);
+
+		return optimizer;
+	}
+
+	private static void register(CountQueryOptimizer optimizer, EqlParser.Identification_variable_declarationContext ctx) {
+
+		EqlParser.Range_variable_declarationContext range = ctx.range_variable_declaration();
+		optimizer.addRoot(range.entity_name() != null ? range.entity_name().getText() : null,
+				range.identification_variable().getText());
+
+		for (EqlParser.JoinContext join : ctx.join()) {
+			register(optimizer, join, join.join_spec(), join.join_association_path_expression().getText(),
+					join.identification_variable() != null ? join.identification_variable().getText() : null, false,
+					join.join_condition() != null);
+		}
+
+		for (EqlParser.Fetch_joinContext join : ctx.fetch_join()) {
+			register(optimizer, join, join.join_spec(), join.join_association_path_expression().getText(),
+					join.identification_variable() != null ? join.identification_variable().getText() : null, true,
+					join.join_condition() != null);
+		}
+	}
+
+	private static void register(CountQueryOptimizer optimizer, ParserRuleContext join, EqlParser.Join_specContext spec,
+			String path, @Nullable String alias, boolean fetch, boolean restricted) {
+
+		boolean left = spec.LEFT() != null;
+		optimizer.addJoin(join, path, alias, left, !left, fetch, restricted);
+	}
+
 	private QueryRendererBuilder getDistinctCountSelection(QueryTokenStream selectionListbuilder) {
 
 		QueryRendererBuilder nested = new QueryRendererBuilder();
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import jakarta.persistence.EntityManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.query.BindableType;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.lang.Nullable;
+
+/**
+ * Hibernate-specific support to send batches of native statements through JDBC batching. As Hibernate is an optional
+ * dependency, this class must only be used once {@link BatchExecutionSupport#supportsJdbcBatching} has determined that
+ * the {@link EntityManager} is backed by Hibernate.
+ *
+ * @author agent
+ * @since 3.4
+ * @see BatchExecutionSupport
+ */
+abstract class HibernateJdbcBatchSupport {
+
+	static final int BATCH_SIZE = 500;
+
+	private HibernateJdbcBatchSupport() {}
+
+	/**
+	 * Executes the given {@code sql} using JDBC batching binding the values obtained through {@code valueFunction} for
+	 * each element. Values are bound through the Hibernate type resolved for their Java type (or the type of a
+	 * {@link TypedParameterValue}) so that enums, temporal values and other basic types are bound like through
+	 * {@link jakarta.persistence.Query#setParameter(int, Object)}. {@literal null} values are bound using the Hibernate
+	 * type of their declared {@code parameterTypes} or the JDBC type reported by the statement's parameter metadata.
+	 * <p>
+	 * As the statements bypass the persistence provider, pending changes are flushed before executing the batch and the
+	 * second-level cache region of {@code domainType} is evicted afterwards. Cached state of other entities written by the
+	 * statements is not evicted. Without a {@code domainType}, e.g. for stored procedures whose effects are unknown, the
+	 * entire second-level cache is evicted, similar to what Hibernate does for native updates without declared query
+	 * spaces.
+	 *
+	 * @param em must not be {@literal null}.
+	 * @param sql must not be {@literal null}.
+	 * @param arguments must not be {@literal null}.
+	 * @param valueFunction function returning the values to bind for an element.
+	 * @param parameterTypes the declared types of the values in placeholder order, unknown types are {@literal null}.
+	 * @param domainType the entity type written by the statements, {@literal null} if unknown.
+	 * @return the update counts per element.
+	 */
+	static int[] executeJdbcBatch(EntityManager em, String sql, Iterable<?> arguments,
+			Function<Object, Object[]> valueFunction, Class<?>[] parameterTypes, @Nullable Class<?> domainType) {
+
+		em.flush();
+
+		SessionImplementor session = em.unwrap(SessionImplementor.class);
+		BasicType<?>[] nullValueTypes = resolveNullValueTypes(session, parameterTypes);
+
+		int[] result = session.doReturningWork(connection -> {
+
+			int[] updateCounts = new int[0];
+
+			try (PreparedStatement statement = sql.startsWith("{") ? connection.prepareCall(sql)
+					: connection.prepareStatement(sql)) {
+
+				int batched = 0;
+
+				for (Object argument : arguments) {
+
+					Object[] values = valueFunction.apply(argument);
+
+					for (int i = 0; i < values.length; i++) {
+						bind(statement, i + 1, values[i], i < nullValueTypes.length ? nullValueTypes[i] : null, session);
+					}
+
+					statement.addBatch();
+
+					if (++batched % BATCH_SIZE == 0) {
+						updateCounts = append(updateCounts, statement.executeBatch());
+					}
+				}
+
+				if (batched % BATCH_SIZE != 0) {
+					updateCounts = append(updateCounts, statement.executeBatch());
+				}
+			}
+
+			return updateCounts;
+		});
+
+		if (domainType != null) {
+			em.getEntityManagerFactory().getCache().evict(domainType);
+		} else {
+			em.getEntityManagerFactory().getCache().evictAll();
+		}
+
+		return result;
+	}
+
+	private static BasicType<?>[] resolveNullValueTypes(SessionImplementor session, Class<?>[] parameterTypes) {
+
+		BasicTypeRegistry typeRegistry = session.getFactory().getTypeConfiguration().getBasicTypeRegistry();
+		BasicType<?>[] types = new BasicType<?>[parameterTypes.length];
+
+		for (int i = 0; i < parameterTypes.length; i++) {
+			if (parameterTypes[i] != null && parameterTypes[i] != Object.class) {
+				types[i] = typeRegistry.getRegisteredType(parameterTypes[i]);
+			}
+		}
+
+		return types;
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void bind(PreparedStatement statement, int index, @Nullable Object value,
+			@Nullable BasicType<?> nullValueType, SessionImplementor session) throws SQLException {
+
+		BindableType<?> type;
+
+		if (value instanceof TypedParameterValue<?> typedValue) {
+			type = typedValue.getType();
+			value = typedValue.getValue();
+		} else {
+			type = value != null ? session.getFactory().getMappingMetamodel().resolveParameterBindType(value)
+					: nullValueType;
+		}
+
+		if (type instanceof JdbcMapping mapping) {
+			mapping.getJdbcValueBinder().bind(statement, mapping.convertToRelationalValue(value), index, session);
+		} else if (value == null) {
+			// resolves the JDBC type through the parameter metadata as untyped nulls are rejected by several databases
+			StatementCreatorUtils.setParameterValue(statement, index, SqlTypeValue.TYPE_UNKNOWN, null);
+		} else {
+			statement.setObject(index, value);
+		}
+	}
+
+	private static int[] append(int[] updateCounts, int[] batch) {
+
+		int[] result = Arrays.copyOf(updateCounts, updateCounts.length + batch.length);
+		System.arraycopy(batch, 0, result, updateCounts.length, batch.length);
+
+		return result;
+	}
+}
@@ -17,6 +17,8 @@ package org.springframework.data.jpa.repository.query;
 
 import jakarta.persistence.EntityManager;
 
+import java.util.function.Function;
+
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.query.TypedParameterValue;
 import org.hibernate.type.BasicType;
@@ -42,7 +44,7 @@ import org.springframework.lang.Nullable;
  */
 class HibernateJpaParametersParameterAccessor extends JpaParametersParameterAccessor {
 
-	private final BasicTypeRegistry typeHelper;
+	private final @Nullable BasicType<?>[] nullValueTypes;
 
 	/**
 	 * Creates a new {@link ParametersParameterAccessor}.
@@ -52,13 +54,48 @@ class HibernateJpaParametersParameterAccessor extends JpaParametersParameterAcce
 	 * @param em must not be {@literal null}.
 	 */
 	HibernateJpaParametersParameterAccessor(Parameters<?, ?> parameters, Object[] values, EntityManager em) {
+		this(parameters, values, resolveNullValueTypes(parameters, em));
+	}
+
+	private HibernateJpaParametersParameterAccessor(Parameters<?, ?> parameters, Object[] values,
+			@Nullable BasicType<?>[] nullValueTypes) {
 
 		super(parameters, values);
 
-		this.typeHelper = em.getEntityManagerFactory() //
+		this.nullValueTypes = nullValueTypes;
+	}
+
+	/**
+	 * Creates a factory for {@link HibernateJpaParametersParameterAccessor} instances for the given {@link Parameters}.
+	 * The {@link BasicType}s used to bind {@literal null} values are resolved once so that creating an accessor does not
+	 * require {@link BasicTypeRegistry} lookups.
+	 *
+	 * @param parameters must not be {@literal null}.
+	 * @param em must not be {@literal null}.
+	 * @return a function creating a {@link JpaParametersParameterAccessor} for the given parameter values.
+	 * @since 3.4
+	 */
+	static Function<Object[], JpaParametersParameterAccessor> factory(Parameters<?, ?> parameters, EntityManager em) {
+
+		BasicType<?>[] nullValueTypes = resolveNullValueTypes(parameters, em);
+
+		return values -> new HibernateJpaParametersParameterAccessor(parameters, values, nullValueTypes);
+	}
+
+	private static BasicType<?>[] resolveNullValueTypes(Parameters<?, ?> parameters, EntityManager em) {
+
+		BasicTypeRegistry typeRegistry = em.getEntityManagerFactory() //
 				.unwrap(SessionFactoryImplementor.class) //
 				.getTypeConfiguration() //
 				.getBasicTypeRegistry();
+
+		BasicType<?>[] types = new BasicType<?>[parameters.getNumberOfParameters()];
+
+		for (Parameter parameter : parameters) {
+			types[parameter.getIndex()] = typeRegistry.getRegisteredType(parameter.getType());
+		}
+
+		return types;
 	}
 
 	@Override
@@ -72,7 +109,7 @@ class HibernateJpaParametersParameterAccessor extends JpaParametersParameterAcce
 			return value;
 		}
 
-		BasicType<?> type = typeHelper.getRegisteredType(parameter.getType());
+		BasicType<?> type = nullValueTypes[parameter.getIndex()];
 
 		if (type == null) {
 			return null;
@@ -17,9 +17,14 @@ package org.springframework.data.jpa.repository.query;
 
 import static org.springframework.data.jpa.repository.query.QueryTokens.*;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.springframework.data.jpa.repository.query.HqlParser.SelectClauseContext;
 import org.springframework.data.jpa.repository.query.QueryRenderer.QueryRendererBuilder;
 import org.springframework.data.jpa.repository.query.QueryTransformers.CountSelectionTokenStream;
+import org.springframework.data.jpa.util.JpaMetamodel;
 import org.springframework.lang.Nullable;
 
 /**
@@ -36,10 +41,18 @@ class HqlCountQueryTransformer extends HqlQueryRenderer {
 
 	private final @Nullable String countProjection;
 	private final @Nullable String primaryFromAlias;
+	private final @Nullable JpaMetamodel metamodel;
+	private final Map<HqlParser.QueryContext, CountQueryOptimizer> optimizers = new HashMap<>();
 
 	HqlCountQueryTransformer(@Nullable String countProjection, @Nullable String primaryFromAlias) {
+		this(countProjection, primaryFromAlias, null);
+	}
+
+	HqlCountQueryTransformer(@Nullable String countProjection, @Nullable String primaryFromAlias,
+			@Nullable JpaMetamodel metamodel) {
 		this.countProjection = countProjection;
 		this.primaryFromAlias = primaryFromAlias;
+		this.metamodel = metamodel;
 	}
 
 	@Override
@@ -157,6 +170,11 @@ class HqlCountQueryTransformer extends HqlQueryRenderer {
 	public QueryRendererBuilder visitJoin(HqlParser.JoinContext ctx) {
 
 		QueryRendererBuilder builder = QueryRenderer.builder();
+		CountQueryOptimizer optimizer = getOptimizer(ctx);
+
+		if (optimizer != null && optimizer.isRemovable(ctx)) {
+			return builder;
+		}
 
 		builder.appendExpression(visit(ctx.joinType()));
 		builder.append(QueryTokens.expression(ctx.JOIN()));
@@ -186,8 +204,15 @@ class HqlCountQueryTransformer extends HqlQueryRenderer {
 		if (countProjection == null) {
 			if (usesDistinct) {
 
-				nested.append(QueryTokens.expression(ctx.DISTINCT()));
-				nested.append(getDistinctCountSelection(visit(ctx.selectionList())));
+				QueryRendererBuilder selection = getDistinctCountSelection(visit(ctx.selectionList()));
+				CountQueryOptimizer optimizer = getOptimizer(ctx);
+
+				if (optimizer == null || !optimizer.isDistinctRedundant() || primaryFromAlias == null
+						|| !primaryFromAlias.equals(QueryRenderer.TokenRenderer.render(selection))) {
+					nested.append(QueryTokens.expression(ctx.DISTINCT()));
+				}
+
+				nested.append(selection);
 			} else {
 				nested.append(QueryTokens.token(primaryFromAlias));
 			}
@@ -248,6 +273,96 @@ class HqlCountQueryTransformer extends HqlQueryRenderer {
 		return builder;
 	}
 
+	/**
+	 * Returns the {@link CountQueryOptimizer} for the outermost query enclosing {@code ctx}.
+	 *
+	 * @return the {@link CountQueryOptimizer} or {@literal null} if no metamodel is available or {@code ctx} is not part
+	 *         of the top-level query.
+	 */
+	@Nullable
+	private CountQueryOptimizer getOptimizer(ParserRuleContext ctx) {
+
+		if (metamodel == null || isSubquery(ctx)) {
+			return null;
+		}
+
+		ParserRuleContext query = ctx;
+		while (query != null && !(query instanceof HqlParser.QueryContext)) {
+			query = query.getParent();
+		}
+
+		if (query == null || !isTopLevelQuery(query)) {
+			return null;
+		}
+
+		return optimizers.computeIfAbsent((HqlParser.QueryContext) query, this::createOptimizer);
+	}
+
+	/**
+	 * @return whether {@code query} is the only query of the select statement, i.e. not a common table expression or part
+	 *         of a set operation.
+	 */
+	private static boolean isTopLevelQuery(ParserRuleContext query) {
+
+		ParserRuleContext orderedQuery = query.getParent();
+
+		return orderedQuery != null
+				&& orderedQuery.getParent() instanceof HqlParser.QueryExpressionContext expression
+				&& expression.setOperator().isEmpty() && expression.getParent() instanceof HqlParser.SelectStatementContext;
+	}
+
+	private CountQueryOptimizer createOptimizer(HqlParser.QueryContext query) {
+
+		CountQueryOptimizer optimizer = new CountQueryOptimizer(metamodel, true);
+		HqlParser.FromClauseContext fromClause = null;
+		boolean grouped = false;
+
+		if (query instanceof HqlParser.SelectQueryContext selectQuery) {
+			fromClause = selectQuery.fromClause();
+			grouped = selectQuery.groupByClause() != null;
+		} else if (query instanceof HqlParser.FromQueryContext fromQuery) {
+			fromClause = fromQuery.fromClause();
+			grouped = fromQuery.groupByClause() != null;
+		}
+
+		if (fromClause != null) {
+
+			for (HqlParser.EntityWithJoinsContext entity : fromClause.entityWithJoins()) {
+
+				HqlParser.FromRootContext root = entity.fromRoot();
+				optimizer.addRoot(root.entityName() != null ? root.entityName().getText() : null,
+						root.variable() != null ? getAlias(root.variable()) : null);
+
+				for (HqlParser.JoinSpecifierContext specifier : entity.joinSpecifier()) {
+
+					HqlParser.JoinContext join = specifier.join();
+
+					if (join != null && join.joinTarget() instanceof HqlParser.JoinPathContext path) {
+
+						HqlParser.JoinTypeContext joinType = join.joinType();
+						boolean left = joinType.LEFT() != null;
+						boolean inner = !left && joinType.RIGHT() == null && joinType.FULL() == null
+								&& joinType.CROSS() == null;
+
+						optimizer.addJoin(join, path.path().getText(),
+								path.variable() != null ? getAlias(path.variable()) : null, left, inner, join.FETCH() != null,
+								join.joinRestriction() != null);
+					} else {
+						optimizer.addRoot(null, null);
+					}
+				}
+			}
+		}
+
+		optimizer.analyze(query, countProjection, grouped);
+
+		return optimizer;
+	}
+
+	private static String getAlias(HqlParser.VariableContext ctx) {
+		return (ctx.reservedWord() != null ? ctx.reservedWord() : ctx.identifier().reservedWord()).getText();
+	}
+
 	private QueryRendererBuilder getDistinctCountSelection(QueryTokenStream selectionListbuilder) {
 
 		QueryRendererBuilder nested = new QueryRendererBuilder();
@@ -33,7 +33,7 @@ import org.springframework.util.ObjectUtils;
  * @since 3.1
  */
 @SuppressWarnings("ConstantValue")
-class HqlSortedQueryTransformer extends HqlQueryRenderer {
+class HqlSortedQueryTransformer extends HqlQueryRenderer implements JpaQueryEnhancer.SortedQueryTransformer {
 
 	private final JpaQueryTransformerSupport transformerSupport = new JpaQueryTransformerSupport();
 	private final Sort sort;
@@ -47,6 +47,11 @@ class HqlSortedQueryTransformer extends HqlQueryRenderer {
 		this.primaryFromAlias = primaryFromAlias;
 	}
 
+	@Override
+	public JpaQueryTransformerSupport getTransformerSupport() {
+		return transformerSupport;
+	}
+
 	@Override
 	public QueryTokenStream visitQueryExpression(HqlParser.QueryExpressionContext ctx) {
 
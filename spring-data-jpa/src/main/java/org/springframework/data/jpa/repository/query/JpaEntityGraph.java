@@ -38,6 +38,7 @@ public class JpaEntityGraph {
 	private final String name;
 	private final EntityGraphType type;
 	private final List<String> attributePaths;
+	private final boolean twoPhasePagination;
 
 	/**
 	 * Creates an {@link JpaEntityGraph}.
@@ -47,7 +48,7 @@ public class JpaEntityGraph {
 	 */
 	public JpaEntityGraph(EntityGraph entityGraph, String nameFallback) {
 		this(StringUtils.hasText(entityGraph.value()) ? entityGraph.value() : nameFallback, entityGraph.type(), entityGraph
-				.attributePaths());
+				.attributePaths(), entityGraph.twoPhasePagination());
 	}
 
 	/**
@@ -59,6 +60,20 @@ public class JpaEntityGraph {
 	 * @since 1.9
 	 */
 	public JpaEntityGraph(String name, EntityGraphType type, @Nullable String[] attributePaths) {
+		this(name, type, attributePaths, false);
+	}
+
+	/**
+	 * Creates an {@link JpaEntityGraph} with the given name, {@link EntityGraphType}, attribute paths and pagination mode.
+	 *
+	 * @param name must not be {@literal null} or empty.
+	 * @param type must not be {@literal null}.
+	 * @param attributePaths may be {@literal null}.
+	 * @param twoPhasePagination whether to paginate in two phases.
+	 * @since 3.4
+	 */
+	public JpaEntityGraph(String name, EntityGraphType type, @Nullable String[] attributePaths,
+			boolean twoPhasePagination) {
 
 		Assert.hasText(name, "The name of an EntityGraph must not be null or empty");
 		Assert.notNull(type, "FetchGraphType must not be null");
@@ -66,6 +81,7 @@ public class JpaEntityGraph {
 		this.name = name;
 		this.type = type;
 		this.attributePaths = Arrays.asList(attributePaths == null ? EMPTY_ATTRIBUTE_PATHS : attributePaths);
+		this.twoPhasePagination = twoPhasePagination;
 	}
 
 	/**
@@ -106,6 +122,18 @@ public class JpaEntityGraph {
 		return !attributePaths.isEmpty();
 	}
 
+	/**
+	 * Return {@literal true} if paged queries using this {@link JpaEntityGraph} should select the page first and load the
+	 * entity graph in a second query.
+	 *
+	 * @return {@literal true} if paged queries should be executed in two phases.
+	 * @since 3.4
+	 * @see EntityGraph#twoPhasePagination()
+	 */
+	public boolean isTwoPhasePagination() {
+		return twoPhasePagination;
+	}
+
 	@Override
 	public String toString() {
 		return "JpaEntityGraph [name=" + name + ", type=" + type + ", attributePaths=" + attributePaths.toString() + "]";
@@ -16,25 +16,41 @@
 package org.springframework.data.jpa.repository.query;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
 import org.antlr.v4.runtime.Lexer;
 import org.antlr.v4.runtime.Parser;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.TokenStream;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTreeVisitor;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.util.JpaMetamodel;
+import org.springframework.data.util.Lazy;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * Implementation of {@link QueryEnhancer} to enhance JPA queries using ANTLR parsers.
+ * <p>
+ * The query is parsed once when creating the enhancer. The sort template is rendered from the parse tree while
+ * analyzing the query and the parse tree is discarded afterwards. Sorted queries are rendered from the template that is
+ * created by rendering the parse tree with a placeholder {@link Sort}. Applying a {@link Sort} splices the rendered
+ * {@literal ORDER BY} arguments into the template instead of walking and rendering the entire parse tree. Queries whose
+ * template cannot splice sort arguments and count queries are rendered from a parse tree that is created on demand and
+ * cache their rendered result unless they use {@link JpaMetamodel}. The default count query is rendered on first use
+ * as most queries are never counted.
  *
  * @author Greg Turnquist
  * @author Mark Paluch
@@ -45,39 +61,94 @@ import org.springframework.util.Assert;
  */
 class JpaQueryEnhancer implements QueryEnhancer {
 
-	private final ParserRuleContext context;
-	private final ParsedQueryIntrospector introspector;
+	private static final int SORTED_QUERY_CACHE_SIZE = 16;
+
+	private final String query;
+	private final Function<String, ParserRuleContext> parseFunction;
+	private final @Nullable String alias;
 	private final String projection;
+	private final boolean hasConstructorExpression;
 	private final BiFunction<Sort, String, ParseTreeVisitor<? extends Object>> sortFunction;
-	private final BiFunction<String, String, ParseTreeVisitor<? extends Object>> countQueryFunction;
+	private final CountQueryTransformerFactory countQueryFunction;
+	private final SortTemplate sortTemplate;
+	private final Lazy<ConcurrentLruCache<Sort, String>> sortedQueries;
+	private final Lazy<String> countQuery;
+	private final Map<String, String> countQueries = new ConcurrentHashMap<>(2);
 
-	JpaQueryEnhancer(ParserRuleContext context, ParsedQueryIntrospector introspector,
+	/**
+	 * Creates a new {@link JpaQueryEnhancer} by parsing and introspecting {@code query}. The sort template is rendered
+	 * from the parse tree which is not retained.
+	 *
+	 * @param query the query to parse.
+	 * @param parseFunction function parsing the query into a parse tree.
+	 * @param introspector introspector to determine alias, projection and constructor expression.
+	 * @param sortFunction factory for sorted query transformers.
+	 * @param countQueryFunction factory for count query transformers.
+	 */
+	JpaQueryEnhancer(String query, Function<String, ParserRuleContext> parseFunction,
+			ParsedQueryIntrospector introspector,
 			@Nullable BiFunction<Sort, String, ParseTreeVisitor<? extends Object>> sortFunction,
-			@Nullable BiFunction<String, String, ParseTreeVisitor<? extends Object>> countQueryFunction) {
+			CountQueryTransformerFactory countQueryFunction) {
 
-		this.context = context;
-		this.introspector = introspector;
+		this.query = query;
+		this.parseFunction = parseFunction;
 		this.sortFunction = sortFunction;
 		this.countQueryFunction = countQueryFunction;
-		this.introspector.visit(context);
+
+		ParserRuleContext context = parseFunction.apply(query);
+		introspector.visit(context);
 
 		List<QueryToken> tokens = introspector.getProjection();
+		this.alias = introspector.getAlias();
 		this.projection = tokens.isEmpty() ? "" : new QueryRenderer.TokenRenderer(tokens).render();
+		this.hasConstructorExpression = introspector.hasConstructorExpression();
+		this.sortTemplate = createSortTemplate(context);
+		this.sortedQueries = Lazy.of(() -> new ConcurrentLruCache<>(SORTED_QUERY_CACHE_SIZE,
+				sort -> renderSorted(parseFunction.apply(query), sort)));
+		this.countQuery = Lazy.of(() -> renderCountQuery(parseFunction.apply(query), null, null));
 	}
 
+	/**
+	 * Parse the given {@code query} using two-stage parsing. The first stage uses {@link PredictionMode#SLL SLL}
+	 * prediction that is sufficient for almost all queries and bails out on the first syntax error. The second stage
+	 * re-parses the query using full {@link PredictionMode#LL LL} prediction to either parse queries that require full
+	 * context or to report the actual syntax error. Both stages share the DFA and prediction context caches of the
+	 * generated parser.
+	 *
+	 * @param query the query to parse.
+	 * @param lexerFactoryFunction lexer factory.
+	 * @param parserFactoryFunction parser factory.
+	 * @param parseFunction function invoking the entry rule of the parser.
+	 * @return the parse tree.
+	 * @throws BadJpqlGrammarException if the query is invalid.
+	 */
 	static <P extends Parser> ParserRuleContext parse(String query, Function<CharStream, Lexer> lexerFactoryFunction,
 			Function<TokenStream, P> parserFactoryFunction, Function<P, ParserRuleContext> parseFunction) {
 
 		Lexer lexer = lexerFactoryFunction.apply(CharStreams.fromString(query));
-		P parser = parserFactoryFunction.apply(new CommonTokenStream(lexer));
+		CommonTokenStream tokens = new CommonTokenStream(lexer);
+		P parser = parserFactoryFunction.apply(tokens);
 
 		configureParser(query, lexer, parser);
 
-		return parseFunction.apply(parser);
+		try {
+			return parseFunction.apply(parser);
+		} catch (ParseCancellationException e) {
+
+			tokens.seek(0);
+			parser.reset();
+			parser.setErrorHandler(new DefaultErrorStrategy());
+			parser.addErrorListener(new BadJpqlGrammarErrorListener(query));
+			parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+
+			return parseFunction.apply(parser);
+		}
 	}
 
 	/**
-	 * Apply common configuration (SLL prediction for performance, our own error listeners).
+	 * Apply common configuration (SLL prediction with bail-out for performance, our own error listeners). The parser
+	 * does not report syntax errors during SLL prediction as these are reported when re-parsing the query using LL
+	 * prediction.
 	 *
 	 * @param query
 	 * @param lexer
@@ -85,15 +156,12 @@ class JpaQueryEnhancer implements QueryEnhancer {
 	 */
 	static void configureParser(String query, Lexer lexer, Parser parser) {
 
-		BadJpqlGrammarErrorListener errorListener = new BadJpqlGrammarErrorListener(query);
-
 		lexer.removeErrorListeners();
-		lexer.addErrorListener(errorListener);
+		lexer.addErrorListener(new BadJpqlGrammarErrorListener(query));
 
 		parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
-
+		parser.setErrorHandler(new BailErrorStrategy());
 		parser.removeErrorListeners();
-		parser.addErrorListener(errorListener);
 	}
 
 	/**
@@ -143,7 +211,7 @@ class JpaQueryEnhancer implements QueryEnhancer {
 	 */
 	@Override
 	public boolean hasConstructorExpression() {
-		return this.introspector.hasConstructorExpression();
+		return this.hasConstructorExpression;
 	}
 
 	/**
@@ -152,7 +220,7 @@ class JpaQueryEnhancer implements QueryEnhancer {
 	 */
 	@Override
 	public String detectAlias() {
-		return this.introspector.getAlias();
+		return this.alias;
 	}
 
 	/**
@@ -191,9 +259,57 @@ class JpaQueryEnhancer implements QueryEnhancer {
 	 */
 	@Override
 	public String applySorting(Sort sort) {
+
+		if (sort.isUnsorted()) {
+			return sortTemplate.unsorted();
+		}
+
+		return sortTemplate.isSpliceable() ? sortTemplate.render(sort) : sortedQueries.get().get(sort);
+	}
+
+	private String renderSorted(ParserRuleContext context, Sort sort) {
 		return QueryRenderer.TokenRenderer.render(sortFunction.apply(sort, detectAlias()).visit(context));
 	}
 
+	/**
+	 * Renders the query with a placeholder {@link Sort} and splits the result around the rendered placeholder
+	 * {@literal ORDER BY} argument.
+	 *
+	 * @param context the parse tree.
+	 * @return the {@link SortTemplate}. The template cannot splice sort arguments if the placeholder cannot be located
+	 *         unambiguously or the template does not render sort arguments like the parse tree does.
+	 */
+	private SortTemplate createSortTemplate(ParserRuleContext context) {
+
+		String alias = detectAlias();
+		String unsorted = renderSorted(context, Sort.unsorted());
+		Sort placeholderSort = Sort.by(SortTemplate.PLACEHOLDER);
+		ParseTreeVisitor<?> visitor = sortFunction.apply(placeholderSort, alias);
+		String rendered = QueryRenderer.TokenRenderer.render(visitor.visit(context));
+
+		if (!(visitor instanceof SortedQueryTransformer transformer)) {
+			return SortTemplate.unsorted(unsorted);
+		}
+
+		JpaQueryTransformerSupport transformerSupport = transformer.getTransformerSupport();
+		String placeholder = QueryRenderer.TokenRenderer.render(transformerSupport.orderBy(alias, placeholderSort));
+		int index = rendered.indexOf(placeholder);
+
+		if (index == -1 || index != rendered.lastIndexOf(placeholder)) {
+			return SortTemplate.unsorted(unsorted);
+		}
+
+		SortTemplate template = new SortTemplate(unsorted, rendered.substring(0, index),
+				rendered.substring(index + placeholder.length()), transformerSupport, alias);
+
+		// verify that multiple sort arguments render the same way as within the parse tree
+		Sort verificationSort = Sort.by(Sort.Order.asc(SortTemplate.PLACEHOLDER),
+				Sort.Order.desc(SortTemplate.PLACEHOLDER + "_2"));
+
+		return template.render(verificationSort).equals(renderSorted(context, verificationSort)) ? template
+				: SortTemplate.unsorted(unsorted);
+	}
+
 	/**
 	 * Because the parser can find the alias of the FROM clause, there is no need to "find it" in advance.
 	 *
@@ -223,7 +339,88 @@ class JpaQueryEnhancer implements QueryEnhancer {
 	 */
 	@Override
 	public String createCountQueryFor(@Nullable String countProjection) {
-		return QueryRenderer.TokenRenderer.render(countQueryFunction.apply(countProjection, detectAlias()).visit(context));
+
+		return countProjection == null //
+				? countQuery.get() //
+				: countQueries.computeIfAbsent(countProjection,
+						it -> renderCountQuery(parseFunction.apply(query), it, null));
+	}
+
+	/**
+	 * Create a count query from the original query using {@link JpaMetamodel} to remove joins that do not affect the
+	 * number of rows. The count query is not cached as it depends on the given metamodel.
+	 *
+	 * @param countProjection may be {@literal null}.
+	 * @param metamodel the metamodel to resolve entities and their associations.
+	 * @return the count query.
+	 * @since 3.4
+	 * @see CountQueryOptimizer
+	 */
+	String createCountQueryFor(@Nullable String countProjection, JpaMetamodel metamodel) {
+		return renderCountQuery(parseFunction.apply(query), countProjection, metamodel);
+	}
+
+	private String renderCountQuery(ParserRuleContext context, @Nullable String countProjection,
+			@Nullable JpaMetamodel metamodel) {
+		return QueryRenderer.TokenRenderer
+				.render(countQueryFunction.create(countProjection, detectAlias(), metamodel).visit(context));
+	}
+
+	/**
+	 * Factory for count query transformers.
+	 *
+	 * @since 3.4
+	 */
+	@FunctionalInterface
+	interface CountQueryTransformerFactory {
+
+		/**
+		 * @param countProjection the count projection, can be {@literal null}.
+		 * @param primaryFromAlias the primary alias, can be {@literal null}.
+		 * @param metamodel the metamodel used to optimize count queries, can be {@literal null}.
+		 * @return the count query transformer.
+		 */
+		ParseTreeVisitor<? extends Object> create(@Nullable String countProjection, @Nullable String primaryFromAlias,
+				@Nullable JpaMetamodel metamodel);
+	}
+
+	/**
+	 * Sorted query transformer exposing its {@link JpaQueryTransformerSupport} holding the aliases collected while
+	 * visiting the query.
+	 *
+	 * @since 3.4
+	 */
+	interface SortedQueryTransformer {
+
+		JpaQueryTransformerSupport getTransformerSupport();
+	}
+
+	/**
+	 * Rendered query split around its {@literal ORDER BY} arguments.
+	 *
+	 * @param unsorted the rendered unsorted query.
+	 * @param prefix the rendered query up to the sort arguments, {@literal null} if sort arguments cannot be spliced.
+	 * @param suffix the rendered query following the sort arguments.
+	 * @param transformerSupport support to render sort arguments.
+	 * @param alias the primary alias.
+	 * @since 3.4
+	 */
+	record SortTemplate(String unsorted, @Nullable String prefix, @Nullable String suffix,
+			@Nullable JpaQueryTransformerSupport transformerSupport, @Nullable String alias) {
+
+		static final String PLACEHOLDER = "__spring_data_jpa_sort__";
+
+		static SortTemplate unsorted(String unsorted) {
+			return new SortTemplate(unsorted, null, null, null, null);
+		}
+
+		boolean isSpliceable() {
+			return prefix != null;
+		}
+
+		String render(Sort sort) {
+			return prefix + QueryRenderer.TokenRenderer.render(transformerSupport.orderBy(alias, sort)) + suffix;
+		}
 	}
 
 	/**
@@ -237,7 +434,7 @@ class JpaQueryEnhancer implements QueryEnhancer {
 	static class HqlQueryParser extends JpaQueryEnhancer {
 
 		private HqlQueryParser(String query) {
-			super(parse(query, HqlLexer::new, HqlParser::new, HqlParser::start), new HqlQueryIntrospector(),
+			super(query, it -> parse(it, HqlLexer::new, HqlParser::new, HqlParser::start), new HqlQueryIntrospector(),
 					HqlSortedQueryTransformer::new, HqlCountQueryTransformer::new);
 		}
 
@@ -265,7 +462,7 @@ class JpaQueryEnhancer implements QueryEnhancer {
 	static class EqlQueryParser extends JpaQueryEnhancer {
 
 		private EqlQueryParser(String query) {
-			super(parse(query, EqlLexer::new, EqlParser::new, EqlParser::start), new EqlQueryIntrospector(),
+			super(query, it -> parse(it, EqlLexer::new, EqlParser::new, EqlParser::start), new EqlQueryIntrospector(),
 					EqlSortedQueryTransformer::new, EqlCountQueryTransformer::new);
 		}
 
@@ -293,7 +490,7 @@ class JpaQueryEnhancer implements QueryEnhancer {
 	static class JpqlQueryParser extends JpaQueryEnhancer {
 
 		private JpqlQueryParser(String query) {
-			super(parse(query, JpqlLexer::new, JpqlParser::new, JpqlParser::start), new JpqlQueryIntrospector(),
+			super(query, it -> parse(it, JpqlLexer::new, JpqlParser::new, JpqlParser::start), new JpqlQueryIntrospector(),
 					JpqlSortedQueryTransformer::new, JpqlCountQueryTransformer::new);
 		}
 
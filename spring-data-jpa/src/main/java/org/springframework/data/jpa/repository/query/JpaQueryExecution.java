@@ -191,7 +191,9 @@ public abstract class JpaQueryExecution {
 
 	/**
 	 * Executes the {@link AbstractStringBasedJpaQuery} to return a {@link org.springframework.data.domain.Page} of
-	 * entities.
+	 * entities. Paged queries using an {@link org.springframework.data.jpa.repository.EntityGraph} with
+	 * {@link org.springframework.data.jpa.repository.EntityGraph#twoPhasePagination() two-phase pagination} select the
+	 * entities of the page first and load the entity graph for these in a second query.
 	 */
 	static class PagedExecution extends JpaQueryExecution {
 
@@ -199,6 +201,21 @@ public abstract class JpaQueryExecution {
 		@SuppressWarnings("unchecked")
 		protected Object doExecute(AbstractJpaQuery repositoryQuery, JpaParametersParameterAccessor accessor) {
 
+			JpaEntityGraph entityGraph = repositoryQuery.getQueryMethod().getEntityGraph();
+
+			if (entityGraph != null && entityGraph.isTwoPhasePagination() && accessor.getPageable().isPaged()) {
+
+				Query identifierQuery = repositoryQuery.createIdentifierQuery(accessor);
+
+				if (identifierQuery != null) {
+
+					List<?> content = repositoryQuery.findAllWithEntityGraph(identifierQuery.getResultList());
+
+					return PageableExecutionUtils.getPage(content, accessor.getPageable(),
+							() -> count(repositoryQuery, accessor));
+				}
+			}
+
 			Query query = repositoryQuery.createQuery(accessor);
 
 			return PageableExecutionUtils.getPage(query.getResultList(), accessor.getPageable(),
@@ -273,6 +290,54 @@ public abstract class JpaQueryExecution {
 		}
 	}
 
+	/**
+	 * {@link JpaQueryExecution} executing a modifying query once per element of the {@link Iterable} argument of a
+	 * {@link JpaQueryMethod#isBatchQuery() batch method} returning the update counts per element.
+	 *
+	 * @author agent
+	 * @since 3.4
+	 */
+	static class BatchModifyingExecution extends JpaQueryExecution {
+
+		private final EntityManager em;
+		private final boolean flush;
+		private final boolean clear;
+
+		BatchModifyingExecution(JpaQueryMethod method, EntityManager em) {
+
+			Assert.notNull(em, "The EntityManager must not be null");
+
+			this.em = em;
+			this.flush = method.getFlushAutomatically();
+			this.clear = method.getClearAutomatically();
+		}
+
+		@Override
+		protected Object doExecute(AbstractJpaQuery query, JpaParametersParameterAccessor accessor) {
+
+			Assert.isInstanceOf(AbstractStringBasedJpaQuery.class, query,
+					() -> "Batch execution requires a string based query; Offending method: " + query.getQueryMethod());
+
+			Iterable<?> arguments = (Iterable<?>) accessor.getBindableValue(0);
+
+			if (arguments == null) {
+				return new int[0];
+			}
+
+			if (flush) {
+				em.flush();
+			}
+
+			int[] result = ((AbstractStringBasedJpaQuery) query).executeBatch(arguments);
+
+			if (clear) {
+				em.clear();
+			}
+
+			return result;
+		}
+	}
+
 	/**
 	 * {@link JpaQueryExecution} removing entities matching the query.
 	 *
@@ -317,7 +382,8 @@ public abstract class JpaQueryExecution {
 	}
 
 	/**
-	 * {@link JpaQueryExecution} executing a stored procedure.
+	 * {@link JpaQueryExecution} executing a stored procedure. {@link JpaQueryMethod#isBatchQuery() Batch methods} call
+	 * the procedure once per element of their argument.
 	 *
 	 * @author Thomas Darimont
 	 * @since 1.6
@@ -338,6 +404,13 @@ public abstract class JpaQueryExecution {
 			Assert.isInstanceOf(StoredProcedureJpaQuery.class, jpaQuery);
 
 			StoredProcedureJpaQuery query = (StoredProcedureJpaQuery) jpaQuery;
+
+			if (query.getQueryMethod().isBatchQuery()) {
+
+				Iterable<?> arguments = (Iterable<?>) accessor.getBindableValue(0);
+				return arguments == null ? new int[0] : query.executeBatch(arguments);
+			}
+
 			StoredProcedureQuery procedure = query.createQuery(accessor);
 
 			try {
@@ -21,6 +21,8 @@ import org.springframework.data.jpa.repository.QueryRewriter;
 import org.springframework.data.repository.query.QueryCreationException;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
 import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
 
@@ -34,7 +36,14 @@ enum JpaQueryFactory {
 
 	INSTANCE;
 
-	private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+	/**
+	 * Parser compiling expressions after their first interpreted evaluation. Falls back to interpretation for expressions
+	 * that cannot be compiled or whose compiled form fails due to changing types. Compiled expressions are defined in a
+	 * class loader derived from the thread context class loader at compilation time, so that types referenced by the
+	 * expressions are resolvable when Spring Data is loaded by a parent class loader.
+	 */
+	private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+			new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
 
 	/**
 	 * Creates a {@link RepositoryQuery} from the given {@link String} query.
@@ -96,6 +96,7 @@ public class JpaQueryMethod extends QueryMethod {
 	private final Lazy<Boolean> isNativeQuery;
 	private final Lazy<Boolean> isCollectionQuery;
 	private final Lazy<Boolean> isProcedureQuery;
+	private final Lazy<Boolean> isBatchQuery;
 	private final Lazy<JpaEntityMetadata<?>> entityMetadata;
 	private final Lazy<Optional<Meta>> metaAnnotation;
 
@@ -138,6 +139,7 @@ public class JpaQueryMethod extends QueryMethod {
 		this.isNativeQuery = Lazy.of(() -> getAnnotationValue("nativeQuery", Boolean.class));
 		this.isCollectionQuery = Lazy.of(() -> super.isCollectionQuery() && !NATIVE_ARRAY_TYPES.contains(this.returnType));
 		this.isProcedureQuery = Lazy.of(() -> AnnotationUtils.findAnnotation(method, Procedure.class) != null);
+		this.isBatchQuery = Lazy.of(() -> isBatchMethod(method));
 		this.entityMetadata = Lazy.of(() -> new DefaultJpaEntityMetadata<>(getDomainClass()));
 		this.metaAnnotation = Lazy
 				.of(() -> Optional.ofNullable(AnnotatedElementUtils.findMergedAnnotation(method, Meta.class)));
@@ -146,6 +148,28 @@ public class JpaQueryMethod extends QueryMethod {
 				() -> String.format("Modifying method must not contain %s", Parameters.TYPES));
 	}
 
+	/**
+	 * Returns whether the given method opted into batch execution through {@link Modifying#batch()} or
+	 * {@link Procedure#batch()} and verifies its signature.
+	 */
+	private boolean isBatchMethod(Method method) {
+
+		Procedure procedure = AnnotatedElementUtils.findMergedAnnotation(method, Procedure.class);
+		Modifying modifying = this.modifying.getNullable();
+
+		if (!(procedure != null && procedure.batch()) && !(modifying != null && modifying.batch())) {
+			return false;
+		}
+
+		Assert.state(int[].class.equals(method.getReturnType())
+				&& getParameters().getBindableParameters().getNumberOfParameters() == 1
+				&& Iterable.class.isAssignableFrom(getParameters().getBindableParameter(0).getType()),
+				() -> "Batch methods must return int[] and declare a single Iterable parameter; Offending method: "
+						+ method);
+
+		return true;
+	}
+
 	private static Class<?> potentiallyUnwrapReturnTypeFor(RepositoryMetadata metadata, Method method) {
 
 		TypeInformation<?> returnType = metadata.getReturnType(method);
@@ -448,6 +472,19 @@ public class JpaQueryMethod extends QueryMethod {
 		return this.isProcedureQuery.get();
 	}
 
+	/**
+	 * Return {@literal true} if the method opted into executing its query once per element of its single
+	 * {@link Iterable} argument returning the update counts as {@code int[]}.
+	 *
+	 * @return
+	 * @since 3.4
+	 * @see Modifying#batch()
+	 * @see Procedure#batch()
+	 */
+	boolean isBatchQuery() {
+		return this.isBatchQuery.get();
+	}
+
 	/**
 	 * Returns a new {@link StoredProcedureAttributes} representing the stored procedure meta-data for this
 	 * {@link JpaQueryMethod}.
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+/**
+ * Warms up the DFA caches of the ANTLR-generated query parsers by parsing and rendering a representative query corpus.
+ * The DFA caches are built lazily and shared across all parser instances of a grammar, so queries parsed after warming
+ * up can use already computed predictions instead of simulating the ATN.
+ * <p>
+ * Registered as Spring bean by the repository infrastructure if {@link QueryEnhancerFactory#WARM_UP_PROPERTY_NAME} is
+ * enabled. The bean warms up the parser of the persistence provider in a background thread once it is initialized and
+ * stops warming up when it is destroyed.
+ *
+ * @author agent
+ * @since 3.4
+ * @see QueryEnhancerFactory#WARM_UP_PROPERTY_NAME
+ * @see org.springframework.data.jpa.repository.config.JpaRepositoryConfigExtension#registerBeansForRoot(org.springframework.beans.factory.support.BeanDefinitionRegistry,
+ *      org.springframework.data.repository.config.RepositoryConfigurationSource)
+ */
+class JpaQueryParserWarmUp implements InitializingBean, DisposableBean {
+
+	private static final Log LOG = LogFactory.getLog(JpaQueryParserWarmUp.class);
+
+	/**
+	 * Queries using syntax that is common to JPQL, HQL and EQL.
+	 */
+	static final List<String> QUERIES = List.of( //
+			"select u from User u", //
+			"select u from User u where u.lastname = :lastname and u.firstname like ?1", //
+			"select distinct u from User u left join fetch u.roles r where r.name in :roles order by u.lastname desc", //
+			"select u.firstname, count(u) from User u group by u.firstname having count(u) > 1", //
+			"select new com.example.UserDto(u.firstname, u.lastname) from User u join u.manager m where m.id = :id", //
+			"select u from User u where u.age between ?1 and ?2 or u.active = true and u.emailAddress is not null", //
+			"select u from User u where exists (select r from Role r where r member of u.roles and r.name <> 'admin')", //
+			"select u from User u where lower(u.lastname) = lower(:name) and u.createdAt < current_timestamp", //
+			"select u from User u where u.id in (select max(m.id) from User m group by m.lastname)", //
+			"select case when u.age > 18 then 'adult' else 'minor' end from User u where u.address.city = :city", //
+			"select count(distinct u.lastname) from User u inner join u.colleagues c where c.active = false", //
+			"select u from User u where upper(concat(u.firstname, ' ', u.lastname)) like :name", //
+			"select u from User u where size(u.roles) >= 2 and u.manager is null order by u.id asc", //
+			"update User u set u.active = :active where u.id = :id", //
+			"delete from User u where u.active = false and u.lastname = ?1");
+
+	private final Function<String, ? extends JpaQueryEnhancer> enhancerFactory;
+
+	private @Nullable Thread thread;
+
+	/**
+	 * Creates a new {@link JpaQueryParserWarmUp} warming up the parser selected by {@link QueryEnhancerFactory}.
+	 */
+	JpaQueryParserWarmUp() {
+		this(QueryEnhancerFactory::forJpaQuery);
+	}
+
+	/**
+	 * Creates a new {@link JpaQueryParserWarmUp} warming up the parser used by the given enhancer factory.
+	 *
+	 * @param enhancerFactory factory creating a {@link JpaQueryEnhancer} for a query.
+	 */
+	JpaQueryParserWarmUp(Function<String, ? extends JpaQueryEnhancer> enhancerFactory) {
+		this.enhancerFactory = enhancerFactory;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+
+		Thread thread = new Thread(() -> warmUp(enhancerFactory), "spring-data-jpa-query-parser-warm-up");
+		thread.setDaemon(true);
+		thread.start();
+
+		this.thread = thread;
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+
+		Thread thread = this.thread;
+
+		if (thread != null) {
+
+			thread.interrupt();
+			thread.join();
+
+			this.thread = null;
+		}
+	}
+
+	/**
+	 * Parses and renders {@link #QUERIES} using the given enhancer factory. Warming up stops once the current thread is
+	 * interrupted. Queries that cannot be parsed are skipped.
+	 *
+	 * @param enhancerFactory factory creating a {@link JpaQueryEnhancer} for a query.
+	 */
+	static void warmUp(Function<String, ? extends JpaQueryEnhancer> enhancerFactory) {
+
+		Sort sort = Sort.by("lastname").and(Sort.by(Sort.Direction.DESC, "firstname"));
+
+		for (String query : QUERIES) {
+
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+
+			try {
+
+				JpaQueryEnhancer enhancer = enhancerFactory.apply(query);
+				enhancer.applySorting(sort);
+				enhancer.createCountQueryFor();
+			} catch (RuntimeException e) {
+				LOG.warn(String.format("Cannot warm up query parser using [%s]", query), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import jakarta.persistence.Tuple;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Extracts keysets for {@link org.springframework.data.domain.KeysetScrollPosition}s from entities. The property paths
+ * making up the keyset are determined once for a {@link Sort} and property accessors are resolved once per entity type
+ * and property path instead of introspecting each entity through a {@link org.springframework.beans.BeanWrapper}.
+ * {@link Tuple} results are delegated to {@link JpaEntityInformation#getKeyset(Iterable, Object)}.
+ *
+ * @author agent
+ * @since 3.4
+ */
+class KeysetExtractor<T> {
+
+	private static final Map<AccessorKey, PropertyPathAccessor> ACCESSORS = new ConcurrentReferenceHashMap<>();
+
+	private final JpaEntityInformation<T, ?> entity;
+	private final List<String> sortProperties;
+	private final @Nullable String idAttributeName;
+	private final String[] propertyPaths;
+
+	KeysetExtractor(JpaEntityInformation<T, ?> entity, Sort sort) {
+
+		this.entity = entity;
+		this.sortProperties = sort.stream().map(Order::getProperty).toList();
+
+		Set<String> propertyPaths = new LinkedHashSet<>();
+
+		if (entity.hasCompositeId()) {
+			this.idAttributeName = null;
+			propertyPaths.addAll(entity.getIdAttributeNames());
+		} else {
+			this.idAttributeName = entity.getRequiredIdAttribute().getName();
+		}
+
+		propertyPaths.addAll(sortProperties);
+
+		if (idAttributeName != null) {
+			propertyPaths.remove(idAttributeName);
+		}
+
+		this.propertyPaths = propertyPaths.toArray(new String[0]);
+	}
+
+	/**
+	 * Extracts the keyset from the given {@code object} consisting of the identifier and the sort properties.
+	 *
+	 * @param object must not be {@literal null}.
+	 * @return the keyset.
+	 */
+	Map<String, Object> getKeyset(T object) {
+
+		if (object instanceof Tuple) {
+			return entity.getKeyset(sortProperties, object);
+		}
+
+		Class<?> type = object.getClass();
+		Map<String, Object> keyset = new LinkedHashMap<>(propertyPaths.length + 2, 1);
+
+		if (idAttributeName != null) {
+			keyset.put(idAttributeName, entity.getId(object));
+		}
+
+		for (String propertyPath : propertyPaths) {
+			keyset.put(propertyPath, getAccessor(type, propertyPath).getValue(object));
+		}
+
+		return keyset;
+	}
+
+	private static PropertyPathAccessor getAccessor(Class<?> type, String propertyPath) {
+		return ACCESSORS.computeIfAbsent(new AccessorKey(type, propertyPath),
+				key -> PropertyPathAccessor.of(key.type(), key.propertyPath()));
+	}
+
+	private record AccessorKey(Class<?> type, String propertyPath) {
+	}
+
+	/**
+	 * Accessor for a dot-separated property path preferring getters and falling back to field access.
+	 */
+	static class PropertyPathAccessor {
+
+		private final Member[] members;
+
+		private PropertyPathAccessor(Member[] members) {
+			this.members = members;
+		}
+
+		static PropertyPathAccessor of(Class<?> type, String propertyPath) {
+
+			List<Member> members = new ArrayList<>();
+			Class<?> current = type;
+
+			for (String segment : StringUtils.delimitedListToStringArray(propertyPath, ".")) {
+
+				PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(current, segment);
+
+				if (descriptor != null && descriptor.getReadMethod() != null) {
+
+					Method method = descriptor.getReadMethod();
+					ReflectionUtils.makeAccessible(method);
+					members.add(method);
+					current = method.getReturnType();
+					continue;
+				}
+
+				Field field = ReflectionUtils.findField(current, segment);
+
+				if (field == null) {
+					throw new IllegalArgumentException(
+							String.format("No property '%s' found on %s for path '%s'", segment, current.getName(), propertyPath));
+				}
+
+				ReflectionUtils.makeAccessible(field);
+				members.add(field);
+				current = field.getType();
+			}
+
+			return new PropertyPathAccessor(members.toArray(new Member[0]));
+		}
+
+		@Nullable
+		Object getValue(Object object) {
+
+			Object current = object;
+
+			for (Member member : members) {
+
+				if (current == null) {
+					return null;
+				}
+
+				current = member instanceof Method method //
+						? ReflectionUtils.invokeMethod(method, current) //
+						: ReflectionUtils.getField((Field) member, current);
+			}
+
+			return current;
+		}
+	}
+}
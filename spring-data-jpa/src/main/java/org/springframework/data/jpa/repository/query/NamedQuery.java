@@ -22,7 +22,14 @@ import jakarta.persistence.TypedQuery;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.provider.QueryExtractor;
+import org.springframework.data.jpa.repository.query.JpaQueryExecution.ScrollExecution;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.QueryCreationException;
 import org.springframework.data.repository.query.RepositoryQuery;
@@ -32,7 +39,8 @@ import org.springframework.data.util.Lazy;
 import org.springframework.lang.Nullable;
 
 /**
- * Implementation of {@link RepositoryQuery} based on {@link jakarta.persistence.NamedQuery}s.
+ * Implementation of {@link RepositoryQuery} based on {@link jakarta.persistence.NamedQuery}s. Scroll queries are
+ * supported using {@link OffsetScrollPosition offset scrolling}.
  *
  * @author Oliver Gierke
  * @author Thomas Darimont
@@ -53,6 +61,7 @@ final class NamedQuery extends AbstractJpaQuery {
 	private final boolean namedCountQueryIsPresent;
 	private final Lazy<DeclaredQuery> declaredQuery;
 	private final QueryParameterSetter.QueryMetadataCache metadataCache;
+	private final Lazy<JpaEntityInformation<?, ?>> entityInformation;
 
 	/**
 	 * Creates a new {@link NamedQuery}.
@@ -94,6 +103,8 @@ final class NamedQuery extends AbstractJpaQuery {
 		// TODO: Detect whether a named query is a native one.
 		this.declaredQuery = Lazy.of(() -> DeclaredQuery.of(queryString, query.toString().contains("NativeQuery")));
 		this.metadataCache = new QueryParameterSetter.QueryMetadataCache();
+		this.entityInformation = Lazy.of(
+				() -> JpaEntityInformationSupport.getEntityInformation(method.getEntityInformation().getJavaType(), em));
 	}
 
 	/**
@@ -140,10 +151,6 @@ final class NamedQuery extends AbstractJpaQuery {
 			return null;
 		}
 
-		if (method.isScrollQuery()) {
-			throw QueryCreationException.create(method, "Scroll queries are not supported using String-based queries");
-		}
-
 		RepositoryQuery query = new NamedQuery(method, em);
 		if (LOG.isDebugEnabled()) {
 			LOG.debug(String.format("Found named query %s", queryName));
@@ -166,8 +173,33 @@ final class NamedQuery extends AbstractJpaQuery {
 				: em.createNamedQuery(queryName, typeToRead);
 
 		QueryParameterSetter.QueryMetadata metadata = metadataCache.getMetadata(queryName, query);
+		Query bound = parameterBinder.get().bindAndPrepare(query, metadata, accessor);
+
+		if (queryMethod.isScrollQuery() && accessor.getParameters().hasScrollPositionParameter()) {
+
+			ScrollPosition scrollPosition = accessor.getScrollPosition();
+
+			if (scrollPosition instanceof KeysetScrollPosition) {
+				throw new UnsupportedOperationException(String.format(
+						"Keyset scrolling is not supported for named query %s; Use OffsetScrollPosition instead", queryName));
+			}
+
+			if (scrollPosition instanceof OffsetScrollPosition offset && !offset.isInitial()) {
+				bound.setFirstResult(Math.toIntExact(offset.getOffset()) + 1);
+			}
+		}
+
+		return bound;
+	}
+
+	@Override
+	protected JpaQueryExecution getExecution() {
+
+		if (getQueryMethod().isScrollQuery()) {
+			return new ScrollExecution(Sort.unsorted(), new ScrollDelegate<>(entityInformation.get()));
+		}
 
-		return parameterBinder.get().bindAndPrepare(query, metadata, accessor);
+		return super.getExecution();
 	}
 
 	@Override
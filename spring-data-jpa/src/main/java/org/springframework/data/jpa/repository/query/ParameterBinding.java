@@ -183,9 +183,12 @@ class ParameterBinding {
 
 	/**
 	 * Represents a {@link ParameterBinding} in a JPQL query augmented with instructions of how to apply a parameter as an
-	 * {@code IN} parameter.
+	 * {@code IN} parameter. Collection values are padded to the next power of two if
+	 * {@link QueryUtils#IN_CLAUSE_PADDING_PROPERTY_NAME padding} is enabled. Collection values are not split into chunks,
+	 * so their size is subject to the {@code IN} list limit of the database.
 	 *
 	 * @author Thomas Darimont
+	 * @see QueryUtils#potentiallyPadInClauseValues(java.util.Collection)
 	 */
 	static class InParameterBinding extends ParameterBinding {
 
@@ -199,6 +202,10 @@ class ParameterBinding {
 		@Override
 		public Object prepare(@Nullable Object value) {
 
+			if (value instanceof Collection<?> collection) {
+				return QueryUtils.potentiallyPadInClauseValues(collection);
+			}
+
 			if (!ObjectUtils.isArray(value)) {
 				return value;
 			}
@@ -210,7 +217,7 @@ class ParameterBinding {
 				result.add(Array.get(value, i));
 			}
 
-			return result;
+			return QueryUtils.potentiallyPadInClauseValues(result);
 		}
 	}
 
@@ -257,9 +257,13 @@ class ParameterMetadataProvider {
 				}
 			}
 
-			return Collection.class.isAssignableFrom(expression.getJavaType()) //
-					? upperIfIgnoreCase(ignoreCase, toCollection(value)) //
-					: value;
+			if (!Collection.class.isAssignableFrom(expression.getJavaType())) {
+				return value;
+			}
+
+			Collection<?> collection = upperIfIgnoreCase(ignoreCase, toCollection(value));
+
+			return collection == null ? null : QueryUtils.potentiallyPadInClauseValues(collection);
 		}
 
 		/**
@@ -16,11 +16,13 @@
 package org.springframework.data.jpa.repository.query;
 
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceUnitUtil;
 import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
 
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
@@ -34,12 +36,14 @@ import org.springframework.data.jpa.repository.query.JpaQueryExecution.DeleteExe
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.ExistsExecution;
 import org.springframework.data.jpa.repository.query.JpaQueryExecution.ScrollExecution;
 import org.springframework.data.jpa.repository.query.ParameterMetadataProvider.ParameterMetadata;
-import org.springframework.data.jpa.repository.support.JpaMetamodelEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
 import org.springframework.data.repository.query.ResultProcessor;
 import org.springframework.data.repository.query.ReturnedType;
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.Part.Type;
 import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.util.Lazy;
 import org.springframework.data.util.Streamable;
 import org.springframework.lang.Nullable;
 
@@ -60,9 +64,10 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 
 	private final QueryPreparer query;
 	private final QueryPreparer countQuery;
+	private final Lazy<QueryPreparer> identifierQuery;
 	private final EntityManager em;
 	private final EscapeCharacter escape;
-	private final JpaMetamodelEntityInformation<?, Object> entityInformation;
+	private final JpaEntityInformation<?, ?> entityInformation;
 
 	/**
 	 * Creates a new {@link PartTreeJpaQuery}.
@@ -90,8 +95,7 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		this.parameters = method.getParameters();
 
 		Class<?> domainClass = method.getEntityInformation().getJavaType();
-		PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
-		this.entityInformation = new JpaMetamodelEntityInformation<>(domainClass, em.getMetamodel(), persistenceUnitUtil);
+		this.entityInformation = JpaEntityInformationSupport.getEntityInformation(domainClass, em);
 
 		boolean recreationRequired = parameters.hasDynamicProjection() || parameters.potentiallySortsDynamically()
 				|| method.isScrollQuery();
@@ -102,6 +106,7 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 			validate(tree, parameters, method.toString());
 			this.countQuery = new CountQueryPreparer(recreationRequired);
 			this.query = tree.isCountProjection() ? countQuery : new QueryPreparer(recreationRequired);
+			this.identifierQuery = Lazy.of(() -> new IdentifierQueryPreparer(recreationRequired));
 
 		} catch (Exception o_O) {
 			throw new IllegalArgumentException(
@@ -120,6 +125,12 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		return (TypedQuery<Long>) countQuery.createQuery(accessor);
 	}
 
+	@Override
+	@Nullable
+	protected Query doCreateIdentifierQuery(JpaParametersParameterAccessor accessor, String idAttributeName) {
+		return tree.isDistinct() || tree.isCountProjection() ? null : identifierQuery.get().createQuery(accessor);
+	}
+
 	@Override
 	protected JpaQueryExecution getExecution() {
 
@@ -358,6 +369,69 @@ public class PartTreeJpaQuery extends AbstractJpaQuery {
 		}
 	}
 
+	/**
+	 * Special {@link QueryPreparer} to create queries selecting the identifiers of the entities the regular query would
+	 * return. Used for the first phase of two-phase pagination.
+	 *
+	 * @author agent
+	 * @since 3.4
+	 */
+	private class IdentifierQueryPreparer extends QueryPreparer {
+
+		IdentifierQueryPreparer(boolean recreateQueries) {
+			super(recreateQueries);
+		}
+
+		@Override
+		protected JpaQueryCreator createCreator(@Nullable JpaParametersParameterAccessor accessor) {
+
+			EntityManager entityManager = getEntityManager();
+			CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+			ParameterMetadataProvider provider;
+
+			if (accessor != null) {
+				provider = new ParameterMetadataProvider(builder, accessor, escape);
+			} else {
+				provider = new ParameterMetadataProvider(builder, parameters, escape);
+			}
+
+			return new IdentifierQueryCreator(tree, getQueryMethod().getResultProcessor().getReturnedType(), builder,
+					provider);
+		}
+	}
+
+	/**
+	 * Special {@link JpaQueryCreator} that selects the identifier of the root entity.
+	 *
+	 * @author agent
+	 * @since 3.4
+	 */
+	private static class IdentifierQueryCreator extends JpaQueryCreator {
+
+		IdentifierQueryCreator(PartTree tree, ReturnedType type, CriteriaBuilder builder,
+				ParameterMetadataProvider provider) {
+			super(tree, type, builder, provider);
+		}
+
+		@Override
+		protected CriteriaQuery<? extends Object> createCriteriaQuery(CriteriaBuilder builder, ReturnedType type) {
+			return builder.createQuery(Object.class);
+		}
+
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		protected CriteriaQuery<? extends Object> complete(@Nullable Predicate predicate, Sort sort,
+				CriteriaQuery<? extends Object> query, CriteriaBuilder builder, Root<?> root) {
+
+			SingularAttribute<?, ?> id = root.getModel().getId(root.getModel().getIdType().getJavaType());
+			CriteriaQuery<? extends Object> select = ((CriteriaQuery) query).select(root.get((SingularAttribute) id))
+					.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+			return predicate == null ? select : select.where(predicate);
+		}
+	}
+
 	/**
 	 * Special {@link QueryPreparer} to create count queries.
 	 *
@@ -57,4 +57,12 @@ public @interface Procedure {
 	 * Whether the procedure returns a Ref Cursor from the database - defaults to {@code false}.
 	 */
 	boolean refCursor() default false;
+
+	/**
+	 * Whether to call the procedure once for each element of the single {@link Iterable} argument of the method -
+	 * defaults to {@code false}. Batch methods must return {@code int[]} containing the update count per call.
+	 *
+	 * @since 3.4
+	 */
+	boolean batch() default false;
 }
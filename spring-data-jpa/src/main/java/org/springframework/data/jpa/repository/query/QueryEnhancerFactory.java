@@ -30,6 +30,16 @@ import org.springframework.util.ClassUtils;
  */
 public final class QueryEnhancerFactory {
 
+	/**
+	 * System property that instructs Spring Data JPA to warm up the JPA query parser in a background thread when the
+	 * repository infrastructure is initialized: {@code "spring.data.jpa.query.parser.warm-up"}. Warming up parses a
+	 * representative query corpus so that the parser caches are populated before repository queries are parsed. The
+	 * default is {@literal false}.
+	 *
+	 * @since 3.4
+	 */
+	public static final String WARM_UP_PROPERTY_NAME = "spring.data.jpa.query.parser.warm-up";
+
 	private static final Log LOG = LogFactory.getLog(QueryEnhancerFactory.class);
 
 	private static final boolean jSqlParserPresent = ClassUtils.isPresent("net.sf.jsqlparser.parser.JSqlParser",
@@ -73,12 +83,17 @@ public final class QueryEnhancerFactory {
 			return new DefaultQueryEnhancer(query);
 		}
 
+		return forJpaQuery(query.getQueryString());
+	}
+
+	static JpaQueryEnhancer forJpaQuery(String query) {
+
 		if (PersistenceProvider.HIBERNATE.isPresent()) {
-			return JpaQueryEnhancer.forHql(query);
+			return JpaQueryEnhancer.HqlQueryParser.parseQuery(query);
 		} else if (PersistenceProvider.ECLIPSELINK.isPresent()) {
-			return JpaQueryEnhancer.forEql(query);
+			return JpaQueryEnhancer.EqlQueryParser.parseQuery(query);
 		} else {
-			return JpaQueryEnhancer.forJpql(query);
+			return JpaQueryEnhancer.JpqlQueryParser.parseQuery(query);
 		}
 	}
 
@@ -30,6 +30,7 @@ import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
 import org.springframework.data.spel.EvaluationContextProvider;
+import org.springframework.data.spel.ExpressionDependencies;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
@@ -191,21 +192,27 @@ abstract class QueryParameterSetterFactory {
 			}
 
 			Expression expression = parser.parseExpression(e.expression());
+			ExpressionDependencies dependencies = ExpressionDependencies.discover(expression);
 
-			return createSetter(values -> evaluateExpression(expression, values), binding, null);
+			return createSetter(values -> evaluateExpression(expression, dependencies, values), binding, null);
 		}
 
 		/**
-		 * Evaluates the given {@link Expression} against the given values.
+		 * Evaluates the given {@link Expression} against the given values. The {@link EvaluationContext} is set up with the
+		 * {@link ExpressionDependencies} discovered at query creation so that only extensions referenced by the expression
+		 * are initialized.
 		 *
 		 * @param expression must not be {@literal null}.
+		 * @param dependencies must not be {@literal null}.
 		 * @param accessor must not be {@literal null}.
 		 * @return the result of the evaluation.
 		 */
 		@Nullable
-		private Object evaluateExpression(Expression expression, JpaParametersParameterAccessor accessor) {
+		private Object evaluateExpression(Expression expression, ExpressionDependencies dependencies,
+				JpaParametersParameterAccessor accessor) {
 
-			EvaluationContext context = evaluationContextProvider.getEvaluationContext(parameters, accessor.getValues());
+			EvaluationContext context = evaluationContextProvider.getEvaluationContext(parameters, accessor.getValues(),
+					dependencies);
 
 			return expression.getValue(context, Object.class);
 		}
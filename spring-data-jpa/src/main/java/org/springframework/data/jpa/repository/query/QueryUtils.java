@@ -41,6 +41,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Member;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -54,6 +55,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Sort;
@@ -100,6 +102,31 @@ public abstract class QueryUtils {
 	public static final String COUNT_QUERY_STRING = "select count(%s) from %s x";
 	public static final String DELETE_ALL_QUERY_STRING = "delete from %s x";
 	public static final String DELETE_ALL_QUERY_BY_ID_STRING = "delete from %s x where %s in :ids";
+	public static final String READ_ALL_QUERY_BY_ID_STRING = "select x from %s x where x.%s in :ids";
+
+	/**
+	 * Maximum number of values bound to a single {@code IN} clause by operations that split large collections into
+	 * multiple queries, such as {@code findAllById}. The size stays below the {@code IN} list limit of common databases
+	 * (e.g. 1000 for Oracle) and {@link #padInClauseValues(Collection) padding} never exceeds it. Collections bound to
+	 * {@code IN} parameters of declared or derived query methods are not split into chunks.
+	 *
+	 * @since 3.4
+	 * @see #padInClauseValues(Collection)
+	 */
+	public static final int IN_CLAUSE_CHUNK_SIZE = 512;
+
+	/**
+	 * System property that enables padding of collections bound to {@code IN} parameters:
+	 * {@code "spring.data.jpa.query.in-clause-padding"}. The default is {@literal false}. Hibernate users should prefer
+	 * {@code hibernate.query.in_clause_parameter_padding} as Hibernate pads the rendered SQL without binding
+	 * additional values.
+	 *
+	 * @since 3.4
+	 * @see #potentiallyPadInClauseValues(Collection)
+	 */
+	public static final String IN_CLAUSE_PADDING_PROPERTY_NAME = "spring.data.jpa.query.in-clause-padding";
+
+	private static final boolean IN_CLAUSE_PADDING = SpringProperties.getFlag(IN_CLAUSE_PADDING_PROPERTY_NAME);
 
 	// Used Regex/Unicode categories (see https://www.unicode.org/reports/tr18/#General_Category_Property):
 	// Z Separator
@@ -280,18 +307,39 @@ public abstract class QueryUtils {
 			return query;
 		}
 
+		Set<String> selectionAliases = getFunctionAliases(query);
+		selectionAliases.addAll(getFieldAliases(query));
+
+		return applySorting(query, sort, alias, hasOrderByClause(query), getOuterJoinAliases(query), selectionAliases);
+	}
+
+	/**
+	 * Adds {@literal order by} clause to the query using the given query structure.
+	 *
+	 * @param query the query string to which sorting is applied. Must not be {@literal null} or empty.
+	 * @param sort the sort specification to apply.
+	 * @param alias the alias to be used in the order by clause. May be {@literal null} or empty.
+	 * @param hasOrderByClause whether the query already has an {@literal order by} clause.
+	 * @param joinAliases the join aliases of the query.
+	 * @param selectionAliases the aliases declared in the selection of the query.
+	 * @return the modified query string.
+	 * @since 3.4
+	 */
+	static String applySorting(String query, Sort sort, @Nullable String alias, boolean hasOrderByClause,
+			Set<String> joinAliases, Set<String> selectionAliases) {
+
+		if (sort.isUnsorted()) {
+			return query;
+		}
+
 		StringBuilder builder = new StringBuilder(query);
 
-		if (hasOrderByClause(query)) {
+		if (hasOrderByClause) {
 			builder.append(", ");
 		} else {
 			builder.append(" order by ");
 		}
 
-		Set<String> joinAliases = getOuterJoinAliases(query);
-		Set<String> selectionAliases = getFunctionAliases(query);
-		selectionAliases.addAll(getFieldAliases(query));
-
 		for (Order order : sort) {
 			builder.append(getOrderClause(joinAliases, selectionAliases, alias, order)).append(", ");
 		}
@@ -539,13 +587,40 @@ public abstract class QueryUtils {
 		Assert.notNull(entities, "Iterable of entities must not be null");
 		Assert.notNull(entityManager, "EntityManager must not be null");
 
+		if (!entities.iterator().hasNext()) {
+			return entityManager.createQuery(queryString);
+		}
+
+		return applyAndBind(queryString, detectAlias(queryString), entities, entityManager);
+	}
+
+	/**
+	 * Creates a where-clause referencing the given entities by the given {@code alias} and appends it to the given query
+	 * string. Binds the given entities to the query. Callers that know the alias of their query avoid detecting the alias
+	 * from the query string.
+	 *
+	 * @param <T> type of the entities.
+	 * @param queryString must not be {@literal null}.
+	 * @param alias the alias of the entity to reference, must not be {@literal null}.
+	 * @param entities must not be {@literal null}.
+	 * @param entityManager must not be {@literal null}.
+	 * @return Guaranteed to be not {@literal null}.
+	 * @since 3.4
+	 */
+	public static <T> Query applyAndBind(String queryString, String alias, Iterable<T> entities,
+			EntityManager entityManager) {
+
+		Assert.notNull(queryString, "Querystring must not be null");
+		Assert.notNull(alias, "Alias must not be null");
+		Assert.notNull(entities, "Iterable of entities must not be null");
+		Assert.notNull(entityManager, "EntityManager must not be null");
+
 		Iterator<T> iterator = entities.iterator();
 
 		if (!iterator.hasNext()) {
 			return entityManager.createQuery(queryString);
 		}
 
-		String alias = detectAlias(queryString);
 		StringBuilder builder = new StringBuilder(queryString);
 		builder.append(" where");
 
@@ -555,7 +630,7 @@ public abstract class QueryUtils {
 
 			iterator.next();
 
-			builder.append(String.format(" %s = ?%d", alias, ++i));
+			builder.append(' ').append(alias).append(" = ?").append(++i);
 
 			if (iterator.hasNext()) {
 				builder.append(" or");
@@ -672,6 +747,52 @@ public abstract class QueryUtils {
 		return false;
 	}
 
+	/**
+	 * Pads the given {@code IN} clause values if padding is enabled through the
+	 * {@link #IN_CLAUSE_PADDING_PROPERTY_NAME} system property.
+	 *
+	 * @param values must not be {@literal null}.
+	 * @return the padded values or {@code values} if padding is disabled or not required.
+	 * @since 3.4
+	 * @see #padInClauseValues(Collection)
+	 */
+	public static <T> Collection<T> potentiallyPadInClauseValues(Collection<T> values) {
+		return IN_CLAUSE_PADDING ? padInClauseValues(values) : values;
+	}
+
+	/**
+	 * Pads the given {@code IN} clause values to the next power of two by repeating the last value. Padding does not
+	 * change the outcome of {@code IN} and {@code NOT IN} predicates but limits the number of distinct SQL statements
+	 * rendered for varying collection sizes and so improves JDBC statement and query plan cache hit rates. Collections
+	 * are never padded beyond {@link #IN_CLAUSE_CHUNK_SIZE} values.
+	 *
+	 * @param values must not be {@literal null}.
+	 * @return the padded values or {@code values} if no padding is required.
+	 * @since 3.4
+	 */
+	public static <T> Collection<T> padInClauseValues(Collection<T> values) {
+
+		Assert.notNull(values, "Values must not be null");
+
+		int size = values.size();
+
+		if (size < 3 || size > IN_CLAUSE_CHUNK_SIZE || Integer.bitCount(size) == 1) {
+			return values;
+		}
+
+		int paddedSize = Integer.highestOneBit(size) << 1;
+		List<T> result = new ArrayList<>(paddedSize);
+		result.addAll(values);
+
+		T last = result.get(size - 1);
+
+		while (result.size() < paddedSize) {
+			result.add(last);
+		}
+
+		return result;
+	}
+
 	/**
 	 * Returns whether the given query contains named parameters.
 	 *
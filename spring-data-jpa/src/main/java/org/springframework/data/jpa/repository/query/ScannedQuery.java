@@ -0,0 +1,511 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Structure of a query obtained by tokenizing the query in a single pass. Tokenizing skips string literals and comments,
+ * treats quoted identifiers as words and tracks parentheses so that subqueries do not contribute to the structure of the
+ * outer query. The structure captures the primary alias, projection, join and selection aliases, constructor
+ * expressions and the positions of the top-level {@literal FROM} and {@literal ORDER BY} clauses.
+ * <p>
+ * This is a lightweight alternative to the regular expressions used by {@link QueryUtils} and not a SQL parser.
+ *
+ * @author agent
+ * @since 3.4
+ * @see DefaultQueryEnhancer
+ */
+class ScannedQuery {
+
+	private static final Set<String> RESERVED_WORDS = Set.of("where", "group", "order", "having", "left", "right",
+			"inner", "outer", "full", "cross", "natural", "join", "on", "using", "union", "intersect", "except", "limit",
+			"offset", "fetch", "for", "window", "set", "values", "returning");
+
+	private static final int WORD = 0;
+	private static final int LITERAL = 1;
+	private static final int OPEN = 2;
+	private static final int CLOSE = 3;
+	private static final int SYMBOL = 4;
+
+	private static final int NONE = 0;
+	private static final int EXPECT_ENTITY = 1;
+	private static final int IN_ENTITY = 2;
+	private static final int EXPECT_ALIAS = 3;
+	private static final int AFTER_AS = 4;
+
+	private final String query;
+	private final Set<String> joinAliases = new HashSet<>();
+	private final Set<String> selectionAliases = new HashSet<>();
+
+	private int baseDepth;
+	private int firstTokenStart = -1;
+	private int selectStart = -1;
+	private int distinctStart = -1;
+	private int projectionStart = -1;
+	private int projectionEnd = -1;
+	private int fromStart = -1;
+	private int orderByStart = -1;
+	private @Nullable String alias;
+	private @Nullable String entityName;
+	private boolean constructorExpression;
+	private boolean fetchJoin;
+
+	// state of the single pass
+	private int fromState = NONE;
+	private int fromEntityDepth;
+	private @Nullable String fromEntity;
+	private int joinState = NONE;
+	private boolean previousWord;
+	private boolean previousParameterPrefix;
+	private int previousStart;
+	private int previousEnd;
+	private int previousDepth;
+	private boolean beforePreviousWord;
+	private int beforePreviousStart;
+	private int beforePreviousEnd;
+
+	private ScannedQuery(String query) {
+		this.query = query;
+	}
+
+	/**
+	 * Scan the given {@code query}.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @return the scanned query structure.
+	 */
+	static ScannedQuery scan(String query) {
+
+		ScannedQuery scanned = new ScannedQuery(query);
+		scanned.tokenize();
+		return scanned;
+	}
+
+	/**
+	 * @return the alias of the entity or table of the last top-level {@literal FROM} clause, {@literal null} if none.
+	 */
+	@Nullable
+	String getAlias() {
+		return alias;
+	}
+
+	/**
+	 * @return the entity or table name declaring {@link #getAlias() the alias}, {@literal null} if the alias is declared
+	 *         for a subquery or there is no alias.
+	 */
+	@Nullable
+	String getEntityName() {
+		return entityName;
+	}
+
+	/**
+	 * @return the projection between {@literal SELECT [DISTINCT]} and the top-level {@literal FROM}, empty if none.
+	 */
+	String getProjection() {
+		return projectionStart == -1 || projectionEnd == -1 ? "" : query.substring(projectionStart, projectionEnd).trim();
+	}
+
+	/**
+	 * @return aliases declared by {@literal JOIN} clauses.
+	 */
+	Set<String> getJoinAliases() {
+		return joinAliases;
+	}
+
+	/**
+	 * @return aliases declared using {@literal AS}, e.g. for function calls or fields.
+	 */
+	Set<String> getSelectionAliases() {
+		return selectionAliases;
+	}
+
+	boolean hasConstructorExpression() {
+		return constructorExpression;
+	}
+
+	/**
+	 * @return whether the query uses {@literal SELECT DISTINCT}.
+	 */
+	boolean isDistinct() {
+		return distinctStart != -1;
+	}
+
+	/**
+	 * @return whether the query contains a {@literal JOIN FETCH}.
+	 */
+	boolean hasFetchJoin() {
+		return fetchJoin;
+	}
+
+	/**
+	 * @return whether the query has a top-level {@literal ORDER BY} clause.
+	 */
+	boolean hasOrderByClause() {
+		return orderByStart != -1;
+	}
+
+	/**
+	 * Create a count query by replacing the projection of the top-level {@literal SELECT} clause and removing the
+	 * top-level {@literal ORDER BY} clause.
+	 *
+	 * @param countProjection may be {@literal null}.
+	 * @param nativeQuery whether the query is a native query.
+	 * @return the count query or {@literal null} if the query does not start with a {@literal SELECT} or
+	 *         {@literal FROM} clause whose structure could be determined.
+	 */
+	@Nullable
+	String createCountQuery(@Nullable String countProjection, boolean nativeQuery) {
+
+		boolean hasSelect = selectStart != -1;
+
+		if (baseDepth != 0 || fromStart == -1 || firstTokenStart != (hasSelect ? selectStart : fromStart)) {
+			return null;
+		}
+
+		String replacement = countProjection != null ? countProjection : getCountProjection(hasSelect, nativeQuery);
+
+		if (replacement == null) {
+			return null;
+		}
+
+		String fromClause = orderByStart == -1 ? query.substring(fromStart)
+				: query.substring(fromStart, orderByStart).stripTrailing();
+
+		return "select count(" + replacement + ") " + fromClause;
+	}
+
+	/**
+	 * Create a query by replacing the projection of the top-level {@literal SELECT} clause with {@code projection}.
+	 *
+	 * @param projection must not be {@literal null}.
+	 * @return the query using {@code projection} or {@literal null} if the query does not start with a {@literal SELECT}
+	 *         clause followed by a top-level {@literal FROM} clause.
+	 */
+	@Nullable
+	String replaceProjection(String projection) {
+
+		if (baseDepth != 0 || selectStart == -1 || firstTokenStart != selectStart || projectionEnd == -1) {
+			return null;
+		}
+
+		return query.substring(0, projectionStart) + " " + projection + " " + query.substring(projectionEnd);
+	}
+
+	@Nullable
+	private String getCountProjection(boolean hasSelect, boolean nativeQuery) {
+
+		String projection = getProjection();
+		boolean distinct = distinctStart != -1;
+		boolean star = !distinct && "*".equals(projection);
+
+		if (hasSelect && nativeQuery && (star || projection.contains(","))) {
+			return "1";
+		}
+
+		if (hasSelect && StringUtils.hasText(projection) && !star && !constructorExpression
+				&& !projection.regionMatches(true, 0, "count(", 0, 6) && !projection.contains(",")) {
+			return query.substring(distinct ? distinctStart : projectionStart, projectionEnd).trim();
+		}
+
+		if (alias == null) {
+			return null;
+		}
+
+		return distinct ? query.substring(distinctStart, distinctStart + 8) + " " + alias : alias;
+	}
+
+	private void tokenize() {
+
+		int length = query.length();
+		int depth = 0;
+		boolean leading = true;
+
+		for (int i = 0; i < length; i++) {
+
+			char c = query.charAt(i);
+			char next = i + 1 < length ? query.charAt(i + 1) : 0;
+
+			if (Character.isWhitespace(c)) {
+				continue;
+			}
+
+			if (c == '-' && next == '-') {
+				i = skipTo(query.indexOf('\n', i), length);
+				continue;
+			}
+
+			if (c == '/' && next == '*') {
+				int end = query.indexOf("*/", i + 2);
+				i = end == -1 ? length : end + 1;
+				continue;
+			}
+
+			if (leading && c == '(') {
+				baseDepth++;
+			} else {
+				leading = false;
+			}
+
+			int end;
+			int type;
+			int tokenDepth = depth;
+
+			if (c == '\'') {
+				end = skipLiteral(i, length);
+				type = LITERAL;
+			} else if (c == '(') {
+				end = i;
+				type = OPEN;
+				depth++;
+			} else if (c == ')') {
+				end = i;
+				type = CLOSE;
+				tokenDepth = --depth;
+			} else if (isWordCharacter(c) || isIdentifierQuote(c)) {
+				end = skipWord(i, length);
+				type = WORD;
+			} else {
+				end = i;
+				type = SYMBOL;
+			}
+
+			if (firstTokenStart == -1 && type != OPEN) {
+				firstTokenStart = i;
+			}
+
+			accept(type, i, end + 1, tokenDepth);
+			i = end;
+		}
+	}
+
+	/**
+	 * Process a token. {@code start} is inclusive, {@code end} exclusive.
+	 */
+	private void accept(int type, int start, int end, int depth) {
+
+		// named parameters are no keywords
+		boolean word = type == WORD && !previousParameterPrefix;
+		boolean base = depth == baseDepth;
+
+		if (word && base && selectStart == -1 && fromStart == -1 && is(start, end, "select")) {
+			selectStart = start;
+			projectionStart = end;
+		} else if (word && base && previousWord && previousStart == selectStart && is(start, end, "distinct")) {
+			distinctStart = start;
+			projectionStart = end;
+		}
+
+		if (word && base && orderByStart == -1 && previousWord && previousDepth == baseDepth
+				&& is(previousStart, previousEnd, "order") && is(start, end, "by")) {
+			orderByStart = previousStart;
+		}
+
+		if (type == OPEN && selectStart != -1 && previousWord && beforePreviousWord
+				&& is(beforePreviousStart, beforePreviousEnd, "new")) {
+			constructorExpression = true;
+		}
+
+		if (word && previousWord && is(previousStart, previousEnd, "as")) {
+			selectionAliases.add(query.substring(start, end));
+		}
+
+		acceptJoin(type, word, start, end);
+		acceptFrom(type, word, start, end, depth, base);
+
+		beforePreviousWord = previousWord;
+		beforePreviousStart = previousStart;
+		beforePreviousEnd = previousEnd;
+		previousWord = word;
+		previousParameterPrefix = type == SYMBOL && query.charAt(start) == ':';
+		previousStart = start;
+		previousEnd = end;
+		previousDepth = depth;
+	}
+
+	private void acceptFrom(int type, boolean word, int start, int end, int depth, boolean base) {
+
+		if (fromState == IN_ENTITY) {
+
+			if (type == CLOSE && depth == fromEntityDepth) {
+				fromState = EXPECT_ALIAS;
+			}
+
+			return;
+		}
+
+		if (word && base && is(start, end, "from")) {
+
+			if (fromStart == -1) {
+
+				fromStart = start;
+
+				if (selectStart != -1) {
+					projectionEnd = start;
+				}
+			}
+
+			fromState = EXPECT_ENTITY;
+			return;
+		}
+
+		switch (fromState) {
+			case EXPECT_ENTITY -> {
+
+				if (type == OPEN) {
+					fromState = IN_ENTITY;
+					fromEntityDepth = depth;
+					fromEntity = null;
+				} else {
+					fromState = word && !isReserved(start, end) ? EXPECT_ALIAS : NONE;
+					fromEntity = fromState == EXPECT_ALIAS ? query.substring(start, end) : null;
+				}
+			}
+			case EXPECT_ALIAS -> {
+
+				if (word && is(start, end, "as")) {
+					fromState = AFTER_AS;
+					return;
+				}
+
+				if (word && !isReserved(start, end)) {
+					alias = query.substring(start, end);
+					entityName = fromEntity;
+				}
+
+				fromState = NONE;
+			}
+			case AFTER_AS -> {
+
+				if (word) {
+					alias = query.substring(start, end);
+					entityName = fromEntity;
+				}
+
+				fromState = NONE;
+			}
+			default -> {}
+		}
+	}
+
+	private void acceptJoin(int type, boolean word, int start, int end) {
+
+		if (word && is(start, end, "join")) {
+			joinState = EXPECT_ENTITY;
+			return;
+		}
+
+		switch (joinState) {
+			case EXPECT_ENTITY -> {
+
+				if (word && is(start, end, "fetch")) {
+					fetchJoin = true;
+					return;
+				}
+
+				joinState = word && !isReserved(start, end) ? EXPECT_ALIAS : NONE;
+			}
+			case EXPECT_ALIAS -> {
+
+				if (word && is(start, end, "as")) {
+					joinState = AFTER_AS;
+					return;
+				}
+
+				if (word && !isReserved(start, end)) {
+					joinAliases.add(query.substring(start, end));
+				}
+
+				joinState = NONE;
+			}
+			case AFTER_AS -> {
+
+				if (word) {
+					joinAliases.add(query.substring(start, end));
+				}
+
+				joinState = NONE;
+			}
+			default -> {}
+		}
+	}
+
+	/**
+	 * @return the index of the last character of the word starting at {@code start} including quoted parts.
+	 */
+	private int skipWord(int start, int length) {
+
+		int end = start;
+
+		while (end < length) {
+
+			char c = query.charAt(end);
+
+			if (isIdentifierQuote(c)) {
+				end = skipTo(query.indexOf(c, end + 1), length);
+			} else if (!isWordCharacter(c)) {
+				break;
+			}
+
+			end++;
+		}
+
+		return end - 1;
+	}
+
+	private int skipLiteral(int start, int length) {
+
+		for (int i = start + 1; i < length; i++) {
+
+			if (query.charAt(i) == '\'') {
+
+				if (i + 1 < length && query.charAt(i + 1) == '\'') {
+					i++;
+					continue;
+				}
+
+				return i;
+			}
+		}
+
+		return length - 1;
+	}
+
+	private static int skipTo(int index, int length) {
+		return index == -1 ? length - 1 : index;
+	}
+
+	private boolean is(int start, int end, String keyword) {
+		return end - start == keyword.length() && query.regionMatches(true, start, keyword, 0, keyword.length());
+	}
+
+	private boolean isReserved(int start, int end) {
+		return RESERVED_WORDS.contains(query.substring(start, end).toLowerCase(Locale.ROOT));
+	}
+
+	private static boolean isWordCharacter(char c) {
+		return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+	}
+
+	private static boolean isIdentifierQuote(char c) {
+		return c == '"' || c == '`';
+	}
+}
@@ -18,7 +18,6 @@ package org.springframework.data.jpa.repository.query;
 import jakarta.persistence.Query;
 
 import java.util.List;
-import java.util.Map;
 import java.util.function.IntFunction;
 
 import org.springframework.data.domain.KeysetScrollPosition;
@@ -26,7 +25,6 @@ import org.springframework.data.domain.OffsetScrollPosition;
 import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.ScrollPosition.Direction;
 import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.util.Assert;
@@ -83,13 +81,9 @@ public class ScrollDelegate<T> {
 		KeysetScrollDelegate delegate = KeysetScrollDelegate.of(direction);
 		List<T> resultsToUse = delegate.getResultWindow(delegate.postProcessResults(result), limit);
 
-		IntFunction<ScrollPosition> positionFunction = value -> {
-
-			T object = resultsToUse.get(value);
-			Map<String, Object> keys = entity.getKeyset(sort.stream().map(Order::getProperty).toList(), object);
-
-			return ScrollPosition.of(keys, direction);
-		};
+		KeysetExtractor<T> keysetExtractor = new KeysetExtractor<>(entity, sort);
+		IntFunction<ScrollPosition> positionFunction = value -> ScrollPosition
+				.of(keysetExtractor.getKeyset(resultsToUse.get(value)), direction);
 
 		return Window.from(resultsToUse, positionFunction, hasMoreElements(result, limit));
 	}
@@ -15,6 +15,9 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +31,7 @@ import jakarta.persistence.TypedQuery;
 import org.springframework.data.jpa.repository.query.JpaParameters.JpaParameter;
 import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.util.Lazy;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -51,6 +55,7 @@ class StoredProcedureJpaQuery extends AbstractJpaQuery {
 	private final StoredProcedureAttributes procedureAttributes;
 	private final boolean useNamedParameters;
 	private final QueryParameterSetter.QueryMetadataCache metadataCache = new QueryParameterSetter.QueryMetadataCache();
+	private final Lazy<List<ParameterRegistration>> parameterRegistrations;
 
 	/**
 	 * Creates a new {@link StoredProcedureJpaQuery}.
@@ -63,6 +68,10 @@ class StoredProcedureJpaQuery extends AbstractJpaQuery {
 		super(method, em);
 		this.procedureAttributes = method.getProcedureAttributes();
 		this.useNamedParameters = useNamedParameters(method);
+		this.parameterRegistrations = Lazy.of(this::createParameterRegistrations);
+
+		Assert.state(!method.isBatchQuery() || !procedureAttributes.isNamedStoredProcedure(),
+				() -> "Batch execution is not supported for named stored procedures; Offending method: " + method);
 	}
 
 	/**
@@ -100,6 +109,57 @@ class StoredProcedureJpaQuery extends AbstractJpaQuery {
 		throw new UnsupportedOperationException("StoredProcedureQuery does not support count queries");
 	}
 
+	/**
+	 * Calls the stored procedure once for each element of {@code arguments}. Calls are sent using JDBC batching when
+	 * running on Hibernate inside a transaction and executed one by one otherwise.
+	 *
+	 * @param arguments must not be {@literal null}.
+	 * @return the update counts per element.
+	 * @since 3.4
+	 */
+	int[] executeBatch(Iterable<?> arguments) {
+
+		Assert.notNull(arguments, "Arguments must not be null");
+
+		List<Object[]> batch = BatchExecutionSupport.getBatchValues(arguments);
+
+		if (batch.isEmpty()) {
+			return new int[0];
+		}
+
+		EntityManager em = getEntityManager();
+		int parameterCount = batch.get(0).length;
+		Class<?>[] parameterTypes = BatchExecutionSupport
+				.getParameterTypes(BatchExecutionSupport.getElementType(getQueryMethod()), batch);
+
+		if (BatchExecutionSupport.supportsJdbcBatching(em, getProvider())) {
+
+			String call = String.format("{call %s(%s)}", procedureAttributes.getProcedureName(),
+					String.join(", ", Collections.nCopies(parameterCount, "?")));
+
+			return HibernateJdbcBatchSupport.executeJdbcBatch(em, call, batch, it -> (Object[]) it, parameterTypes, null);
+		}
+
+		int[] updateCounts = new int[batch.size()];
+
+		for (int element = 0; element < updateCounts.length; element++) {
+
+			Object[] values = batch.get(element);
+			StoredProcedureQuery procedure = em.createStoredProcedureQuery(procedureAttributes.getProcedureName());
+
+			for (int i = 0; i < values.length; i++) {
+
+				procedure.registerStoredProcedureParameter(i + 1, parameterTypes[i], ParameterMode.IN);
+				procedure.setParameter(i + 1, values[i]);
+			}
+
+			// execute() rather than executeUpdate() as the latter requires a transaction which batch callers may not have
+			updateCounts[element] = procedure.execute() ? Statement.SUCCESS_NO_INFO : procedure.getUpdateCount();
+		}
+
+		return updateCounts;
+	}
+
 	/**
 	 * Extracts the output value from the given {@link StoredProcedureQuery}.
 	 *
@@ -163,12 +223,32 @@ class StoredProcedureJpaQuery extends AbstractJpaQuery {
 	}
 
 	/**
-	 * Creates a new ad-hoc {@link StoredProcedureQuery} from the given {@link StoredProcedureAttributes}.
+	 * Creates a new ad-hoc {@link StoredProcedureQuery} from the given {@link StoredProcedureAttributes} registering the
+	 * precomputed parameter registrations.
 	 */
 	private StoredProcedureQuery newAdhocStoredProcedureQuery() {
+		return registerParameters(createAdhocStoredProcedureQuery(getEntityManager()));
+	}
+
+	/**
+	 * Registers the precomputed {@link ParameterRegistration}s with the given {@link StoredProcedureQuery}.
+	 */
+	private StoredProcedureQuery registerParameters(StoredProcedureQuery procedureQuery) {
+
+		for (ParameterRegistration registration : parameterRegistrations.get()) {
+			registration.register(procedureQuery);
+		}
+
+		return procedureQuery;
+	}
+
+	/**
+	 * Computes the {@link ParameterRegistration}s for IN parameters and the output parameter of the ad-hoc procedure.
+	 */
+	private List<ParameterRegistration> createParameterRegistrations() {
 
 		JpaParameters params = getQueryMethod().getParameters();
-		StoredProcedureQuery procedureQuery = createAdhocStoredProcedureQuery();
+		List<ParameterRegistration> registrations = new ArrayList<>(params.getNumberOfParameters() + 1);
 
 		for (JpaParameter param : params) {
 
@@ -177,12 +257,12 @@ class StoredProcedureJpaQuery extends AbstractJpaQuery {
 			}
 
 			if (useNamedParameters) {
-				procedureQuery.registerStoredProcedureParameter(
+				registrations.add(new ParameterRegistration(
 						param.getName()
 								.orElseThrow(() -> new IllegalArgumentException(ParameterBinder.PARAMETER_NEEDS_TO_BE_NAMED)),
-						param.getType(), ParameterMode.IN);
+						param.getIndex() + 1, param.getType(), ParameterMode.IN));
 			} else {
-				procedureQuery.registerStoredProcedureParameter(param.getIndex() + 1, param.getType(), ParameterMode.IN);
+				registrations.add(new ParameterRegistration(null, param.getIndex() + 1, param.getType(), ParameterMode.IN));
 			}
 		}
 
@@ -197,20 +277,20 @@ class StoredProcedureJpaQuery extends AbstractJpaQuery {
 			if (storedProcedureHasResultSetUsingRefCursor(procedureOutput) || !isResultSetProcedure()) {
 
 				if (useNamedParameters) {
-					procedureQuery.registerStoredProcedureParameter(procedureOutput.getName(), procedureOutput.getType(),
-							procedureOutput.getMode());
+					registrations.add(new ParameterRegistration(procedureOutput.getName(), 0, procedureOutput.getType(),
+							procedureOutput.getMode()));
 				} else {
 
 					// Output parameter should be after the input parameters
 					int outputParameterIndex = params.getNumberOfParameters() + 1;
 
-					procedureQuery.registerStoredProcedureParameter(outputParameterIndex, procedureOutput.getType(),
-							procedureOutput.getMode());
+					registrations.add(new ParameterRegistration(null, outputParameterIndex, procedureOutput.getType(),
+							procedureOutput.getMode()));
 				}
 			}
 		}
 
-		return procedureQuery;
+		return registrations;
 	}
 
 	/**
@@ -223,15 +303,15 @@ class StoredProcedureJpaQuery extends AbstractJpaQuery {
 		return isResultSetProcedure() && procedureOutput.getMode() == ParameterMode.REF_CURSOR;
 	}
 
-	private StoredProcedureQuery createAdhocStoredProcedureQuery() {
+	private StoredProcedureQuery createAdhocStoredProcedureQuery(EntityManager entityManager) {
 
 		if (getQueryMethod().isQueryForEntity()) {
 
-			return getEntityManager().createStoredProcedureQuery(procedureAttributes.getProcedureName(),
+			return entityManager.createStoredProcedureQuery(procedureAttributes.getProcedureName(),
 					getQueryMethod().getEntityInformation().getJavaType());
 		}
 
-		return getEntityManager().createStoredProcedureQuery(procedureAttributes.getProcedureName());
+		return entityManager.createStoredProcedureQuery(procedureAttributes.getProcedureName());
 	}
 
 	/**
@@ -240,4 +320,19 @@ class StoredProcedureJpaQuery extends AbstractJpaQuery {
 	private boolean isResultSetProcedure() {
 		return getQueryMethod().isCollectionQuery() || getQueryMethod().isQueryForEntity();
 	}
+
+	/**
+	 * Precomputed registration of a stored procedure parameter either by name or by position.
+	 */
+	private record ParameterRegistration(@Nullable String name, int position, Class<?> type, ParameterMode mode) {
+
+		void register(StoredProcedureQuery procedureQuery) {
+
+			if (name != null) {
+				procedureQuery.registerStoredProcedureParameter(name, type, mode);
+			} else {
+				procedureQuery.registerStoredProcedureParameter(position, type, mode);
+			}
+		}
+	}
 }
@@ -31,6 +31,7 @@ import org.springframework.data.jpa.repository.query.ParameterBinding.InParamete
 import org.springframework.data.jpa.repository.query.ParameterBinding.LikeParameterBinding;
 import org.springframework.data.jpa.repository.query.ParameterBinding.MethodInvocationArgument;
 import org.springframework.data.jpa.repository.query.ParameterBinding.ParameterOrigin;
+import org.springframework.data.jpa.util.JpaMetamodel;
 import org.springframework.data.repository.query.SpelQueryContext;
 import org.springframework.data.repository.query.SpelQueryContext.SpelExtractor;
 import org.springframework.data.repository.query.parser.Part.Type;
@@ -115,9 +116,30 @@ class StringQuery implements DeclaredQuery {
 
 	@Override
 	public DeclaredQuery deriveCountQuery(@Nullable String countQueryProjection) {
+		return createCountQuery(this.queryEnhancer.createCountQueryFor(countQueryProjection));
+	}
 
-		StringQuery stringQuery = new StringQuery(this.queryEnhancer.createCountQueryFor(countQueryProjection), //
-				this.isNative);
+	/**
+	 * Derive a count query using {@link JpaMetamodel} to remove joins that do not affect the number of rows if the query
+	 * is parsed by a {@link JpaQueryEnhancer}.
+	 *
+	 * @param countQueryProjection may be {@literal null}.
+	 * @param metamodel the metamodel to resolve entities and their associations.
+	 * @return the derived count query.
+	 * @since 3.4
+	 */
+	DeclaredQuery deriveCountQuery(@Nullable String countQueryProjection, JpaMetamodel metamodel) {
+
+		if (this.queryEnhancer instanceof JpaQueryEnhancer enhancer) {
+			return createCountQuery(enhancer.createCountQueryFor(countQueryProjection, metamodel));
+		}
+
+		return deriveCountQuery(countQueryProjection);
+	}
+
+	private DeclaredQuery createCountQuery(String countQuery) {
+
+		StringQuery stringQuery = new StringQuery(countQuery, this.isNative);
 
 		if (this.hasParameterBindings() && !this.getParameterBindings().equals(stringQuery.getParameterBindings())) {
 			stringQuery.getParameterBindings().clear();
@@ -132,6 +154,11 @@ class StringQuery implements DeclaredQuery {
 		return usesJdbcStyleParameters;
 	}
 
+	@Override
+	public QueryEnhancer getQueryEnhancer() {
+		return queryEnhancer;
+	}
+
 	@Override
 	public String getQueryString() {
 		return query;
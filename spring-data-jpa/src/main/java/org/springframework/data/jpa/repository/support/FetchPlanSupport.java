@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.jpa.domain.FetchPlan;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.mapping.PropertyPath;
+
+/**
+ * Applies a {@link FetchPlan} to queries for a domain type. To-one paths are fetched along with the main query through a
+ * fetch graph. Collection paths are fetched through a secondary query per path restricting the root entities by their
+ * identifiers in chunks of {@link QueryUtils#IN_CLAUSE_CHUNK_SIZE}. Loading entities that are already attached to the
+ * persistence context initializes the requested associations of the previously returned instances.
+ *
+ * @author agent
+ * @since 3.4
+ */
+class FetchPlanSupport<T> {
+
+	private final JpaEntityInformation<T, ?> entityInformation;
+	private final EntityManager entityManager;
+
+	FetchPlanSupport(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+
+		this.entityInformation = entityInformation;
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * Applies the to-one paths of the given {@link FetchPlan} to {@link TypedQuery}. If the domain type uses a composite
+	 * identifier, all paths are applied to the query.
+	 *
+	 * @param query the query to apply the fetch graph to.
+	 * @param fetchPlan the {@link FetchPlan} to apply.
+	 */
+	void applyTo(TypedQuery<?> query, FetchPlan fetchPlan) {
+
+		Set<String> paths = supportsSecondaryQueries() ? getToOnePaths(fetchPlan.getPaths()) : fetchPlan.getPaths();
+
+		if (!paths.isEmpty()) {
+			query.setHint(EntityGraphFactory.HINT,
+					EntityGraphFactory.create(entityManager, entityInformation.getJavaType(), paths));
+		}
+	}
+
+	/**
+	 * Fetches the collection paths of the given {@link FetchPlan} for all {@code results}.
+	 *
+	 * @param results the previously loaded entities.
+	 * @param fetchPlan the {@link FetchPlan} to apply.
+	 * @return {@code results}.
+	 */
+	<S extends T> List<S> fetchCollections(List<S> results, FetchPlan fetchPlan) {
+
+		if (results.isEmpty() || !supportsSecondaryQueries()) {
+			return results;
+		}
+
+		Set<String> collectionPaths = getCollectionPaths(fetchPlan.getPaths());
+
+		if (collectionPaths.isEmpty()) {
+			return results;
+		}
+
+		List<Object> ids = new ArrayList<>(results.size());
+
+		for (S result : results) {
+			ids.add(entityInformation.getId(result));
+		}
+
+		for (String path : collectionPaths) {
+			for (int i = 0; i < ids.size(); i += QueryUtils.IN_CLAUSE_CHUNK_SIZE) {
+
+				List<Object> chunk = ids.subList(i, Math.min(ids.size(), i + QueryUtils.IN_CLAUSE_CHUNK_SIZE));
+				loadByIds(QueryUtils.potentiallyPadInClauseValues(chunk), path);
+			}
+		}
+
+		return results;
+	}
+
+	/**
+	 * Returns whether the given {@link FetchPlan} contains paths that traverse collections.
+	 *
+	 * @param fetchPlan the {@link FetchPlan} to inspect.
+	 * @return {@literal true} if {@code fetchPlan} contains collection paths.
+	 */
+	boolean hasCollectionPaths(FetchPlan fetchPlan) {
+		return !getCollectionPaths(fetchPlan.getPaths()).isEmpty();
+	}
+
+	private void loadByIds(Collection<Object> ids, String path) {
+
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<T> query = builder.createQuery(entityInformation.getJavaType());
+		Root<T> root = query.from(entityInformation.getJavaType());
+
+		query.select(root).distinct(true).where(root.get(entityInformation.getIdAttribute()).in(ids));
+
+		entityManager.createQuery(query) //
+				.setHint(EntityGraphFactory.HINT,
+						EntityGraphFactory.create(entityManager, entityInformation.getJavaType(), Set.of(path))) //
+				.getResultList();
+	}
+
+	private boolean supportsSecondaryQueries() {
+		return !entityInformation.hasCompositeId() && entityInformation.getIdAttribute() != null;
+	}
+
+	private Set<String> getToOnePaths(Collection<String> paths) {
+
+		Set<String> result = new LinkedHashSet<>();
+
+		for (String path : paths) {
+			if (!isCollectionPath(path)) {
+				result.add(path);
+			}
+		}
+
+		return result;
+	}
+
+	private Set<String> getCollectionPaths(Collection<String> paths) {
+
+		Set<String> result = new LinkedHashSet<>();
+
+		for (String path : paths) {
+			if (isCollectionPath(path)) {
+				result.add(path);
+			}
+		}
+
+		return result;
+	}
+
+	private boolean isCollectionPath(String path) {
+
+		for (PropertyPath segment : PropertyPath.from(path, entityInformation.getJavaType())) {
+			if (segment.isCollection() || segment.getTypeInformation().isMap()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
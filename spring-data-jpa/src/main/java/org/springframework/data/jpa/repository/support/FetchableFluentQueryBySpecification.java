@@ -33,6 +33,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.FetchPlan;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.query.ScrollDelegate;
 import org.springframework.data.jpa.support.PageableUtils;
@@ -60,20 +61,21 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 	private final Function<Specification<S>, Long> countOperation;
 	private final Function<Specification<S>, Boolean> existsOperation;
 	private final EntityManager entityManager;
+	private final FetchPlanSupport<S> fetchPlans;
 
 	FetchableFluentQueryBySpecification(Specification<S> spec, Class<S> entityType, Function<Sort, TypedQuery<S>> finder,
 			SpecificationScrollDelegate<S> scrollDelegate, Function<Specification<S>, Long> countOperation,
 			Function<Specification<S>, Boolean> existsOperation, EntityManager entityManager,
-			ProjectionFactory projectionFactory) {
+			ProjectionFactory projectionFactory, FetchPlanSupport<S> fetchPlans) {
 		this(spec, entityType, (Class<R>) entityType, Sort.unsorted(), 0, Collections.emptySet(), finder, scrollDelegate,
-				countOperation, existsOperation, entityManager, projectionFactory);
+				countOperation, existsOperation, entityManager, projectionFactory, fetchPlans);
 	}
 
 	private FetchableFluentQueryBySpecification(Specification<S> spec, Class<S> entityType, Class<R> resultType,
 			Sort sort, int limit, Collection<String> properties, Function<Sort, TypedQuery<S>> finder,
 			SpecificationScrollDelegate<S> scrollDelegate, Function<Specification<S>, Long> countOperation,
 			Function<Specification<S>, Boolean> existsOperation, EntityManager entityManager,
-			ProjectionFactory projectionFactory) {
+			ProjectionFactory projectionFactory, FetchPlanSupport<S> fetchPlans) {
 
 		super(resultType, sort, limit, properties, entityType, projectionFactory);
 		this.spec = spec;
@@ -82,6 +84,7 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 		this.countOperation = countOperation;
 		this.existsOperation = existsOperation;
 		this.entityManager = entityManager;
+		this.fetchPlans = fetchPlans;
 	}
 
 	@Override
@@ -90,7 +93,7 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 		Assert.notNull(sort, "Sort must not be null");
 
 		return new FetchableFluentQueryBySpecification<>(spec, entityType, resultType, this.sort.and(sort), limit,
-				properties, finder, scroll, countOperation, existsOperation, entityManager, projectionFactory);
+				properties, finder, scroll, countOperation, existsOperation, entityManager, projectionFactory, fetchPlans);
 	}
 
 	@Override
@@ -99,7 +102,7 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 		Assert.isTrue(limit >= 0, "Limit must not be negative");
 
 		return new FetchableFluentQueryBySpecification<>(spec, entityType, resultType, sort, limit,
-				properties, finder, scroll, countOperation, existsOperation, entityManager, projectionFactory);
+				properties, finder, scroll, countOperation, existsOperation, entityManager, projectionFactory, fetchPlans);
 	}
 
 	@Override
@@ -111,22 +114,21 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 		}
 
 		return new FetchableFluentQueryBySpecification<>(spec, entityType, resultType, sort, limit, properties, finder,
-				scroll, countOperation, existsOperation, entityManager, projectionFactory);
+				scroll, countOperation, existsOperation, entityManager, projectionFactory, fetchPlans);
 	}
 
 	@Override
 	public FetchableFluentQuery<R> project(Collection<String> properties) {
 
 		return new FetchableFluentQueryBySpecification<>(spec, entityType, resultType, sort, limit, properties, finder,
-				scroll, countOperation, existsOperation, entityManager, projectionFactory);
+				scroll, countOperation, existsOperation, entityManager, projectionFactory, fetchPlans);
 	}
 
 	@Override
 	public R oneValue() {
 
-		List<?> results = createSortedAndProjectedQuery() //
-				.setMaxResults(2) // Never need more than 2 values
-				.getResultList();
+		List<?> results = getResultList(createSortedAndProjectedQuery() //
+				.setMaxResults(2)); // Never need more than 2 values
 
 		if (results.size() > 1) {
 			throw new IncorrectResultSizeDataAccessException(1);
@@ -138,16 +140,15 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 	@Override
 	public R firstValue() {
 
-		List<?> results = createSortedAndProjectedQuery() //
-				.setMaxResults(1) // Never need more than 1 value
-				.getResultList();
+		List<?> results = getResultList(createSortedAndProjectedQuery() //
+				.setMaxResults(1)); // Never need more than 1 value
 
 		return results.isEmpty() ? null : getConversionFunction().apply(results.get(0));
 	}
 
 	@Override
 	public List<R> all() {
-		return convert(createSortedAndProjectedQuery().getResultList());
+		return convert(getResultList(createSortedAndProjectedQuery()));
 	}
 
 	@Override
@@ -166,7 +167,18 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 	@Override
 	public Stream<R> stream() {
 
-		return createSortedAndProjectedQuery() //
+		TypedQuery<S> query = finder.apply(sort);
+
+		// collections cannot be fetched through secondary queries while streaming
+		if (!properties.isEmpty()) {
+			query.setHint(EntityGraphFactory.HINT, EntityGraphFactory.create(entityManager, entityType, properties));
+		}
+
+		if (limit != 0) {
+			query.setMaxResults(limit);
+		}
+
+		return query //
 				.getResultStream() //
 				.map(getConversionFunction());
 	}
@@ -186,7 +198,7 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 		TypedQuery<S> query = finder.apply(sort);
 
 		if (!properties.isEmpty()) {
-			query.setHint(EntityGraphFactory.HINT, EntityGraphFactory.create(entityManager, entityType, properties));
+			fetchPlans.applyTo(query, FetchPlan.of(properties));
 		}
 
 		if (limit != 0) {
@@ -196,6 +208,13 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 		return query;
 	}
 
+	private List<S> getResultList(TypedQuery<S> query) {
+
+		List<S> results = query.getResultList();
+
+		return properties.isEmpty() ? results : fetchPlans.fetchCollections(results, FetchPlan.of(properties));
+	}
+
 	private Page<R> readPage(Pageable pageable) {
 
 		TypedQuery<S> pagedQuery = createSortedAndProjectedQuery();
@@ -205,7 +224,7 @@ class FetchableFluentQueryBySpecification<S, R> extends FluentQuerySupport<S, R>
 			pagedQuery.setMaxResults(pageable.getPageSize());
 		}
 
-		List<R> paginatedResults = convert(pagedQuery.getResultList());
+		List<R> paginatedResults = convert(getResultList(pagedQuery));
 
 		return PageableExecutionUtils.getPage(paginatedResults, pageable, () -> countOperation.apply(spec));
 	}
@@ -19,6 +19,9 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceUnitUtil;
 import jakarta.persistence.metamodel.Metamodel;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.repository.query.DefaultJpaEntityMetadata;
 import org.springframework.data.jpa.repository.query.JpaEntityMetadata;
@@ -35,6 +38,8 @@ import org.springframework.util.Assert;
 public abstract class JpaEntityInformationSupport<T, ID> extends AbstractEntityInformation<T, ID>
 		implements JpaEntityInformation<T, ID> {
 
+	private static final Map<Metamodel, Map<Class<?>, JpaEntityInformation<?, ?>>> CACHE = new ConcurrentHashMap<>(4);
+
 	private JpaEntityMetadata<T> metadata;
 
 	/**
@@ -48,19 +53,41 @@ public abstract class JpaEntityInformationSupport<T, ID> extends AbstractEntityI
 	}
 
 	/**
-	 * Creates a {@link JpaEntityInformation} for the given domain class and {@link EntityManager}.
+	 * Returns the {@link JpaEntityInformation} for the given domain class and {@link EntityManager}. Entity information
+	 * is created once per domain class and {@link Metamodel}, that is per {@link jakarta.persistence.EntityManagerFactory},
+	 * and shared by repositories and their query methods.
 	 *
 	 * @param domainClass must not be {@literal null}.
 	 * @param em must not be {@literal null}.
 	 * @return
 	 */
-	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@SuppressWarnings("unchecked")
 	public static <T> JpaEntityInformation<T, ?> getEntityInformation(Class<T> domainClass, EntityManager em) {
 
 		Assert.notNull(domainClass, "Domain class must not be null");
 		Assert.notNull(em, "EntityManager must not be null");
 
 		Metamodel metamodel = em.getMetamodel();
+
+		Assert.notNull(metamodel, "Metamodel must not be null");
+
+		return (JpaEntityInformation<T, ?>) CACHE.computeIfAbsent(metamodel, it -> new ConcurrentHashMap<>())
+				.computeIfAbsent(domainClass, it -> createEntityInformation(it, metamodel, em));
+	}
+
+	/**
+	 * Wipes the static cache of {@link JpaEntityInformation} instances.
+	 *
+	 * @since 3.4
+	 */
+	static void clear() {
+		CACHE.clear();
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static JpaEntityInformation<?, ?> createEntityInformation(Class<?> domainClass, Metamodel metamodel,
+			EntityManager em) {
+
 		PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
 
 		if (Persistable.class.isAssignableFrom(domainClass)) {
@@ -59,8 +59,10 @@ import org.springframework.util.Assert;
 public class JpaMetamodelEntityInformation<T, ID> extends JpaEntityInformationSupport<T, ID> {
 
 	private final IdMetadata<T> idMetadata;
+	private final List<String> idAttributeNames;
 	private final Optional<SingularAttribute<? super T, ?>> versionAttribute;
-	private final Metamodel metamodel;
+	private final boolean versionBasedIsNew;
+	private final PersistenceProvider persistenceProvider;
 	private final @Nullable String entityName;
 	private final PersistenceUnitUtil persistenceUnitUtil;
 
@@ -77,7 +79,6 @@ public class JpaMetamodelEntityInformation<T, ID> extends JpaEntityInformationSu
 		super(domainClass);
 
 		Assert.notNull(metamodel, "Metamodel must not be null");
-		this.metamodel = metamodel;
 
 		ManagedType<T> type = metamodel.managedType(domainClass);
 
@@ -91,8 +92,11 @@ public class JpaMetamodelEntityInformation<T, ID> extends JpaEntityInformationSu
 			throw new IllegalArgumentException("The given domain class does not contain an id attribute");
 		}
 
-		this.idMetadata = new IdMetadata<>(identifiableType, PersistenceProvider.fromMetamodel(metamodel));
+		this.persistenceProvider = PersistenceProvider.fromMetamodel(metamodel);
+		this.idMetadata = new IdMetadata<>(identifiableType, persistenceProvider);
+		this.idAttributeNames = getAttributeNames(idMetadata.attributes);
 		this.versionAttribute = findVersionAttribute(identifiableType, metamodel);
+		this.versionBasedIsNew = versionAttribute.filter(it -> !it.getJavaType().isPrimitive()).isPresent();
 
 		Assert.notNull(persistenceUnitUtil, "PersistenceUnitUtil must not be null");
 		this.persistenceUnitUtil = persistenceUnitUtil;
@@ -103,6 +107,17 @@ public class JpaMetamodelEntityInformation<T, ID> extends JpaEntityInformationSu
 		return entityName != null ? entityName : super.getEntityName();
 	}
 
+	private static List<String> getAttributeNames(Collection<? extends Attribute<?, ?>> attributes) {
+
+		List<String> attributeNames = new ArrayList<>(attributes.size());
+
+		for (Attribute<?, ?> attribute : attributes) {
+			attributeNames.add(attribute.getName());
+		}
+
+		return Collections.unmodifiableList(attributeNames);
+	}
+
 	/**
 	 * Returns the version attribute of the given {@link ManagedType} or {@literal null} if none available.
 	 *
@@ -148,8 +163,6 @@ public class JpaMetamodelEntityInformation<T, ID> extends JpaEntityInformationSu
 	public ID getId(T entity) {
 
 		// check if this is a proxy. If so use Proxy mechanics to access the id.
-		PersistenceProvider persistenceProvider = PersistenceProvider.fromMetamodel(metamodel);
-
 		if (persistenceProvider.shouldUseAccessorFor(entity)) {
 			return (ID) persistenceProvider.getIdentifierFrom(entity);
 		}
@@ -198,14 +211,7 @@ public class JpaMetamodelEntityInformation<T, ID> extends JpaEntityInformationSu
 
 	@Override
 	public Collection<String> getIdAttributeNames() {
-
-		List<String> attributeNames = new ArrayList<>(idMetadata.attributes.size());
-
-		for (SingularAttribute<? super T, ?> attribute : idMetadata.attributes) {
-			attributeNames.add(attribute.getName());
-		}
-
-		return attributeNames;
+		return idAttributeNames;
 	}
 
 	@Override
@@ -219,14 +225,13 @@ public class JpaMetamodelEntityInformation<T, ID> extends JpaEntityInformationSu
 	@Override
 	public boolean isNew(T entity) {
 
-		if (versionAttribute.isEmpty()
-				|| versionAttribute.map(Attribute::getJavaType).map(Class::isPrimitive).orElse(false)) {
+		if (!versionBasedIsNew) {
 			return super.isNew(entity);
 		}
 
 		BeanWrapper wrapper = new DirectFieldAccessFallbackBeanWrapper(entity);
 
-		return versionAttribute.map(it -> wrapper.getPropertyValue(it.getName()) == null).orElse(true);
+		return wrapper.getPropertyValue(versionAttribute.get().getName()) == null;
 	}
 
 	@Override
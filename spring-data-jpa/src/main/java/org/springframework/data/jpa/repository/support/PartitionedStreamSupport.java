@@ -0,0 +1,399 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+/**
+ * Reads all entities matching a {@link Specification} as parallel {@link Stream} by splitting the identifier space
+ * into disjoint ranges. Range boundaries split the range between the smallest and the largest matching integral
+ * identifier evenly, so partitions cover the same number of rows only if identifiers are evenly distributed. Each
+ * partition reads its range in chunks of {@link #CHUNK_SIZE} rows ordered by identifier using a short-lived
+ * {@link EntityManager} per chunk so that memory per partition is bounded by the chunk size and no
+ * {@link EntityManager} outlives an abandoned stream. Returned entities are detached.
+ * <p>
+ * Chunks select the identifiers of the next rows first and load the entities by these identifiers in a second query.
+ * Only the entity query applies fetch joins of the {@link Specification} so that rows are not limited in memory when
+ * fetching collections. Like count queries, identifier queries of integral identifiers have a {@link Long} result
+ * type so that specifications checking {@link CriteriaQuery#getResultType()} do not apply fetch joins. Specifications
+ * applying fetch joins to identifier queries are rejected.
+ *
+ * @author agent
+ * @since 3.4
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+class PartitionedStreamSupport<T> {
+
+	static final int CHUNK_SIZE = 1000;
+
+	static final Set<Class<?>> INTEGRAL_ID_TYPES = Set.of(Long.class, long.class, Integer.class, int.class,
+			Short.class, short.class, Byte.class, byte.class);
+
+	private final JpaEntityInformation<T, ?> entityInformation;
+	private final EntityManagerFactory entityManagerFactory;
+
+	PartitionedStreamSupport(JpaEntityInformation<T, ?> entityInformation, EntityManagerFactory entityManagerFactory) {
+
+		this.entityInformation = entityInformation;
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	/**
+	 * Creates a parallel {@link Stream} of all entities matching {@code spec} split into up to {@code partitions}
+	 * identifier ranges.
+	 *
+	 * @param spec can be {@literal null}.
+	 * @param partitions number of partitions, must be greater than zero.
+	 * @return the parallel {@link Stream}.
+	 */
+	Stream<T> stream(@Nullable Specification<T> spec, int partitions) {
+
+		List<Comparable> boundaries = partitions == 1 //
+				? Collections.emptyList() //
+				: doInEntityManager(em -> getBoundaries(em, spec, partitions));
+
+		List<IdRange> ranges = new ArrayList<>(boundaries.size() + 1);
+		Comparable lower = null;
+
+		for (Comparable boundary : boundaries) {
+			ranges.add(new IdRange(lower, boundary));
+			lower = boundary;
+		}
+
+		ranges.add(new IdRange(lower, null));
+
+		return StreamSupport.stream(new IdRangeSpliterator(spec, ranges, 0, ranges.size()), true);
+	}
+
+	/**
+	 * Splits the identifier range between the smallest and largest identifier matching {@code spec} into
+	 * {@code partitions} ranges of equal width. Identifiers that are not integral primitives or their wrappers cannot be
+	 * split and are read as a single partition.
+	 */
+	private List<Comparable> getBoundaries(EntityManager em, @Nullable Specification<T> spec, int partitions) {
+
+		Class<?> idType = entityInformation.getIdType();
+
+		if (!INTEGRAL_ID_TYPES.contains(idType)) {
+			return Collections.emptyList();
+		}
+
+		Long min = getIdBound(em, spec, false);
+		Long max = getIdBound(em, spec, true);
+
+		if (min == null || max == null) {
+			return Collections.emptyList();
+		}
+
+		BigInteger lower = BigInteger.valueOf(min);
+		BigInteger width = BigInteger.valueOf(max).subtract(lower).add(BigInteger.ONE);
+		List<Comparable> boundaries = new ArrayList<>(partitions - 1);
+		long previous = min;
+
+		for (int i = 1; i < partitions; i++) {
+
+			long boundary = lower.add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(partitions)))
+					.longValue();
+
+			if (boundary > previous) {
+				boundaries.add(toIdType(boundary, idType));
+				previous = boundary;
+			}
+		}
+
+		return boundaries;
+	}
+
+	/**
+	 * Selects the smallest or largest identifier matching {@code spec}. Like count queries, the query has a {@link Long}
+	 * result type so that specifications checking {@link CriteriaQuery#getResultType()} do not apply fetch joins.
+	 */
+	@Nullable
+	private Long getIdBound(EntityManager em, @Nullable Specification<T> spec, boolean max) {
+
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		Expression<Number> id = (Expression) getId(from(query, spec, builder));
+
+		query.select((max ? builder.max(id) : builder.min(id)).as(Long.class));
+
+		// duplicate rows do not change the bounds, remove all Orders the Specification might have applied
+		query.distinct(false);
+		query.orderBy(Collections.emptyList());
+
+		Object result = em.createQuery(query).getSingleResult();
+
+		return result != null ? ((Number) result).longValue() : null;
+	}
+
+	static Comparable toIdType(long value, Class<?> idType) {
+
+		if (idType == Integer.class || idType == int.class) {
+			return (int) value;
+		}
+
+		if (idType == Short.class || idType == short.class) {
+			return (short) value;
+		}
+
+		if (idType == Byte.class || idType == byte.class) {
+			return (byte) value;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Loads the next chunk of entities within {@code range} following {@code lastId} ordered by identifier.
+	 */
+	private Chunk<T> loadChunk(@Nullable Specification<T> spec, IdRange range, @Nullable Comparable lastId) {
+
+		return doInEntityManager(em -> {
+
+			List<Comparable> ids = loadIds(em, spec, range, lastId);
+
+			if (ids.isEmpty()) {
+				return new Chunk<>(Collections.emptyList(), null, true);
+			}
+
+			CriteriaBuilder builder = em.getCriteriaBuilder();
+			CriteriaQuery<T> query = builder.createQuery(entityInformation.getJavaType());
+			Root<T> root = from(query, spec, builder);
+			Predicate inIds = getId(root).in(ids);
+
+			query.select(root).where(query.getRestriction() == null ? inIds : builder.and(query.getRestriction(), inIds));
+
+			Map<Object, T> entitiesById = new HashMap<>(ids.size());
+
+			for (T entity : em.createQuery(query).getResultList()) {
+				entitiesById.put(entityInformation.getId(entity), entity);
+			}
+
+			List<T> entities = new ArrayList<>(ids.size());
+
+			for (Comparable id : ids) {
+
+				T entity = entitiesById.get(id);
+
+				if (entity != null) {
+					entities.add(entity);
+				}
+			}
+
+			return new Chunk<>(entities, ids.get(ids.size() - 1), ids.size() < CHUNK_SIZE);
+		});
+	}
+
+	/**
+	 * Selects up to {@link #CHUNK_SIZE} distinct identifiers within {@code range} following {@code lastId} ordered by
+	 * identifier.
+	 */
+	private List<Comparable> loadIds(EntityManager em, @Nullable Specification<T> spec, IdRange range,
+			@Nullable Comparable lastId) {
+
+		Class<?> idType = entityInformation.getIdType();
+		boolean integral = INTEGRAL_ID_TYPES.contains(idType);
+		CriteriaBuilder builder = em.getCriteriaBuilder();
+		CriteriaQuery<Object> query = builder.createQuery((Class) (integral ? Long.class : Object.class));
+		Root<T> root = from(query, spec, builder);
+
+		if (!root.getFetches().isEmpty()) {
+			throw new InvalidDataAccessApiUsageException(String.format(
+					"Specification must not apply fetch joins to identifier queries of %s; Apply fetch joins only if"
+							+ " CriteriaQuery.getResultType() is the entity type",
+					entityInformation.getJavaType().getName()));
+		}
+
+		Path<Comparable> id = getId(root);
+		List<Predicate> predicates = new ArrayList<>(3);
+
+		if (query.getRestriction() != null) {
+			predicates.add(query.getRestriction());
+		}
+
+		if (lastId != null) {
+			predicates.add(builder.greaterThan(id, lastId));
+		} else if (range.lower() != null) {
+			predicates.add(builder.greaterThanOrEqualTo(id, range.lower()));
+		}
+
+		if (range.upper() != null) {
+			predicates.add(builder.lessThan(id, range.upper()));
+		}
+
+		// order by the selected expression as distinct queries must order by selected columns
+		Expression<?> selection = integral ? id.as(Long.class) : id;
+
+		query.select(selection).distinct(true) //
+				.where(predicates.toArray(new Predicate[0])) //
+				.orderBy(builder.asc(selection));
+
+		List<Object> result = em.createQuery(query).setMaxResults(CHUNK_SIZE).getResultList();
+		List<Comparable> ids = new ArrayList<>(result.size());
+
+		for (Object value : result) {
+			ids.add(integral ? toIdType(((Number) value).longValue(), idType) : (Comparable) value);
+		}
+
+		return ids;
+	}
+
+	private Root<T> from(CriteriaQuery<?> query, @Nullable Specification<T> spec, CriteriaBuilder builder) {
+
+		Root<T> root = query.from(entityInformation.getJavaType());
+
+		if (spec != null) {
+
+			Predicate predicate = spec.toPredicate(root, query, builder);
+
+			if (predicate != null) {
+				query.where(predicate);
+			}
+		}
+
+		return root;
+	}
+
+	private Path<Comparable> getId(Root<T> root) {
+		return root.get((SingularAttribute) entityInformation.getRequiredIdAttribute());
+	}
+
+	private <R> R doInEntityManager(Function<EntityManager, R> function) {
+
+		EntityManager em = entityManagerFactory.createEntityManager();
+
+		try {
+			return function.apply(em);
+		} finally {
+			em.close();
+		}
+	}
+
+	/**
+	 * Half-open identifier range {@code [lower, upper)}. {@literal null} bounds are unbounded.
+	 */
+	private record IdRange(@Nullable Comparable lower, @Nullable Comparable upper) {
+	}
+
+	/**
+	 * Entities of a chunk along with the last identifier selected for the chunk.
+	 *
+	 * @param entities the loaded entities ordered by identifier.
+	 * @param lastId the last selected identifier, {@literal null} if no identifiers were selected.
+	 * @param last whether the chunk is the last one of its range.
+	 */
+	private record Chunk<T>(List<T> entities, @Nullable Comparable lastId, boolean last) {
+	}
+
+	/**
+	 * {@link Spliterator} over a contiguous list of {@link IdRange}s. Splitting hands off half of the ranges before
+	 * traversal has started so that each range is read by a single thread.
+	 */
+	private class IdRangeSpliterator implements Spliterator<T> {
+
+		private final @Nullable Specification<T> spec;
+		private final List<IdRange> ranges;
+		private final int end;
+
+		private int index;
+		private @Nullable Comparable lastId;
+		private Iterator<T> chunk = Collections.emptyIterator();
+
+		IdRangeSpliterator(@Nullable Specification<T> spec, List<IdRange> ranges, int index, int end) {
+
+			this.spec = spec;
+			this.ranges = ranges;
+			this.index = index;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+
+			while (!chunk.hasNext()) {
+
+				if (index >= end) {
+					return false;
+				}
+
+				Chunk<T> next = loadChunk(spec, ranges.get(index), lastId);
+
+				if (next.last()) {
+					index++;
+					lastId = null;
+				} else {
+					lastId = next.lastId();
+				}
+
+				chunk = next.entities().iterator();
+			}
+
+			action.accept(chunk.next());
+			return true;
+		}
+
+		@Nullable
+		@Override
+		public Spliterator<T> trySplit() {
+
+			if (lastId != null || chunk.hasNext() || end - index < 2) {
+				return null;
+			}
+
+			int mid = (index + end) >>> 1;
+			IdRangeSpliterator prefix = new IdRangeSpliterator(spec, ranges, index, mid);
+			index = mid;
+
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL;
+		}
+	}
+}
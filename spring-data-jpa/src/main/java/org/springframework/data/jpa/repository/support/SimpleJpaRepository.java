@@ -26,22 +26,30 @@ import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaDelete;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
 import jakarta.persistence.criteria.ParameterExpression;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
 import java.io.Serial;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.OffsetScrollPosition;
@@ -50,7 +58,10 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.FetchPlan;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpec;
+import org.springframework.data.jpa.provider.HibernateUtils;
 import org.springframework.data.jpa.provider.PersistenceProvider;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.query.EscapeCharacter;
@@ -64,6 +75,7 @@ import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.data.util.Lazy;
 import org.springframework.data.util.ProxyUtils;
 import org.springframework.data.util.Streamable;
 import org.springframework.lang.Nullable;
@@ -105,6 +117,17 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 	private final JpaEntityInformation<T, ?> entityInformation;
 	private final EntityManager entityManager;
 	private final PersistenceProvider provider;
+	private final FetchPlanSupport<T> fetchPlans;
+	private final PartitionedStreamSupport<T> partitionedStreams;
+
+	private final Lazy<String> countQueryString;
+	private final Lazy<String> existsQueryString;
+	private final Lazy<String> deleteAllQueryString;
+	private final Lazy<String> deleteAllQueryAlias;
+	private final Lazy<String> deleteAllByIdQueryString;
+
+	private final Map<Method, Map<String, Object>> queryHintsForCount = new ConcurrentHashMap<>();
+	private final Map<Method, Map<String, Object>> queryHintsWithoutFetchGraphs = new ConcurrentHashMap<>();
 
 	private @Nullable CrudMethodMetadata metadata;
 	private @Nullable ProjectionFactory projectionFactory;
@@ -124,6 +147,20 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 		this.entityInformation = entityInformation;
 		this.entityManager = entityManager;
 		this.provider = PersistenceProvider.fromEntityManager(entityManager);
+		this.fetchPlans = new FetchPlanSupport<>(entityInformation, entityManager);
+		this.partitionedStreams = new PartitionedStreamSupport<>(entityInformation,
+				entityManager.getEntityManagerFactory());
+
+		this.countQueryString = Lazy.of(() -> getQueryString(
+				String.format(COUNT_QUERY_STRING, provider.getCountQueryPlaceholder(), "%s"),
+				entityInformation.getEntityName()));
+		this.existsQueryString = Lazy.of(() -> QueryUtils.getExistsQueryString(entityInformation.getEntityName(),
+				provider.getCountQueryPlaceholder(), entityInformation.getIdAttributeNames()));
+		this.deleteAllQueryString = Lazy
+				.of(() -> getQueryString(DELETE_ALL_QUERY_STRING, entityInformation.getEntityName()));
+		this.deleteAllQueryAlias = Lazy.of(() -> detectAlias(deleteAllQueryString.get()));
+		this.deleteAllByIdQueryString = Lazy.of(() -> String.format(DELETE_ALL_QUERY_BY_ID_STRING,
+				entityInformation.getEntityName(), entityInformation.getIdAttribute().getName()));
 	}
 
 	/**
@@ -167,13 +204,11 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 	}
 
 	private String getDeleteAllQueryString() {
-		return getQueryString(DELETE_ALL_QUERY_STRING, entityInformation.getEntityName());
+		return deleteAllQueryString.get();
 	}
 
 	private String getCountQueryString() {
-
-		String countQuery = String.format(COUNT_QUERY_STRING, provider.getCountQueryPlaceholder(), "%s");
-		return getQueryString(countQuery, entityInformation.getEntityName());
+		return countQueryString.get();
 	}
 
 	@Override
@@ -239,16 +274,13 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 			deleteAllInBatch(entities);
 		} else {
 
-			String queryString = String.format(DELETE_ALL_QUERY_BY_ID_STRING, entityInformation.getEntityName(),
-					entityInformation.getIdAttribute().getName());
-
-			Query query = entityManager.createQuery(queryString);
+			Query query = entityManager.createQuery(deleteAllByIdQueryString.get());
 
 			/*
 			 * Some JPA providers require {@code ids} to be a {@link Collection} so we must convert if it's not already.
 			 */
 			Collection<ID> idCollection = toCollection(ids);
-			query.setParameter("ids", idCollection);
+			query.setParameter("ids", potentiallyPadInClauseValues(idCollection));
 
 			applyQueryHints(query);
 
@@ -277,8 +309,7 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 			return;
 		}
 
-		applyAndBind(getQueryString(DELETE_ALL_QUERY_STRING, entityInformation.getEntityName()), entities, entityManager)
-				.executeUpdate();
+		applyAndBind(getDeleteAllQueryString(), deleteAllQueryAlias.get(), entities, entityManager).executeUpdate();
 	}
 
 	@Override
@@ -351,12 +382,8 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 			return findById(id).isPresent();
 		}
 
-		String placeholder = provider.getCountQueryPlaceholder();
-		String entityName = entityInformation.getEntityName();
 		Iterable<String> idAttributeNames = entityInformation.getIdAttributeNames();
-		String existsQuery = QueryUtils.getExistsQueryString(entityName, placeholder, idAttributeNames);
-
-		TypedQuery<Long> query = entityManager.createQuery(existsQuery, Long.class);
+		TypedQuery<Long> query = entityManager.createQuery(existsQueryString.get(), Long.class);
 
 		applyQueryHints(query);
 
@@ -409,12 +436,27 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 			return results;
 		}
 
-		Collection<ID> idCollection = toCollection(ids);
+		List<ID> idList = new ArrayList<>(toCollection(ids));
 
 		ByIdsSpecification<T> specification = new ByIdsSpecification<>(entityInformation);
 		TypedQuery<T> query = getQuery(specification, Sort.unsorted());
 
-		return query.setParameter(specification.parameter, idCollection).getResultList();
+		if (idList.size() <= IN_CLAUSE_CHUNK_SIZE) {
+			return query.setParameter(specification.parameter, potentiallyPadInClauseValues(idList)).getResultList();
+		}
+
+		// avoid duplicate results for identifiers contained in multiple chunks
+		idList = new ArrayList<>(new LinkedHashSet<>(idList));
+		List<T> results = new ArrayList<>(idList.size());
+
+		for (int i = 0; i < idList.size(); i += IN_CLAUSE_CHUNK_SIZE) {
+
+			List<ID> chunk = idList.subList(i, Math.min(idList.size(), i + IN_CLAUSE_CHUNK_SIZE));
+			results.addAll(
+					query.setParameter(specification.parameter, potentiallyPadInClauseValues(chunk)).getResultList());
+		}
+
+		return results;
 	}
 
 	@Override
@@ -442,9 +484,24 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 		return getQuery(spec, Sort.unsorted()).getResultList();
 	}
 
+	@Override
+	public List<T> findAll(@Nullable Specification<T> spec, FetchPlan fetchPlan) {
+
+		Assert.notNull(fetchPlan, "FetchPlan must not be null");
+
+		TypedQuery<T> query = getQuery(spec, Sort.unsorted());
+		fetchPlans.applyTo(query, fetchPlan);
+
+		return fetchPlans.fetchCollections(query.getResultList(), fetchPlan);
+	}
+
 	@Override
 	public Page<T> findAll(@Nullable Specification<T> spec, Pageable pageable) {
 
+		if (pageable.isPaged() && isTwoPhasePagination()) {
+			return readPageInTwoPhases(spec, pageable);
+		}
+
 		TypedQuery<T> query = getQuery(spec, pageable);
 		return pageable.isUnpaged() ? new PageImpl<>(query.getResultList())
 				: readPage(query, getDomainClass(), pageable, spec);
@@ -487,6 +544,70 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 		return this.entityManager.createQuery(delete).executeUpdate();
 	}
 
+	@Override
+	@Transactional
+	public long update(@Nullable Specification<T> spec, UpdateSpec<T> updateSpec) {
+
+		Assert.notNull(updateSpec, "UpdateSpec must not be null");
+
+		this.entityManager.flush();
+
+		try {
+			return executeUpdate(spec, updateSpec);
+		} finally {
+			detachManagedEntities();
+		}
+	}
+
+	@Override
+	public Stream<T> parallelStream(@Nullable Specification<T> spec, int partitions) {
+
+		Assert.isTrue(partitions > 0, "Partitions must be greater than zero");
+		Assert.isTrue(!entityInformation.hasCompositeId(), "Partitioned streams require a single identifier attribute");
+
+		return partitionedStreams.stream(spec, partitions);
+	}
+
+	private int executeUpdate(@Nullable Specification<T> spec, UpdateSpec<T> updateSpec) {
+
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaUpdate<T> update = builder.createCriteriaUpdate(getDomainClass());
+		Root<T> root = update.from(getDomainClass());
+
+		updateSpec.apply(root, update, builder);
+
+		if (spec != null) {
+
+			Predicate predicate = spec.toPredicate(root, builder.createQuery(getDomainClass()), builder);
+
+			if (predicate != null) {
+				update.where(predicate);
+			}
+		}
+
+		Query query = this.entityManager.createQuery(update);
+
+		applyQueryHints(query);
+
+		return query.executeUpdate();
+	}
+
+	/**
+	 * Detaches managed instances of the domain type from the persistence context and evicts them from the second-level
+	 * cache after a bulk update as their state is no longer in sync with the database. Persistence providers other than
+	 * Hibernate do not allow detaching all instances of a type, so the entire persistence context is cleared.
+	 */
+	private void detachManagedEntities() {
+
+		this.entityManager.getEntityManagerFactory().getCache().evict(getDomainClass());
+
+		if (provider == PersistenceProvider.HIBERNATE) {
+			HibernateUtils.detachEntitiesOfType(this.entityManager, getDomainClass());
+		} else {
+			this.entityManager.clear();
+		}
+	}
+
 	@Override
 	public <S extends T, R> R findBy(Specification<T> spec, Function<FetchableFluentQuery<S>, R> queryFunction) {
 
@@ -528,7 +649,7 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 		SpecificationScrollDelegate<T> scrollDelegate = new SpecificationScrollDelegate<>(scrollFunction,
 				entityInformation);
 		FetchableFluentQueryBySpecification<?, T> fluentQuery = new FetchableFluentQueryBySpecification<>(spec, domainClass,
-				finder, scrollDelegate, this::count, this::exists, this.entityManager, getProjectionFactory());
+				finder, scrollDelegate, this::count, this::exists, this.entityManager, getProjectionFactory(), fetchPlans);
 
 		return queryFunction.apply((FetchableFluentQuery<S>) fluentQuery);
 	}
@@ -703,6 +824,91 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 				() -> executeCountQuery(getCountQuery(spec, domainClass)));
 	}
 
+	/**
+	 * Reads a {@link Page} by selecting the identifiers of the page first and loading the entities along with their
+	 * {@link EntityGraph} in a second query restricting the entities by these identifiers. Avoids in-memory pagination of
+	 * results that fetch collections.
+	 *
+	 * @param spec can be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 * @see EntityGraph#twoPhasePagination()
+	 */
+	private Page<T> readPageInTwoPhases(@Nullable Specification<T> spec, Pageable pageable) {
+
+		Class<?> idType = entityInformation.getIdType();
+		boolean integral = PartitionedStreamSupport.INTEGRAL_ID_TYPES.contains(idType);
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object> idQuery = builder.createQuery((Class) (integral ? Long.class : Object.class));
+
+		Root<T> root = applySpecificationToCriteria(spec, getDomainClass(), idQuery);
+
+		if (!root.getFetches().isEmpty()) {
+			throw new InvalidDataAccessApiUsageException(String.format(
+					"Specification must not apply fetch joins to identifier queries of %s; Apply fetch joins only if"
+							+ " CriteriaQuery.getResultType() is the entity type",
+					getDomainClass().getName()));
+		}
+
+		Path<?> idPath = root.get(entityInformation.getRequiredIdAttribute());
+		idQuery.select(integral ? idPath.as(Long.class) : idPath);
+
+		if (pageable.getSort().isSorted()) {
+			idQuery.orderBy(toOrders(pageable.getSort(), root, builder));
+		}
+
+		TypedQuery<Object> query = applyRepositoryMethodMetadataWithoutFetchGraphs(entityManager.createQuery(idQuery));
+		query.setFirstResult(PageableUtils.getOffsetAsInteger(pageable));
+		query.setMaxResults(pageable.getPageSize());
+
+		// joins of the Specification may select an identifier multiple times, keep the first occurrence only
+		List<Object> result = query.getResultList();
+		Collection<Object> ids = new LinkedHashSet<>(result.size());
+
+		for (Object value : result) {
+			ids.add(integral ? PartitionedStreamSupport.toIdType(((Number) value).longValue(), idType) : value);
+		}
+
+		List<T> content = new ArrayList<>(ids.size());
+
+		if (!ids.isEmpty()) {
+
+			ByIdsSpecification<T> specification = new ByIdsSpecification<>(entityInformation);
+			TypedQuery<T> entityQuery = getQuery(specification, Sort.unsorted());
+
+			Map<Object, T> entitiesById = new HashMap<>(ids.size());
+
+			for (T entity : entityQuery.setParameter(specification.parameter, ids).getResultList()) {
+				entitiesById.put(entityInformation.getId(entity), entity);
+			}
+
+			for (Object id : ids) {
+
+				T entity = entitiesById.get(id);
+
+				if (entity != null) {
+					content.add(entity);
+				}
+			}
+		}
+
+		// a page shortened by removing duplicates does not indicate the last page
+		if (ids.size() < result.size()) {
+			return new PageImpl<>(content, pageable, executeCountQuery(getCountQuery(spec, getDomainClass())));
+		}
+
+		return PageableExecutionUtils.getPage(content, pageable,
+				() -> executeCountQuery(getCountQuery(spec, getDomainClass())));
+	}
+
+	private boolean isTwoPhasePagination() {
+
+		if (metadata == null || entityInformation.hasCompositeId() || entityInformation.getIdAttribute() == null) {
+			return false;
+		}
+
+		return metadata.getEntityGraph().filter(EntityGraph::twoPhasePagination).isPresent();
+	}
+
 	/**
 	 * Creates a new {@link TypedQuery} from the given {@link Specification}.
 	 *
@@ -853,14 +1059,31 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 		return toReturn;
 	}
 
+	/**
+	 * Applies lock mode, query hints and the query comment of the current CRUD method without the fetch graph hints as
+	 * these cannot be applied to queries not selecting the entity.
+	 */
+	private <S> TypedQuery<S> applyRepositoryMethodMetadataWithoutFetchGraphs(TypedQuery<S> query) {
+
+		if (metadata == null) {
+			return query;
+		}
+
+		LockModeType type = metadata.getLockModeType();
+		TypedQuery<S> toReturn = type == null ? query : query.setLockMode(type);
+
+		getHints(queryHintsWithoutFetchGraphs, this::getQueryHints).forEach(toReturn::setHint);
+
+		return toReturn;
+	}
+
 	private void applyQueryHints(Query query) {
 
 		if (metadata == null) {
 			return;
 		}
 
-		getQueryHints().withFetchGraphs(entityManager).forEach(query::setHint);
-		applyComment(metadata, query::setHint);
+		getHints().forEach(query::setHint);
 	}
 
 	private <S> TypedQuery<S> applyRepositoryMethodMetadataForCount(TypedQuery<S> query) {
@@ -880,27 +1103,61 @@ public class SimpleJpaRepository<T, ID> implements JpaRepositoryImplementation<T
 			return;
 		}
 
-		getQueryHintsForCount().forEach(query::setHint);
-		applyComment(metadata, query::setHint);
+		getHintsForCount().forEach(query::setHint);
 	}
 
+	/**
+	 * Returns the query hints including fetch graphs and the query comment for the current CRUD method. Hint names and
+	 * values are computed once per repository method and reused for subsequent invocations. Fetch graphs are bound to
+	 * the {@link EntityManager} they were resolved from and are therefore resolved on each invocation.
+	 */
 	private Map<String, Object> getHints() {
 
-		Map<String, Object> hints = new HashMap<>();
+		Map<String, Object> hints = getHints(queryHintsWithoutFetchGraphs, this::getQueryHints);
 
-		getQueryHints().withFetchGraphs(entityManager).forEach(hints::put);
+		if (metadata == null || metadata.getEntityGraph().isEmpty()) {
+			return hints;
+		}
+
+		Map<String, Object> hintsWithFetchGraphs = new LinkedHashMap<>(hints);
+		getQueryHints().withFetchGraphs(entityManager).forEach(hintsWithFetchGraphs::put);
+
+		return hintsWithFetchGraphs;
+	}
+
+	/**
+	 * Returns the query hints and the query comment for count queries of the current CRUD method.
+	 */
+	private Map<String, Object> getHintsForCount() {
+		return getHints(queryHintsForCount, this::getQueryHintsForCount);
+	}
 
-		if (metadata != null) {
-			applyComment(metadata, hints::put);
+	private Map<String, Object> getHints(Map<Method, Map<String, Object>> cache, Supplier<QueryHints> queryHints) {
+
+		if (metadata == null) {
+			return Collections.emptyMap();
 		}
 
-		return hints;
+		Method method = metadata.getMethod();
+
+		return method == null ? collectHints(metadata, queryHints.get())
+				: cache.computeIfAbsent(method, it -> collectHints(metadata, queryHints.get()));
+	}
+
+	private Map<String, Object> collectHints(CrudMethodMetadata metadata, QueryHints queryHints) {
+
+		Map<String, Object> hints = new LinkedHashMap<>();
+
+		queryHints.forEach(hints::put);
+		applyComment(metadata, hints::put);
+
+		return Collections.unmodifiableMap(hints);
 	}
 
 	private void applyComment(CrudMethodMetadata metadata, BiConsumer<String, Object> consumer) {
 
 		if (metadata.getComment() != null && provider.getCommentHintKey() != null) {
-			consumer.accept(provider.getCommentHintKey(), provider.getCommentHintValue(this.metadata.getComment()));
+			consumer.accept(provider.getCommentHintKey(), provider.getCommentHintValue(metadata.getComment()));
 		}
 	}
 
@@ -0,0 +1,426 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.springframework.data.jpa.repository.query.QueryUtils.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.jpa.provider.HibernateUtils;
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.data.jpa.repository.support.UpsertQueryCreator.Row;
+import org.springframework.util.Assert;
+
+/**
+ * Repository for bulk import and export jobs that bypasses the persistence context. Entities handled by this repository
+ * are neither cached in the first-level cache nor dirty-checked, and no cascades are applied.
+ * <p>
+ * On Hibernate, all operations run through a {@link StatelessSession} that shares the JDBC connection (and therefore
+ * the transaction) of the current {@link EntityManager}. Other persistence providers fall back to regular
+ * {@link EntityManager} operations that {@link EntityManager#flush() flush} and {@link EntityManager#clear() clear} the
+ * persistence context after each batch. Pending changes of the persistence context are flushed before each operation.
+ * <p>
+ * All operations require the {@link EntityManager} to participate in an active transaction. Streams must be consumed
+ * and closed within that transaction.
+ * <p>
+ * Note that {@link #insertAll(Iterable)} and {@link #updateAll(Iterable)} do not return managed instances. On
+ * Hibernate, instances of the same entities that are managed by the current {@link EntityManager} are not updated or
+ * removed by {@link #updateAll(Iterable)} and {@link #deleteAll(Iterable)} and become stale. On other persistence
+ * providers, the persistence context is cleared after each batch which detaches all managed entities, including
+ * entities that were not passed to this repository.
+ *
+ * @param <T> the type of the entity to handle
+ * @author agent
+ * @since 3.4
+ */
+public class StatelessJpaRepository<T> {
+
+	/**
+	 * Default number of entities to process before flushing and clearing the persistence context, also used as fetch size
+	 * when streaming.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	private static final String ENTITIES_MUST_NOT_BE_NULL = "Entities must not be null";
+	private static final String TRANSACTION_REQUIRED = "StatelessJpaRepository requires an active transaction";
+	private static final String READ_ALL_QUERY = "select x from %s x";
+
+	private final JpaEntityInformation<T, ?> entityInformation;
+	private final EntityManager entityManager;
+	private final PersistenceProvider provider;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * Creates a new {@link StatelessJpaRepository} to manage objects of the given {@link JpaEntityInformation}.
+	 *
+	 * @param entityInformation must not be {@literal null}.
+	 * @param entityManager must not be {@literal null}.
+	 */
+	public StatelessJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+
+		Assert.notNull(entityInformation, "JpaEntityInformation must not be null");
+		Assert.notNull(entityManager, "EntityManager must not be null");
+
+		this.entityInformation = entityInformation;
+		this.entityManager = entityManager;
+		this.provider = PersistenceProvider.fromEntityManager(entityManager);
+	}
+
+	/**
+	 * Creates a new {@link StatelessJpaRepository} to manage objects of the given domain type.
+	 *
+	 * @param domainClass must not be {@literal null}.
+	 * @param entityManager must not be {@literal null}.
+	 */
+	public StatelessJpaRepository(Class<T> domainClass, EntityManager entityManager) {
+		this(JpaEntityInformationSupport.getEntityInformation(domainClass, entityManager), entityManager);
+	}
+
+	/**
+	 * Configures the number of entities to process per batch. Defaults to {@link #DEFAULT_BATCH_SIZE}.
+	 *
+	 * @param batchSize must be greater than zero.
+	 */
+	public void setBatchSize(int batchSize) {
+
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than zero");
+
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Inserts all given entities without attaching them to the persistence context.
+	 *
+	 * @param entities must not be {@literal null}.
+	 * @return the number of inserted entities.
+	 */
+	public <S extends T> long insertAll(Iterable<S> entities) {
+
+		Assert.notNull(entities, ENTITIES_MUST_NOT_BE_NULL);
+
+		return getOperations().insertAll(entities);
+	}
+
+	/**
+	 * Updates all given entities without attaching them to the persistence context. Each entity is written as a whole,
+	 * there is no dirty checking. Managed instances of the same entities are not updated and have to be
+	 * {@link EntityManager#refresh(Object) refreshed} to reflect the changes.
+	 *
+	 * @param entities must not be {@literal null}.
+	 * @return the number of updated entities.
+	 */
+	public <S extends T> long updateAll(Iterable<S> entities) {
+
+		Assert.notNull(entities, ENTITIES_MUST_NOT_BE_NULL);
+
+		return getOperations().updateAll(entities);
+	}
+
+	/**
+	 * Deletes all given entities without loading them into the persistence context. Managed instances of the same
+	 * entities remain attached to the persistence context and must not be used afterwards.
+	 *
+	 * @param entities must not be {@literal null}.
+	 * @return the number of deleted entities.
+	 */
+	public long deleteAll(Iterable<? extends T> entities) {
+
+		Assert.notNull(entities, ENTITIES_MUST_NOT_BE_NULL);
+
+		return getOperations().deleteAll(entities);
+	}
+
+	/**
+	 * Inserts or updates all given entities matching existing rows by the given key properties. Rows are written through
+	 * native multi-row {@code MERGE}, {@code INSERT … ON CONFLICT} or {@code INSERT … ON DUPLICATE KEY UPDATE} statements
+	 * (depending on the database) sending one statement per batch. Only basic attributes are written, attribute converters
+	 * are not applied. Entities mapped to a single table or joined inheritance hierarchy are not supported.
+	 *
+	 * @param entities must not be {@literal null}.
+	 * @param keyProperties names of the properties identifying a row, must not be {@literal null} or empty.
+	 * @return the number of affected rows as reported by the database.
+	 */
+	public <S extends T> long upsertAll(Iterable<S> entities, String... keyProperties) {
+
+		Assert.notNull(entities, ENTITIES_MUST_NOT_BE_NULL);
+		Assert.notEmpty(keyProperties, "Key properties must not be empty");
+		assertTransaction();
+
+		UpsertQueryCreator creator = UpsertQueryCreator.create(entityInformation, entityManager,
+				Arrays.asList(keyProperties));
+
+		List<Row> chunk = new ArrayList<>(batchSize);
+		long count = 0;
+
+		for (S entity : entities) {
+
+			Row row = creator.createRow(entity);
+
+			if (chunk.size() == batchSize || (!chunk.isEmpty() && !chunk.get(0).columns().equals(row.columns()))) {
+				count += executeUpsert(creator, chunk);
+				chunk.clear();
+			}
+
+			chunk.add(row);
+		}
+
+		if (!chunk.isEmpty()) {
+			count += executeUpsert(creator, chunk);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns all entities as detached instances.
+	 *
+	 * @return never {@literal null}.
+	 */
+	public List<T> findAll() {
+
+		try (Stream<T> stream = stream()) {
+			return stream.toList();
+		}
+	}
+
+	/**
+	 * Streams all entities as detached instances. The resulting {@link Stream} must be closed after use, e.g. through a
+	 * try-with-resources block.
+	 *
+	 * @return never {@literal null}.
+	 */
+	public Stream<T> stream() {
+		return getOperations().stream(getQueryString(READ_ALL_QUERY, entityInformation.getEntityName()),
+				entityInformation.getJavaType());
+	}
+
+	private int executeUpsert(UpsertQueryCreator creator, List<Row> rows) {
+
+		Query query = entityManager.createNativeQuery(creator.createQuery(rows.get(0).columns(), rows.size()));
+		UpsertQueryCreator.bind(query, rows);
+
+		return query.executeUpdate();
+	}
+
+	private void assertTransaction() {
+
+		if (!entityManager.isJoinedToTransaction()) {
+			throw new InvalidDataAccessApiUsageException(TRANSACTION_REQUIRED);
+		}
+	}
+
+	private BulkOperations getOperations() {
+
+		assertTransaction();
+
+		return provider == PersistenceProvider.HIBERNATE //
+				? new HibernateStatelessOperations(entityManager, batchSize) //
+				: new ClearingBulkOperations(entityManager, batchSize);
+	}
+
+	/**
+	 * Strategy interface for the persistence provider specific bulk operations.
+	 */
+	interface BulkOperations {
+
+		long insertAll(Iterable<?> entities);
+
+		long updateAll(Iterable<?> entities);
+
+		long deleteAll(Iterable<?> entities);
+
+		<S> Stream<S> stream(String queryString, Class<S> type);
+	}
+
+	/**
+	 * {@link BulkOperations} using a Hibernate {@link StatelessSession} bound to the connection of the current
+	 * {@link EntityManager}. Writes are sent using JDBC batches of the configured batch size.
+	 *
+	 * @see HibernateUtils#openStatelessSession(EntityManager)
+	 */
+	static class HibernateStatelessOperations implements BulkOperations {
+
+		private final EntityManager entityManager;
+		private final int batchSize;
+
+		HibernateStatelessOperations(EntityManager entityManager, int batchSize) {
+
+			this.entityManager = entityManager;
+			this.batchSize = batchSize;
+		}
+
+		@Override
+		public long insertAll(Iterable<?> entities) {
+
+			try (StatelessSession session = openStatelessSession()) {
+
+				long count = 0;
+				for (Object entity : entities) {
+					session.insert(entity);
+					count++;
+				}
+
+				executeBatch(session);
+				return count;
+			}
+		}
+
+		@Override
+		public long updateAll(Iterable<?> entities) {
+
+			try (StatelessSession session = openStatelessSession()) {
+
+				long count = 0;
+				for (Object entity : entities) {
+					session.update(entity);
+					count++;
+				}
+
+				executeBatch(session);
+				return count;
+			}
+		}
+
+		@Override
+		public long deleteAll(Iterable<?> entities) {
+
+			try (StatelessSession session = openStatelessSession()) {
+
+				long count = 0;
+				for (Object entity : entities) {
+					session.delete(entity);
+					count++;
+				}
+
+				executeBatch(session);
+				return count;
+			}
+		}
+
+		@Override
+		public <S> Stream<S> stream(String queryString, Class<S> type) {
+
+			StatelessSession session = openStatelessSession();
+
+			try {
+				return session.createQuery(queryString, type) //
+						.setFetchSize(batchSize) //
+						.getResultStream() //
+						.onClose(session::close);
+			} catch (RuntimeException o_O) {
+
+				session.close();
+				throw o_O;
+			}
+		}
+
+		private StatelessSession openStatelessSession() {
+
+			StatelessSession session = HibernateUtils.openStatelessSession(entityManager);
+			session.setJdbcBatchSize(batchSize);
+
+			return session;
+		}
+
+		/**
+		 * Executes the pending JDBC batch as closing the {@link StatelessSession} discards it.
+		 */
+		private static void executeBatch(StatelessSession session) {
+			((SharedSessionContractImplementor) session).getJdbcCoordinator().executeBatch();
+		}
+	}
+
+	/**
+	 * Generic JPA {@link BulkOperations} flushing and clearing the persistence context after each batch so that memory
+	 * consumption stays bounded. Clearing detaches all entities managed by the {@link EntityManager}, not only the ones
+	 * handled by this repository.
+	 */
+	static class ClearingBulkOperations implements BulkOperations {
+
+		private final EntityManager entityManager;
+		private final int batchSize;
+
+		ClearingBulkOperations(EntityManager entityManager, int batchSize) {
+
+			this.entityManager = entityManager;
+			this.batchSize = batchSize;
+		}
+
+		@Override
+		public long insertAll(Iterable<?> entities) {
+			return doInBatches(entities, entityManager::persist);
+		}
+
+		@Override
+		public long updateAll(Iterable<?> entities) {
+			return doInBatches(entities, entityManager::merge);
+		}
+
+		@Override
+		public long deleteAll(Iterable<?> entities) {
+			return doInBatches(entities, it -> entityManager.remove(entityManager.merge(it)));
+		}
+
+		@Override
+		public <S> Stream<S> stream(String queryString, Class<S> type) {
+
+			entityManager.flush();
+
+			return entityManager.createQuery(queryString, type) //
+					.getResultStream() //
+					.peek(entityManager::detach);
+		}
+
+		private long doInBatches(Iterable<?> entities, Consumer<Object> operation) {
+
+			entityManager.flush();
+
+			long count = 0;
+
+			for (Object entity : entities) {
+
+				operation.accept(entity);
+
+				if (++count % batchSize == 0) {
+					flushAndClear();
+				}
+			}
+
+			if (count % batchSize != 0) {
+				flushAndClear();
+			}
+
+			return count;
+		}
+
+		private void flushAndClear() {
+
+			entityManager.flush();
+			entityManager.clear();
+		}
+	}
+}
@@ -0,0 +1,544 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.DiscriminatorColumn;
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+import jakarta.persistence.Query;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.Attribute.PersistentAttributeType;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.IdentifiableType;
+import jakarta.persistence.metamodel.Metamodel;
+import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.persistence.metamodel.Type.PersistenceType;
+
+import java.lang.reflect.AnnotatedElement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import org.hibernate.Session;
+import org.hibernate.engine.jdbc.Size;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.metamodel.mapping.ModelPart;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.descriptor.sql.DdlType;
+import org.hibernate.type.descriptor.sql.spi.DdlTypeRegistry;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.jpa.provider.PersistenceProvider;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Creates native multi-row upsert statements ({@code MERGE}, {@code INSERT … ON CONFLICT},
+ * {@code INSERT … ON DUPLICATE KEY UPDATE}) matching rows by a set of key properties.
+ * <p>
+ * Only basic singular attributes of the entity are considered. Columns are resolved through the Hibernate mapping model
+ * if available, otherwise from {@link Table @Table}/{@link Column @Column} names falling back to the entity and
+ * attribute names. The latter does not apply naming strategies of the persistence provider, so entities relying on
+ * them require explicit names on other providers than Hibernate. Identifier attributes without a value are excluded
+ * from the statement so that identity columns can be populated by the database. {@code MERGE} statements cast the
+ * values of their source rows to the column types known to Hibernate as the database cannot infer parameter types from
+ * a {@code VALUES} list.
+ * <p>
+ * Numeric {@link jakarta.persistence.Version version} attributes are inserted with their current value (or {@code 0}
+ * if not set) and incremented by the database when a row is updated. The version of the given entities is not
+ * updated. Versions of other types are rejected.
+ * <p>
+ * Entities that are part of a {@link InheritanceType#SINGLE_TABLE single table} or {@link InheritanceType#JOINED
+ * joined} inheritance hierarchy or that declare a discriminator are rejected as their rows span discriminator columns
+ * or multiple tables.
+ *
+ * @author agent
+ * @since 3.4
+ */
+class UpsertQueryCreator {
+
+	private final UpsertDialect dialect;
+	private final String table;
+	private final List<ColumnMapping> columns;
+
+	private UpsertQueryCreator(UpsertDialect dialect, String table, List<ColumnMapping> columns) {
+
+		this.dialect = dialect;
+		this.table = table;
+		this.columns = columns;
+	}
+
+	/**
+	 * Creates a new {@link UpsertQueryCreator} for the given entity and key properties.
+	 *
+	 * @param entityInformation must not be {@literal null}.
+	 * @param entityManager must not be {@literal null}.
+	 * @param keyProperties must not be {@literal null} or empty.
+	 * @return the {@link UpsertQueryCreator}.
+	 */
+	static UpsertQueryCreator create(JpaEntityInformation<?, ?> entityInformation, EntityManager entityManager,
+			Collection<String> keyProperties) {
+
+		Assert.notEmpty(keyProperties, "Key properties must not be empty");
+
+		EntityType<?> entityType = entityManager.getMetamodel().entity(entityInformation.getJavaType());
+		assertNoSharedTables(entityType, entityManager.getMetamodel());
+
+		PersistenceProvider provider = PersistenceProvider.fromEntityManager(entityManager);
+		ColumnNameResolver resolver = provider == PersistenceProvider.HIBERNATE
+				? new HibernateColumnNameResolver(entityManager, entityInformation.getJavaType())
+				: new AnnotationColumnNameResolver(entityInformation);
+
+		List<ColumnMapping> columns = new ArrayList<>();
+
+		for (SingularAttribute<?, ?> attribute : entityType.getSingularAttributes()) {
+
+			if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC) {
+				continue;
+			}
+
+			boolean key = keyProperties.contains(attribute.getName());
+
+			if (attribute.isVersion()) {
+				assertVersion(attribute, key);
+			}
+
+			columns.add(new ColumnMapping(attribute.getName(), resolver.getColumnName(attribute),
+					resolver.getColumnType(attribute), attribute.isId(), key, attribute.isVersion()));
+		}
+
+		for (String keyProperty : keyProperties) {
+			if (columns.stream().noneMatch(it -> it.property().equals(keyProperty))) {
+				throw new InvalidDataAccessApiUsageException(
+						"Key property '%s' is not a basic attribute of %s".formatted(keyProperty, entityType.getName()));
+			}
+		}
+
+		return new UpsertQueryCreator(UpsertDialect.from(entityManager, provider), resolver.getTableName(), columns);
+	}
+
+	/**
+	 * Returns the {@link Row} to write for the given entity. Identifier columns without a value are skipped, version
+	 * columns without a value are written as {@code 0}.
+	 *
+	 * @param entity must not be {@literal null}.
+	 * @return the columns and values to write.
+	 */
+	Row createRow(Object entity) {
+
+		DirectFieldAccessFallbackBeanWrapper wrapper = new DirectFieldAccessFallbackBeanWrapper(entity);
+		List<ColumnMapping> rowColumns = new ArrayList<>(columns.size());
+		List<Object> values = new ArrayList<>(columns.size());
+
+		for (ColumnMapping column : columns) {
+
+			Object value = wrapper.getPropertyValue(column.property());
+
+			if (column.id() && !column.key() && value == null) {
+				continue;
+			}
+
+			if (column.version() && value == null) {
+				value = 0;
+			}
+
+			rowColumns.add(column);
+			values.add(value);
+		}
+
+		return new Row(rowColumns, values);
+	}
+
+	/**
+	 * Creates the upsert statement for {@code rows} rows using positional JDBC-style parameters in row-major order.
+	 *
+	 * @param columns the columns to render.
+	 * @param rows number of rows.
+	 * @return the native SQL statement.
+	 */
+	String createQuery(List<ColumnMapping> columns, int rows) {
+		return dialect.render(table, columns, rows);
+	}
+
+	/**
+	 * Binds the values of the given rows to the native query.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param rows the rows to bind.
+	 */
+	static void bind(Query query, List<Row> rows) {
+
+		int index = 1;
+
+		for (Row row : rows) {
+			for (Object value : row.values()) {
+				query.setParameter(index++, value);
+			}
+		}
+	}
+
+	private static void assertVersion(SingularAttribute<?, ?> attribute, boolean key) {
+
+		Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType());
+
+		if (key || !(Integer.class.equals(type) || Long.class.equals(type) || Short.class.equals(type))) {
+			throw new InvalidDataAccessApiUsageException(
+					"Upsert requires version attribute '%s' to be a numeric attribute that is not a key property"
+							.formatted(attribute.getName()));
+		}
+	}
+
+	private static void assertNoSharedTables(EntityType<?> entityType, Metamodel metamodel) {
+
+		Class<?> type = entityType.getJavaType();
+
+		if (type.isAnnotationPresent(DiscriminatorColumn.class) || type.isAnnotationPresent(DiscriminatorValue.class)) {
+			throw new InvalidDataAccessApiUsageException(
+					"Upsert is not supported for %s declaring a discriminator".formatted(type.getName()));
+		}
+
+		IdentifiableType<?> root = entityType;
+
+		for (IdentifiableType<?> it = entityType.getSupertype(); it != null; it = it.getSupertype()) {
+			if (it.getPersistenceType() == PersistenceType.ENTITY) {
+				root = it;
+			}
+		}
+
+		boolean hasSubtypes = metamodel.getEntities().stream() //
+				.anyMatch(it -> it != entityType && entityType.getJavaType().isAssignableFrom(it.getJavaType()));
+
+		if (root == entityType && !hasSubtypes) {
+			return;
+		}
+
+		Inheritance inheritance = root.getJavaType().getAnnotation(Inheritance.class);
+		InheritanceType strategy = inheritance != null ? inheritance.strategy() : InheritanceType.SINGLE_TABLE;
+
+		if (strategy != InheritanceType.TABLE_PER_CLASS) {
+			throw new InvalidDataAccessApiUsageException("Upsert is not supported for %s using %s inheritance"
+					.formatted(type.getName(), strategy.name().toLowerCase(Locale.ROOT).replace('_', ' ')));
+		}
+	}
+
+	/**
+	 * Mapping of an entity property to its column.
+	 *
+	 * @param type the SQL type to cast values to, {@literal null} if unknown.
+	 * @param version whether the column holds the version that is incremented on update.
+	 */
+	record ColumnMapping(String property, String column, @Nullable String type, boolean id, boolean key,
+			boolean version) {
+
+	}
+
+	/**
+	 * Columns and values of a single entity.
+	 */
+	record Row(List<ColumnMapping> columns, List<Object> values) {
+
+	}
+
+	/**
+	 * Database-specific upsert syntax.
+	 */
+	enum UpsertDialect {
+
+		/**
+		 * SQL:2003 {@code MERGE INTO … USING (VALUES …)}, supported by H2, HSQLDB and DB2.
+		 */
+		MERGE {
+
+			@Override
+			String render(String table, List<ColumnMapping> columns, int rows) {
+
+				StringJoiner sourceColumns = new StringJoiner(", ");
+				StringJoiner on = new StringJoiner(" and ");
+				StringJoiner update = new StringJoiner(", ");
+				StringJoiner insertValues = new StringJoiner(", ");
+
+				for (ColumnMapping column : columns) {
+
+					sourceColumns.add(column.column());
+					insertValues.add("s." + column.column());
+
+					if (column.key()) {
+						on.add("t.%1$s = s.%1$s".formatted(column.column()));
+					} else if (column.version()) {
+						update.add("%1$s = t.%1$s + 1".formatted(column.column()));
+					} else if (!column.id()) {
+						update.add("%1$s = s.%1$s".formatted(column.column()));
+					}
+				}
+
+				String query = "merge into %s t using (values %s) s (%s) on (%s)".formatted(table,
+						valueRows(columns, rows, true), sourceColumns, on);
+
+				if (update.length() > 0) {
+					query += " when matched then update set " + update;
+				}
+
+				return query + " when not matched then insert (%s) values (%s)".formatted(sourceColumns, insertValues);
+			}
+		},
+
+		/**
+		 * PostgreSQL {@code INSERT … ON CONFLICT … DO UPDATE}. Requires a unique constraint over the key columns.
+		 */
+		ON_CONFLICT {
+
+			@Override
+			String render(String table, List<ColumnMapping> columns, int rows) {
+
+				StringJoiner keys = new StringJoiner(", ");
+				StringJoiner update = new StringJoiner(", ");
+
+				for (ColumnMapping column : columns) {
+					if (column.key()) {
+						keys.add(column.column());
+					} else if (column.version()) {
+						update.add("%1$s = %2$s.%1$s + 1".formatted(column.column(), table));
+					} else if (!column.id()) {
+						update.add("%1$s = excluded.%1$s".formatted(column.column()));
+					}
+				}
+
+				return insert(table, columns, rows) + " on conflict (" + keys + ")"
+						+ (update.length() > 0 ? " do update set " + update : " do nothing");
+			}
+		},
+
+		/**
+		 * MySQL and MariaDB {@code INSERT … ON DUPLICATE KEY UPDATE}. Requires a unique constraint over the key columns.
+		 */
+		ON_DUPLICATE_KEY {
+
+			@Override
+			String render(String table, List<ColumnMapping> columns, int rows) {
+
+				StringJoiner update = new StringJoiner(", ");
+
+				for (ColumnMapping column : columns) {
+					if (column.version()) {
+						update.add("%1$s = %1$s + 1".formatted(column.column()));
+					} else if (!column.key() && !column.id()) {
+						update.add("%1$s = values(%1$s)".formatted(column.column()));
+					}
+				}
+
+				if (update.length() == 0) {
+					ColumnMapping key = columns.stream().filter(ColumnMapping::key).findFirst().orElseThrow();
+					update.add("%1$s = %1$s".formatted(key.column()));
+				}
+
+				return insert(table, columns, rows) + " on duplicate key update " + update;
+			}
+		};
+
+		abstract String render(String table, List<ColumnMapping> columns, int rows);
+
+		static UpsertDialect from(EntityManager entityManager, PersistenceProvider provider) {
+
+			String productName = getDatabaseProductName(entityManager, provider).toLowerCase(Locale.ROOT);
+
+			if (productName.contains("h2") || productName.contains("hsql") || productName.contains("db2")) {
+				return MERGE;
+			}
+
+			if (productName.contains("postgres")) {
+				return ON_CONFLICT;
+			}
+
+			if (productName.contains("mysql") || productName.contains("mariadb")) {
+				return ON_DUPLICATE_KEY;
+			}
+
+			throw new InvalidDataAccessApiUsageException("Upsert is not supported for database '%s'".formatted(productName));
+		}
+
+		private static String getDatabaseProductName(EntityManager entityManager, PersistenceProvider provider) {
+
+			if (provider == PersistenceProvider.HIBERNATE) {
+				return entityManager.unwrap(Session.class)
+						.doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+			}
+
+			try {
+				return entityManager.unwrap(Connection.class).getMetaData().getDatabaseProductName();
+			} catch (SQLException e) {
+				throw new InvalidDataAccessResourceUsageException("Cannot determine database product name", e);
+			}
+		}
+
+		private static String insert(String table, List<ColumnMapping> columns, int rows) {
+
+			StringJoiner names = new StringJoiner(", ");
+			columns.forEach(it -> names.add(it.column()));
+
+			return "insert into %s (%s) values %s".formatted(table, names, valueRows(columns, rows, false));
+		}
+
+		private static String valueRows(List<ColumnMapping> columns, int rows, boolean typed) {
+
+			StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+
+			for (ColumnMapping column : columns) {
+				placeholders.add(typed && column.type() != null ? "cast(? as %s)".formatted(column.type()) : "?");
+			}
+
+			String row = placeholders.toString();
+
+			StringJoiner values = new StringJoiner(", ");
+			for (int i = 0; i < rows; i++) {
+				values.add(row);
+			}
+
+			return values.toString();
+		}
+	}
+
+	/**
+	 * Strategy to resolve table and column names.
+	 */
+	interface ColumnNameResolver {
+
+		String getTableName();
+
+		String getColumnName(SingularAttribute<?, ?> attribute);
+
+		@Nullable
+		String getColumnType(SingularAttribute<?, ?> attribute);
+	}
+
+	/**
+	 * {@link ColumnNameResolver} using the Hibernate {@link EntityPersister}.
+	 */
+	static class HibernateColumnNameResolver implements ColumnNameResolver {
+
+		private final AbstractEntityPersister persister;
+		private final DdlTypeRegistry ddlTypeRegistry;
+
+		HibernateColumnNameResolver(EntityManager entityManager, Class<?> type) {
+
+			SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory()
+					.unwrap(SessionFactoryImplementor.class);
+			EntityPersister persister = sessionFactory.getRuntimeMetamodels().getMappingMetamodel()
+					.getEntityDescriptor(type);
+
+			if (!(persister instanceof AbstractEntityPersister abstractEntityPersister)) {
+				throw new InvalidDataAccessApiUsageException("Cannot resolve columns for %s".formatted(type.getName()));
+			}
+
+			this.persister = abstractEntityPersister;
+			this.ddlTypeRegistry = sessionFactory.getTypeConfiguration().getDdlTypeRegistry();
+		}
+
+		@Override
+		public String getTableName() {
+			return persister.getTableName();
+		}
+
+		@Override
+		public String getColumnName(SingularAttribute<?, ?> attribute) {
+
+			String[] columns = attribute.isId() ? persister.getIdentifierColumnNames()
+					: persister.getPropertyColumnNames(attribute.getName());
+
+			if (columns.length != 1) {
+				throw new InvalidDataAccessApiUsageException(
+						"Attribute '%s' does not map to a single column".formatted(attribute.getName()));
+			}
+
+			return columns[0];
+		}
+
+		@Nullable
+		@Override
+		public String getColumnType(SingularAttribute<?, ?> attribute) {
+
+			ModelPart part = attribute.isId() ? persister.getIdentifierMapping()
+					: persister.findAttributeMapping(attribute.getName());
+
+			if (!(part instanceof BasicValuedModelPart basic)) {
+				return null;
+			}
+
+			DdlType ddlType = ddlTypeRegistry.getDescriptor(basic.getJdbcMapping().getJdbcType().getDdlTypeCode());
+
+			if (ddlType == null) {
+				return null;
+			}
+
+			Size size = new Size(basic.getPrecision(), basic.getScale(), basic.getLength(), null);
+
+			return ddlType.getCastTypeName(size, basic, ddlTypeRegistry);
+		}
+	}
+
+	/**
+	 * {@link ColumnNameResolver} inspecting {@link Table} and {@link Column} annotations. Naming strategies of the
+	 * persistence provider (e.g. converting camel case to snake case) are not applied.
+	 */
+	static class AnnotationColumnNameResolver implements ColumnNameResolver {
+
+		private final JpaEntityInformation<?, ?> entityInformation;
+
+		AnnotationColumnNameResolver(JpaEntityInformation<?, ?> entityInformation) {
+			this.entityInformation = entityInformation;
+		}
+
+		@Override
+		public String getTableName() {
+
+			Table table = entityInformation.getJavaType().getAnnotation(Table.class);
+
+			return table != null && StringUtils.hasText(table.name()) ? table.name() : entityInformation.getEntityName();
+		}
+
+		@Override
+		public String getColumnName(SingularAttribute<?, ?> attribute) {
+
+			if (attribute.getJavaMember() instanceof AnnotatedElement element) {
+
+				Column column = element.getAnnotation(Column.class);
+
+				if (column != null && StringUtils.hasText(column.name())) {
+					return column.name();
+				}
+			}
+
+			return attribute.getName();
+		}
+
+		@Nullable
+		@Override
+		public String getColumnType(SingularAttribute<?, ?> attribute) {
+			return null;
+		}
+	}
+}
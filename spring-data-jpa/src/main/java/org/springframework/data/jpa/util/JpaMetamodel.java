@@ -16,6 +16,8 @@
 package org.springframework.data.jpa.util;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -31,10 +33,12 @@ import jakarta.persistence.metamodel.Type.PersistenceType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.util.Lazy;
 import org.springframework.data.util.StreamUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
  * Wrapper around the JPA {@link Metamodel} to be able to apply some fixes against bugs in provider implementations.
+ * Lookups are backed by immutable indexes that are built lazily on first use.
  *
  * @author Oliver Gierke
  * @author Mark Paluch
@@ -45,10 +49,11 @@ public class JpaMetamodel {
 
 	private static final Map<Metamodel, JpaMetamodel> CACHE = new ConcurrentHashMap<>(4);
 
-	private final Metamodel metamodel;
-
 	private final Lazy<Collection<Class<?>>> managedTypes;
 	private final Lazy<Collection<Class<?>>> jpaEmbeddables;
+	private final Lazy<Map<String, EntityType<?>>> entitiesByName;
+	private final Lazy<Map<Class<?>, SingularAttribute<?, ?>>> singleIdAttributes;
+	private final Lazy<Collection<Class<?>>> mappedTypes;
 
 	/**
 	 * Creates a new {@link JpaMetamodel} for the given JPA {@link Metamodel}.
@@ -59,8 +64,6 @@ public class JpaMetamodel {
 
 		Assert.notNull(metamodel, "Metamodel must not be null");
 
-		this.metamodel = metamodel;
-
 		this.managedTypes = Lazy.of(() -> metamodel.getManagedTypes().stream() //
 				.map(ManagedType::getJavaType) //
 				.filter(Objects::nonNull) //
@@ -71,6 +74,43 @@ public class JpaMetamodel {
 				.filter(Objects::nonNull)
 				.filter(it -> AnnotatedElementUtils.isAnnotated(it, Embeddable.class))
 				.collect(StreamUtils.toUnmodifiableSet()));
+
+		this.entitiesByName = Lazy.of(() -> {
+
+			Map<String, EntityType<?>> entities = new HashMap<>();
+
+			for (EntityType<?> entity : metamodel.getEntities()) {
+
+				if (entity.getJavaType() != null) {
+					entities.put(entity.getJavaType().getName(), entity);
+				}
+
+				entities.put(entity.getName(), entity);
+			}
+
+			return Collections.unmodifiableMap(entities);
+		});
+
+		this.singleIdAttributes = Lazy.of(() -> {
+
+			Map<Class<?>, SingularAttribute<?, ?>> attributes = new HashMap<>();
+
+			for (EntityType<?> entity : metamodel.getEntities()) {
+
+				if (entity.getJavaType() != null) {
+					getSingularIdAttribute(entity).ifPresent(it -> attributes.putIfAbsent(entity.getJavaType(), it));
+				}
+			}
+
+			return Collections.unmodifiableMap(attributes);
+		});
+
+		this.mappedTypes = Lazy.of(() -> metamodel.getManagedTypes().stream() //
+				.filter(it -> it.getJavaType() != null) //
+				.filter(it -> !PersistenceType.EMBEDDABLE.equals(it.getPersistenceType())
+						|| jpaEmbeddables.get().contains(it.getJavaType())) //
+				.map(ManagedType::getJavaType) //
+				.collect(StreamUtils.toUnmodifiableSet()));
 	}
 
 	public static JpaMetamodel of(Metamodel metamodel) {
@@ -90,6 +130,22 @@ public class JpaMetamodel {
 		return managedTypes.get().contains(type);
 	}
 
+	/**
+	 * Returns the {@link EntityType} for the given entity name. The name is matched against the entity name and the
+	 * fully qualified class name of the entity.
+	 *
+	 * @param entityName must not be {@literal null}.
+	 * @return the {@link EntityType} or {@literal null} if there is no entity with the given name.
+	 * @since 3.4
+	 */
+	@Nullable
+	public EntityType<?> getEntity(String entityName) {
+
+		Assert.notNull(entityName, "Entity name must not be null");
+
+		return entitiesByName.get().get(entityName);
+	}
+
 	/**
 	 * Returns whether the attribute of given name and type is the single identifier attribute of the given entity.
 	 *
@@ -100,13 +156,10 @@ public class JpaMetamodel {
 	 */
 	public boolean isSingleIdAttribute(Class<?> entity, String name, Class<?> attributeType) {
 
-		return metamodel.getEntities().stream() //
-				.filter(it -> entity.equals(it.getJavaType())) //
-				.findFirst() //
-				.flatMap(JpaMetamodel::getSingularIdAttribute) //
-				.filter(it -> it.getJavaType().equals(attributeType)) //
-				.map(it -> it.getName().equals(name)) //
-				.orElse(false);
+		SingularAttribute<?, ?> idAttribute = singleIdAttributes.get().get(entity);
+
+		return idAttribute != null && idAttribute.getJavaType().equals(attributeType)
+				&& idAttribute.getName().equals(name);
 	}
 
 	/**
@@ -120,14 +173,7 @@ public class JpaMetamodel {
 
 		Assert.notNull(entity, "Type must not be null");
 
-		if (!isJpaManaged(entity)) {
-			return false;
-		}
-
-		ManagedType<?> managedType = metamodel.managedType(entity);
-
-		return !managedType.getPersistenceType().equals(PersistenceType.EMBEDDABLE)
-				|| jpaEmbeddables.get().contains(entity);
+		return mappedTypes.get().contains(entity);
 	}
 
 	/**
@@ -16,14 +16,17 @@
 package org.springframework.data.jpa.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.springframework.data.jpa.support.EntityManagerTestUtils.currentEntityManagerIsAJpa21EntityManager;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.Persistence;
 import jakarta.persistence.PersistenceUtil;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
@@ -35,14 +38,20 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.domain.sample.QUser;
 import org.springframework.data.jpa.domain.sample.Role;
 import org.springframework.data.jpa.domain.sample.User;
 import org.springframework.data.jpa.domain.sample.User_;
 import org.springframework.data.jpa.repository.sample.RepositoryMethodsWithEntityGraphConfigRepository;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.lang.Nullable;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
@@ -203,6 +212,94 @@ class EntityGraphRepositoryMethodsIntegrationTests {
 		assertThat(result.get(0)).isEqualTo(tom);
 	}
 
+	@Test
+	void shouldLoadEntityGraphForPageInTwoPhases() {
+
+		assumeThat(currentEntityManagerIsAJpa21EntityManager(em)).isTrue();
+
+		em.flush();
+		em.clear();
+
+		Page<User> page = repository.findPagedByFirstnameIsNotNull(PageRequest.of(0, 2, Sort.by("firstname")));
+		List<User> result = page.getContent();
+
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(result).extracting(User::getFirstname).containsExactly("Christoph", "Oliver");
+		assertThat(util.isLoaded(result.get(0), "roles")).isTrue();
+		assertThat(util.isLoaded(result.get(1), "colleagues")).isTrue();
+		assertThat(result.get(0).getRoles()).extracting(Role::getName).containsExactly("Developer");
+	}
+
+	@Test
+	void shouldLoadEntityGraphForSpecificationPageInTwoPhases() {
+
+		assumeThat(currentEntityManagerIsAJpa21EntityManager(em)).isTrue();
+
+		UserRepositoryWithTwoPhasePagination twoPhaseRepository = new JpaRepositoryFactory(em)
+				.getRepository(UserRepositoryWithTwoPhasePagination.class);
+
+		em.flush();
+		em.clear();
+
+		Page<User> page = twoPhaseRepository.findAll((Specification<User>) this::firstNameIsNotNull,
+				PageRequest.of(1, 2, Sort.by("firstname")));
+		List<User> result = page.getContent();
+
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(result).extracting(User::getFirstname).containsExactly("Thomas");
+		assertThat(util.isLoaded(result.get(0), "roles")).isTrue();
+		assertThat(util.isLoaded(result.get(0), "colleagues")).isTrue();
+		assertThat(em.getLockMode(result.get(0))).isEqualTo(LockModeType.PESSIMISTIC_WRITE);
+	}
+
+	@Test
+	void shouldSelectDistinctIdentifiersForJoiningSpecificationPageInTwoPhases() {
+
+		assumeThat(currentEntityManagerIsAJpa21EntityManager(em)).isTrue();
+
+		UserRepositoryWithTwoPhasePagination twoPhaseRepository = new JpaRepositoryFactory(em)
+				.getRepository(UserRepositoryWithTwoPhasePagination.class);
+
+		ollie.getColleagues().add(tom);
+		em.flush();
+		em.clear();
+
+		Specification<User> spec = (root, query, criteriaBuilder) -> {
+
+			// fetch only when selecting entities, as count and identifier queries select Long
+			if (query.getResultType() != Long.class) {
+				root.fetch(User_.roles, JoinType.LEFT);
+			}
+
+			root.join(User_.colleagues, JoinType.LEFT);
+			return null;
+		};
+
+		Page<User> page = twoPhaseRepository.findAll(spec, PageRequest.of(0, 3, Sort.by("firstname")));
+
+		assertThat(page.getContent()).extracting(User::getFirstname).containsExactly("Christoph", "Oliver");
+		assertThat(util.isLoaded(page.getContent().get(0), "roles")).isTrue();
+	}
+
+	@Test
+	void rejectsFetchJoiningSpecificationForPageInTwoPhases() {
+
+		assumeThat(currentEntityManagerIsAJpa21EntityManager(em)).isTrue();
+
+		UserRepositoryWithTwoPhasePagination twoPhaseRepository = new JpaRepositoryFactory(em)
+				.getRepository(UserRepositoryWithTwoPhasePagination.class);
+
+		Specification<User> spec = (root, query, criteriaBuilder) -> {
+
+			root.fetch(User_.roles, JoinType.LEFT);
+			return null;
+		};
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> twoPhaseRepository.findAll(spec, PageRequest.of(0, 2)))
+				.withMessageContaining("fetch joins");
+	}
+
 	@Test // DATAJPA-1041
 	void shouldRespectNamedEntitySubGraph() {
 
@@ -289,4 +386,12 @@ class EntityGraphRepositoryMethodsIntegrationTests {
 		return criteriaBuilder.isNotNull(root.get(User_.firstname));
 	}
 
+	interface UserRepositoryWithTwoPhasePagination extends Repository<User, Integer>, JpaSpecificationExecutor<User> {
+
+		@Override
+		@Lock(LockModeType.PESSIMISTIC_WRITE)
+		@Meta(comment = "two-phase pagination")
+		@EntityGraph(attributePaths = { "roles", "colleagues" }, twoPhasePagination = true)
+		Page<User> findAll(@Nullable Specification<User> spec, Pageable pageable);
+	}
 }
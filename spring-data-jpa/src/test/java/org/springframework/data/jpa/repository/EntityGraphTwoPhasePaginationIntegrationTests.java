@@ -0,0 +1,115 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.sample.Role;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.sample.RepositoryMethodsWithEntityGraphConfigRepository;
+import org.springframework.data.jpa.repository.sample.RoleRepository;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link EntityGraph#twoPhasePagination()} on query methods. Runs without a surrounding
+ * transaction so that each repository call uses its own persistence context and the returned entities are detached.
+ *
+ * @author agent
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration("classpath:config/namespace-autoconfig-context.xml")
+class EntityGraphTwoPhasePaginationIntegrationTests {
+
+	@Autowired RepositoryMethodsWithEntityGraphConfigRepository repository;
+	@Autowired RoleRepository roleRepository;
+	@Autowired PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+
+			Role developer = roleRepository.save(new Role("Developer"));
+			Role manager = roleRepository.save(new Role("Manager"));
+
+			User thomas = new User("Thomas", "Darimont", "tdarimont@example.org");
+			thomas.addRole(developer);
+
+			User oliver = new User("Oliver", "Gierke", "ogierke@example.org");
+			oliver.addRole(developer);
+			oliver.addRole(manager);
+
+			User christoph = new User("Christoph", "Strobl", "cstrobl@example.org");
+			christoph.addRole(manager);
+
+			repository.saveAll(List.of(thomas, oliver, christoph));
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			repository.deleteAll();
+			roleRepository.deleteAll();
+		});
+	}
+
+	@Test
+	void returnsDerivedQueryPageWithInitializedEntityGraphInRequestedOrder() {
+
+		Page<User> page = repository.findPagedByFirstnameIsNotNull(PageRequest.of(0, 2, Sort.by("firstname")));
+
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(page.getContent()).extracting(User::getFirstname).containsExactly("Christoph", "Oliver");
+		assertThat(page.getContent().get(0).getRoles()).extracting(Role::getName).containsExactly("Manager");
+		assertThat(page.getContent().get(1).getRoles()).extracting(Role::getName).containsExactlyInAnyOrder("Developer",
+				"Manager");
+	}
+
+	@Test
+	void returnsDeclaredQueryPageWithInitializedEntityGraphInRequestedOrder() {
+
+		Page<User> page = repository.findPagedByDeclaredQuery(PageRequest.of(1, 2, Sort.by(Direction.DESC, "firstname")));
+
+		assertThat(page.getTotalElements()).isEqualTo(3);
+		assertThat(page.getContent()).extracting(User::getFirstname).containsExactly("Christoph");
+		assertThat(page.getContent().get(0).getRoles()).extracting(Role::getName).containsExactly("Manager");
+	}
+
+	@Test
+	void returnsPageInRequestedOrderAcrossMultipleEntitiesWithCollections() {
+
+		Page<User> page = repository.findPagedByDeclaredQuery(PageRequest.of(0, 3, Sort.by(Direction.DESC, "firstname")));
+
+		assertThat(page.getContent()).extracting(User::getFirstname).containsExactly("Thomas", "Oliver", "Christoph");
+		assertThat(page.getContent()).allSatisfy(user -> assertThat(user.getRoles()).isNotEmpty());
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.criteria.JoinType;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.sample.UserRepository;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link JpaSpecificationExecutor#parallelStream(Specification, int)}. Partitions read through
+ * their own {@link jakarta.persistence.EntityManager}s and therefore require committed data.
+ *
+ * @author agent
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration("classpath:application-context.xml")
+class PartitionedStreamIntegrationTests {
+
+	@Autowired UserRepository repository;
+	@Autowired PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+
+			repository.deleteAllInBatch();
+			repository.saveAll(IntStream.range(0, 50) //
+					.mapToObj(i -> new User("Dave" + i, i % 2 == 0 ? "Matthews" : "Beauford", i + "@dmband.com")) //
+					.toList());
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> repository.deleteAllInBatch());
+	}
+
+	@Test
+	void readsAllEntitiesAcrossPartitions() {
+
+		List<User> users = repository.parallelStream(null, 4).toList();
+
+		assertThat(users).hasSize(50);
+		assertThat(users).extracting(User::getId).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void appliesSpecificationToPartitions() {
+
+		Specification<User> matthews = (root, query, cb) -> cb.equal(root.get("lastname"), "Matthews");
+
+		assertThat(repository.parallelStream(matthews, 3).map(User::getLastname).toList()).hasSize(25)
+				.containsOnly("Matthews");
+	}
+
+	@Test
+	void appliesDistinctSpecificationWithFetchJoinToPartitions() {
+
+		Specification<User> matthews = (root, query, cb) -> {
+
+			if (query.getResultType() != Long.class) {
+				root.fetch("roles", JoinType.LEFT);
+			}
+
+			query.distinct(true);
+			return cb.equal(root.get("lastname"), "Matthews");
+		};
+
+		assertThat(repository.parallelStream(matthews, 4).map(User::getId).toList()).hasSize(25).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void rejectsSpecificationFetchingInIdentifierQueries() {
+
+		Specification<User> matthews = (root, query, cb) -> {
+
+			root.fetch("roles", JoinType.LEFT);
+			return cb.equal(root.get("lastname"), "Matthews");
+		};
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> repository.parallelStream(matthews, 1).toList());
+	}
+
+	@Test
+	void readsSinglePartition() {
+		assertThat(repository.parallelStream(null, 1).count()).isEqualTo(50);
+	}
+}
@@ -17,6 +17,7 @@ package org.springframework.data.jpa.repository;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.List;
 import java.util.Map;
 
 import jakarta.persistence.EntityManager;
@@ -29,9 +30,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.query.Procedure;
 import org.springframework.data.jpa.repository.sample.UserRepository;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.Repository;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -107,6 +113,43 @@ class UserRepositoryStoredProcedureIntegrationTests {
 		assertThat(result).containsOnly(entry("res", 2), entry("res2", null));
 	}
 
+	@Test
+	void callProcedureRepeatedlyReusesParameterRegistrations() {
+
+		assertThat(repository.plus1inout(1)).isEqualTo(2);
+		assertThat(repository.plus1inout(2)).isEqualTo(3);
+		assertThat(repository.plus1inout(3)).isEqualTo(4);
+	}
+
+	@Test
+	void callProcedureInJdbcBatch() {
+
+		assertThat(repository.procedureWithUpdateInBatch(List.of("A", "B", "C"))).hasSize(3);
+		assertThat(repository.procedureWithUpdateInBatch(List.of("D", "E"))).hasSize(2);
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void callProcedureCallByCallOutsideOfTransaction() {
+
+		assertThat(repository.procedureWithUpdateInBatch(List.of("A", "B", "C"))).hasSize(3);
+	}
+
+	@Test
+	void callProcedureInBatchWithEmptyArguments() {
+
+		assertThat(repository.procedureWithUpdateInBatch(List.of())).isEmpty();
+	}
+
+	@Test
+	void rejectsBatchCallOfNamedProcedure() {
+
+		JpaRepositoryFactory factory = new JpaRepositoryFactory(em);
+
+		assertThatThrownBy(() -> factory.getRepository(NamedProcedureBatchRepository.class))
+				.hasStackTraceContaining("Batch execution is not supported for named stored procedures");
+	}
+
 	@Test // DATAJPA-455
 	void plainJpa21() {
 
@@ -157,4 +200,10 @@ class UserRepositoryStoredProcedureIntegrationTests {
 		assertThat(proc.getOutputParameterValue("res")).isEqualTo(2);
 		assertThat(proc.getOutputParameterValue("res2")).isEqualTo(3);
 	}
+
+	interface NamedProcedureBatchRepository extends Repository<User, Integer> {
+
+		@Procedure(name = "User.plus1IO", batch = true)
+		int[] plus1InBatch(List<Integer> args);
+	}
 }
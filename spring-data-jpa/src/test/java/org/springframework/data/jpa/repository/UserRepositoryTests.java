@@ -26,6 +26,7 @@ import static org.springframework.data.jpa.domain.sample.UserSpecifications.*;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -61,12 +62,15 @@ import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.*;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.jpa.domain.FetchPlan;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.domain.UpdateSpec;
 import org.springframework.data.jpa.domain.sample.Address;
 import org.springframework.data.jpa.domain.sample.QUser;
 import org.springframework.data.jpa.domain.sample.Role;
 import org.springframework.data.jpa.domain.sample.SpecialUser;
 import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.data.jpa.repository.sample.SampleEvaluationContextExtension.SampleSecurityContextHolder;
 import org.springframework.data.jpa.repository.sample.UserRepository;
 import org.springframework.data.jpa.repository.sample.UserRepository.NameOnly;
@@ -1019,6 +1023,22 @@ class UserRepositoryTests {
 		assertThat(repository.findAllById(Collections.<Integer> emptySet())).isEmpty();
 	}
 
+	@Test
+	void findAllByIdSplitsLargeIdCollectionsIntoChunks() {
+
+		flushTestUsers();
+
+		List<Integer> ids = new ArrayList<>();
+		for (int i = 0; i < QueryUtils.IN_CLAUSE_CHUNK_SIZE * 2; i++) {
+			ids.add(-i);
+		}
+		ids.add(firstUser.getId());
+		ids.add(secondUser.getId());
+		ids.add(firstUser.getId());
+
+		assertThat(repository.findAllById(ids)).containsExactlyInAnyOrder(firstUser, secondUser);
+	}
+
 	@Test // DATAJPA-391
 	void executesManuallyDefinedQueryWithFieldProjection() {
 
@@ -1434,6 +1454,34 @@ class UserRepositoryTests {
 		assertThat(previousWindow.hasNext()).isFalse();
 	}
 
+	@Test
+	void scrollsNamedQueryByOffset() {
+
+		User jane1 = new User("Jane", "Doe", "jane@doe1.com");
+		User jane2 = new User("Jane", "Doe", "jane@doe2.com");
+		User john1 = new User("John", "Doe", "john@doe1.com");
+		User john2 = new User("John", "Doe", "john@doe2.com");
+
+		repository.saveAllAndFlush(Arrays.asList(john1, john2, jane1, jane2));
+
+		Window<User> firstWindow = repository.findWindowByLastname("Doe", ScrollPosition.offset(), Limit.of(2));
+
+		assertThat(firstWindow).containsExactly(jane1, jane2);
+		assertThat(firstWindow.hasNext()).isTrue();
+
+		Window<User> nextWindow = repository.findWindowByLastname("Doe", firstWindow.positionAt(1), Limit.of(2));
+
+		assertThat(nextWindow).containsExactly(john1, john2);
+		assertThat(nextWindow.hasNext()).isFalse();
+	}
+
+	@Test
+	void rejectsKeysetScrollingForNamedQuery() {
+
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> repository.findWindowByLastname("Doe", ScrollPosition.keyset(), Limit.of(2)));
+	}
+
 	@Test // GH-3015, GH-3407
 	void shouldApplyOffsetScrollPosition() {
 
@@ -3268,6 +3316,81 @@ class UserRepositoryTests {
 		assertThat(afterUpdate).isPresent().map(User::isActive).get().isEqualTo(false);
 	}
 
+	@Test
+	void executesModifyingQueryForEachBatchElement() {
+
+		flushTestUsers();
+
+		int[] updateCounts = repository.updateActiveStateInBatch(List.of(
+				new UserRepository.ActiveState(firstUser.getId(), false),
+				new UserRepository.ActiveState(secondUser.getId(), false), new UserRepository.ActiveState(-1, false)));
+
+		assertThat(updateCounts).containsExactly(1, 1, 0);
+		assertThat(repository.findById(firstUser.getId())).map(User::isActive).contains(false);
+		assertThat(repository.findById(secondUser.getId())).map(User::isActive).contains(false);
+		assertThat(repository.findById(thirdUser.getId())).map(User::isActive).contains(true);
+	}
+
+	@Test
+	void bindsSingleValueBatchElementsToNamedParameter() {
+
+		flushTestUsers();
+
+		int[] updateCounts = repository.deactivateInBatch(List.of(firstUser.getId(), thirdUser.getId(), -1));
+
+		assertThat(updateCounts).containsExactly(1, 1, 0);
+		assertThat(repository.findById(firstUser.getId())).map(User::isActive).contains(false);
+		assertThat(repository.findById(secondUser.getId())).map(User::isActive).contains(true);
+		assertThat(repository.findById(thirdUser.getId())).map(User::isActive).contains(false);
+	}
+
+	@Test
+	void executesNativeModifyingQueryInJdbcBatch() {
+
+		flushTestUsers();
+
+		int[] updateCounts = repository.updateActiveStateInBatchNative(
+				List.of(new Object[] { firstUser.getId(), false }, new Object[] { thirdUser.getId(), false }));
+
+		assertThat(updateCounts).containsExactly(1, 1);
+		assertThat(repository.findById(firstUser.getId())).map(User::isActive).contains(false);
+		assertThat(repository.findById(secondUser.getId())).map(User::isActive).contains(true);
+		assertThat(repository.findById(thirdUser.getId())).map(User::isActive).contains(false);
+	}
+
+	@Test
+	void flushesPendingChangesBeforeNativeJdbcBatch() {
+
+		flushTestUsers();
+
+		firstUser.setLastname("Changed");
+
+		repository.updateActiveStateInBatchNative(List.<Object[]> of(new Object[] { firstUser.getId(), false }));
+
+		assertThat(repository.findById(firstUser.getId())).hasValueSatisfying(it -> {
+
+			assertThat(it.getLastname()).isEqualTo("Changed");
+			assertThat(it.isActive()).isFalse();
+		});
+	}
+
+	@Test
+	void bindsEnumValuesInNativeJdbcBatchLikeNativeQueries() {
+
+		flushTestUsers();
+
+		em.createNativeQuery("update SD_User u set u.lastname = ?1 where u.id = ?2") //
+				.setParameter(1, Direction.DESC) //
+				.setParameter(2, secondUser.getId()) //
+				.executeUpdate();
+
+		repository.updateLastnameInBatchNative(List.<Object[]> of(new Object[] { firstUser.getId(), Direction.DESC }));
+
+		String expected = repository.findById(secondUser.getId()).map(User::getLastname).orElseThrow();
+
+		assertThat(repository.findById(firstUser.getId())).map(User::getLastname).contains(expected);
+	}
+
 	@Test // GH-1262
 	void deleteWithSpec() {
 
@@ -3281,6 +3404,54 @@ class UserRepositoryTests {
 		assertThat(initialCount - finalCount).isEqualTo(3L);
 	}
 
+	@Test
+	void findAllWithFetchPlanFetchesToOneAndCollectionPaths() {
+
+		firstUser.addRole(adminRole);
+		firstUser.setManager(secondUser);
+		flushTestUsers();
+		em.clear();
+
+		List<User> users = repository.findAll(userHasFirstname("Oliver"), FetchPlan.of("manager", "roles"));
+
+		assertThat(users).hasSize(1);
+
+		PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+		assertThat(util.isLoaded(users.get(0), "manager")).isTrue();
+		assertThat(util.isLoaded(users.get(0), "roles")).isTrue();
+		assertThat(users.get(0).getRoles()).extracting(Role::getName).containsExactly("admin");
+	}
+
+	@Test
+	void fluentFindByFetchesCollectionPathsWithoutDuplicates() {
+
+		Role userRole = new Role("user");
+		em.persist(userRole);
+
+		firstUser.addRole(adminRole);
+		firstUser.addRole(userRole);
+		flushTestUsers();
+		em.clear();
+
+		List<User> users = repository.findBy(userHasFirstnameLike("e"), q -> q.project("roles").all());
+
+		assertThat(users).hasSize(3).doesNotHaveDuplicates();
+		assertThat(users).allMatch(it -> em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(it, "roles"));
+	}
+
+	@Test
+	void updateWithSpec() {
+
+		flushTestUsers();
+
+		Specification<User> usersWithEInTheirName = userHasFirstnameLike("e");
+
+		assertThat(repository.update(usersWithEInTheirName, UpdateSpec.set("active", false))).isEqualTo(3L);
+
+		assertThat(repository.findAll(usersWithEInTheirName)).extracting(User::isActive).containsOnly(false);
+		assertThat(repository.count(not(usersWithEInTheirName))).isOne();
+	}
+
 	@Test // GH-2045, GH-425
 	public void correctlyBuildSortClauseWhenSortingByFunctionAliasAndFunctionContainsPositionalParameters() {
 		repository.findAllAndSortByFunctionResultPositionalParameter("prefix", "suffix", Sort.by("id"));
@@ -15,6 +15,9 @@
  */
 package org.springframework.data.jpa.repository.query;
 
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import jakarta.persistence.EntityManager;
@@ -28,8 +31,10 @@ import java.util.function.Supplier;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Arrays;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.provider.QueryExtractor;
@@ -96,6 +101,74 @@ class AbstractStringBasedJpaQueryUnitTests {
 		stringQuery.called("applySorting").times(2);
 	}
 
+	@Test
+	void sortsUsingQueryEnhancerOfDeclaredQuery() {
+
+		InvocationCapturingStringQueryStub stringQuery = forMethod(TestRepo.class, "find", Sort.class);
+
+		try (MockedStatic<QueryEnhancerFactory> factory = mockStatic(QueryEnhancerFactory.class, CALLS_REAL_METHODS)) {
+
+			stringQuery.createQueryWithArguments(Sort.by("name"));
+			stringQuery.createQueryWithArguments(Sort.by("age"));
+
+			factory.verifyNoInteractions();
+		}
+
+		stringQuery.called("applySorting").times(2);
+		assertThat(stringQuery.getSortedQueryString(Sort.by("name"))).endsWithIgnoringCase("order by e.name asc");
+	}
+
+	@Test
+	void cachesQueriesRewrittenByCacheableRewriter() {
+
+		QueryRewriter rewriter = cacheableRewriter();
+		InvocationCapturingStringQueryStub stringQuery = forMethod(TestRepo.class, rewriter, "find", Sort.class);
+
+		stringQuery.createQueryWithArguments(Sort.by("name"));
+		stringQuery.createQueryWithArguments(Sort.by("name"));
+		verify(rewriter, times(1)).rewrite(anyString(), any(Sort.class));
+
+		stringQuery.createQueryWithArguments(Sort.by("age"));
+		verify(rewriter, times(2)).rewrite(anyString(), any(Sort.class));
+	}
+
+	@Test
+	void cachesQueriesRewrittenByCacheableRewriterByPagingShape() {
+
+		QueryRewriter rewriter = cacheableRewriter();
+		InvocationCapturingStringQueryStub stringQuery = forMethod(TestRepo.class, rewriter, "find", Pageable.class);
+
+		stringQuery.createQueryWithArguments(PageRequest.of(0, 10));
+		stringQuery.createQueryWithArguments(PageRequest.of(3, 20));
+		verify(rewriter, times(1)).rewrite(anyString(), any(Pageable.class));
+
+		stringQuery.createQueryWithArguments(Pageable.unpaged());
+		verify(rewriter, times(1)).rewrite(anyString(), any(Sort.class));
+	}
+
+	@Test
+	void doesNotCacheQueriesRewrittenByNonCacheableRewriter() {
+
+		QueryRewriter rewriter = mock(QueryRewriter.class);
+		when(rewriter.rewrite(anyString(), any(Sort.class))).then(returnsFirstArg());
+		InvocationCapturingStringQueryStub stringQuery = forMethod(TestRepo.class, rewriter, "find", Sort.class);
+
+		stringQuery.createQueryWithArguments(Sort.by("name"));
+		stringQuery.createQueryWithArguments(Sort.by("name"));
+
+		verify(rewriter, times(2)).rewrite(anyString(), any(Sort.class));
+	}
+
+	private static QueryRewriter cacheableRewriter() {
+
+		QueryRewriter rewriter = mock(QueryRewriter.class);
+		when(rewriter.isCacheable()).thenReturn(true);
+		when(rewriter.rewrite(anyString(), any(Sort.class))).then(returnsFirstArg());
+		when(rewriter.rewrite(anyString(), any(Pageable.class))).then(returnsFirstArg());
+
+		return rewriter;
+	}
+
 	interface TestRepo extends Repository<Object, Object> {
 
 		@Query("SELECT e FROM Employee e")
@@ -103,9 +176,17 @@ class AbstractStringBasedJpaQueryUnitTests {
 
 		@Query("SELECT e FROM Employee e")
 		Object find(Sort sort);
+
+		@Query("SELECT e FROM Employee e")
+		List<Object> find(Pageable pageable);
 	}
 
 	static InvocationCapturingStringQueryStub forMethod(Class<?> repository, String method, Class<?>... args) {
+		return forMethod(repository, Mockito.mock(QueryRewriter.class), method, args);
+	}
+
+	static InvocationCapturingStringQueryStub forMethod(Class<?> repository, QueryRewriter queryRewriter, String method,
+			Class<?>... args) {
 
 		Method respositoryMethod = ReflectionUtils.findMethod(repository, method, args);
 		RepositoryMetadata repositoryMetadata = new DefaultRepositoryMetadata(repository);
@@ -117,7 +198,7 @@ class AbstractStringBasedJpaQueryUnitTests {
 		Query query = AnnotatedElementUtils.getMergedAnnotation(respositoryMethod, Query.class);
 
 		return new InvocationCapturingStringQueryStub(respositoryMethod, queryMethod, query.value(), query.countQuery(),
-				new SpelExpressionParser());
+				queryRewriter, new SpelExpressionParser());
 
 	}
 
@@ -127,7 +208,7 @@ class AbstractStringBasedJpaQueryUnitTests {
 		private final MultiValueMap<String, Arguments> capturedArguments = new LinkedMultiValueMap<>(3);
 
 		InvocationCapturingStringQueryStub(Method targetMethod, JpaQueryMethod queryMethod, String queryString,
-				@Nullable String countQueryString, SpelExpressionParser parser) {
+				@Nullable String countQueryString, QueryRewriter queryRewriter, SpelExpressionParser parser) {
 			super(queryMethod, new Supplier<EntityManager>() {
 
 				@Override
@@ -141,7 +222,7 @@ class AbstractStringBasedJpaQueryUnitTests {
 
 					return em;
 				}
-			}.get(), queryString, countQueryString, Mockito.mock(QueryRewriter.class),
+			}.get(), queryString, countQueryString, queryRewriter,
 					Mockito.mock(QueryMethodEvaluationContextProvider.class), parser);
 
 			this.targetMethod = targetMethod;
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+/**
+ * Unit tests for {@link BatchExecutionSupport}.
+ *
+ * @author agent
+ */
+class BatchExecutionSupportUnitTests {
+
+	JpaQueryMethod method = mock(JpaQueryMethod.class);
+
+	@Test
+	void usesArrayElementsAsValues() {
+		assertThat(BatchExecutionSupport.getValues(new Object[] { 1, "Dave" })).containsExactly(1, "Dave");
+	}
+
+	@Test
+	void extractsRecordComponentsInDeclarationOrder() {
+
+		assertThat(BatchExecutionSupport.getValues(new EmployeeArgs(1, "Dave"))).containsExactly(1, "Dave");
+		assertThat(BatchExecutionSupport.getRecordAccessor(EmployeeArgs.class).getNames()).containsExactly("id", "name");
+	}
+
+	@Test
+	void wrapsSingleValues() {
+
+		assertThat(BatchExecutionSupport.getValues("Dave")).containsExactly("Dave");
+		assertThat(BatchExecutionSupport.getValues(null)).containsExactly((Object) null);
+	}
+
+	@Test
+	void rejectsBatchElementsBindingDifferentNumberOfValues() {
+
+		List<Object[]> batch = List.of(new Object[] { 1, "Dave" }, new Object[] { 2, "Carter" },
+				new Object[] { 3 });
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> BatchExecutionSupport.getBatchValues(batch)).withMessageContaining("Batch element 2");
+	}
+
+	@Test
+	void resolvesParameterTypesFromDeclaredTypes() {
+
+		List<Object[]> records = BatchExecutionSupport.getBatchValues(List.of(new EmployeeArgs(1, null)));
+		List<Object[]> values = BatchExecutionSupport.getBatchValues(Arrays.asList("Dave", null));
+
+		assertThat(BatchExecutionSupport.getParameterTypes(EmployeeArgs.class, records)).containsExactly(Integer.class,
+				String.class);
+		assertThat(BatchExecutionSupport.getParameterTypes(String.class, values)).containsExactly(String.class);
+	}
+
+	@Test
+	void resolvesParameterTypesOfArrayElementsFromNonNullValues() {
+
+		List<Object[]> batch = BatchExecutionSupport
+				.getBatchValues(List.of(new Object[] { 1, null }, new Object[] { 2, "Carter" }));
+
+		assertThat(BatchExecutionSupport.getParameterTypes(Object[].class, batch)).containsExactly(Integer.class,
+				String.class);
+	}
+
+	@Test
+	void translatesNativeQueryToJdbcStatement() {
+
+		StringQuery query = new StringQuery(
+				"update employee e set e.name = :name /* :ignored */ where e.id = :id and e.name <> 'a:b'", true);
+
+		BatchExecutionSupport.JdbcStatement statement = BatchExecutionSupport.toJdbcStatement(query.getQueryString(),
+				query.getParameterBindings());
+
+		assertThat(statement).isNotNull();
+		assertThat(statement.sql())
+				.isEqualTo("update employee e set e.name = ? /* :ignored */ where e.id = ? and e.name <> 'a:b'");
+		assertThat(statement.getValues(new EmployeeArgs(1, "Dave"))).containsExactly("Dave", 1);
+	}
+
+	@Test
+	void translatesIndexedParametersToJdbcStatement() {
+
+		StringQuery query = new StringQuery("update employee e set e.name = ?2 where e.id = ?1", true);
+
+		BatchExecutionSupport.JdbcStatement statement = BatchExecutionSupport.toJdbcStatement(query.getQueryString(),
+				query.getParameterBindings());
+
+		assertThat(statement).isNotNull();
+		assertThat(statement.sql()).isEqualTo("update employee e set e.name = ? where e.id = ?");
+		assertThat(statement.getValues(new Object[] { 1, "Dave" })).containsExactly("Dave", 1);
+	}
+
+	@Test
+	void resolvesDeclaredTypesOfJdbcStatementParameters() {
+
+		StringQuery query = new StringQuery("update employee e set e.name = :name where e.id = :id", true);
+
+		BatchExecutionSupport.JdbcStatement statement = BatchExecutionSupport.toJdbcStatement(query.getQueryString(),
+				query.getParameterBindings());
+
+		assertThat(statement).isNotNull();
+		assertThat(statement.getParameterTypes(EmployeeArgs.class)).containsExactly(String.class, Integer.class);
+		assertThat(statement.getParameterTypes(Map.class)).containsExactly(null, null);
+	}
+
+	@Test
+	void retainsEscapedQuotesInLiteralsOfJdbcStatement() {
+
+		StringQuery query = new StringQuery("update employee e set e.name = :name where e.name <> 'it''s :name'", true);
+
+		BatchExecutionSupport.JdbcStatement statement = BatchExecutionSupport.toJdbcStatement(query.getQueryString(),
+				query.getParameterBindings());
+
+		assertThat(statement).isNotNull();
+		assertThat(statement.sql()).isEqualTo("update employee e set e.name = ? where e.name <> 'it''s :name'");
+		assertThat(statement.parameters()).hasSize(1);
+	}
+
+	@Test
+	void rejectsCollectionValuesForJdbcPlaceholders() {
+
+		StringQuery query = new StringQuery("update employee e set e.name = :name where e.id = :id", true);
+
+		BatchExecutionSupport.JdbcStatement statement = BatchExecutionSupport.toJdbcStatement(query.getQueryString(),
+				query.getParameterBindings());
+
+		assertThat(statement).isNotNull();
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> statement.getValues(Map.of("id", List.of(1, 2), "name", "Dave")));
+	}
+
+	@Test
+	void bindsSingleValueElementsToNamedParameter() {
+
+		StringQuery query = new StringQuery("update User u set u.active = false where u.id = :id", false);
+		List<ParameterBinding> bindings = query.getParameterBindings();
+
+		assertThat(BatchExecutionSupport.bindsSingleParameter(bindings)).isTrue();
+		assertThat(BatchExecutionSupport.getValue(42, bindings.get(0).getIdentifier(), true)).isEqualTo(42);
+		assertThatNoException().isThrownBy(() -> BatchExecutionSupport.verifyBindings(Integer.class, bindings, method));
+	}
+
+	@Test
+	void bindsSingleValueElementsToNamedJdbcPlaceholders() {
+
+		StringQuery query = new StringQuery("update employee e set e.active = false where e.id = :id or e.manager = :id",
+				true);
+
+		BatchExecutionSupport.JdbcStatement statement = BatchExecutionSupport.toJdbcStatement(query.getQueryString(),
+				query.getParameterBindings());
+
+		assertThat(statement).isNotNull();
+		assertThat(statement.getValues(42)).containsExactly(42, 42);
+		assertThat(statement.getParameterTypes(Integer.class)).containsExactly(Integer.class, Integer.class);
+	}
+
+	@Test
+	void rejectsSingleValueElementsForMultipleParameters() {
+
+		StringQuery query = new StringQuery("update User u set u.name = :name where u.id = :id", false);
+
+		assertThat(BatchExecutionSupport.bindsSingleParameter(query.getParameterBindings())).isFalse();
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(
+				() -> BatchExecutionSupport.verifyBindings(Integer.class, query.getParameterBindings(), method));
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> BatchExecutionSupport.getValue(42, query.getParameterBindings().get(0).getIdentifier(),
+						false));
+	}
+
+	@Test
+	void rejectsParametersNotResolvableFromDeclaredElementType() {
+
+		StringQuery named = new StringQuery("update User u set u.name = :lastname where u.id = :id", false);
+		StringQuery indexed = new StringQuery("update User u set u.name = ?2 where u.id = ?1", false);
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(
+				() -> BatchExecutionSupport.verifyBindings(EmployeeArgs.class, named.getParameterBindings(), method));
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(
+				() -> BatchExecutionSupport.verifyBindings(Object[].class, named.getParameterBindings(), method));
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> BatchExecutionSupport.verifyBindings(Map.class, indexed.getParameterBindings(), method));
+		assertThatNoException().isThrownBy(
+				() -> BatchExecutionSupport.verifyBindings(EmployeeArgs.class, indexed.getParameterBindings(), method));
+	}
+
+	record EmployeeArgs(int id, String name) {
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryRewriter;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link QueryRewriter#isCacheable() cacheable} {@link QueryRewriter} beans resolved through a
+ * {@link BeanFactoryQueryRewriterProvider}.
+ *
+ * @author agent
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration("classpath:infrastructure.xml")
+@Transactional
+class CacheableQueryRewriterIntegrationTests {
+
+	@PersistenceContext EntityManager em;
+
+	CountingQueryRewriter rewriter;
+	UserRepositoryWithCacheableRewriter repository;
+
+	@BeforeEach
+	void setUp() {
+
+		rewriter = new CountingQueryRewriter();
+
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("countingQueryRewriter", rewriter);
+
+		JpaRepositoryFactory factory = new JpaRepositoryFactory(em);
+		factory.setBeanFactory(beanFactory);
+
+		repository = factory.getRepository(UserRepositoryWithCacheableRewriter.class);
+	}
+
+	@Test
+	void callsCacheableRewriterBeanOncePerQueryAndSort() {
+
+		repository.findByLastname("Matthews", Sort.by("firstname"));
+		repository.findByLastname("Beauford", Sort.by("firstname"));
+
+		assertThat(rewriter.invocations).hasValue(1);
+
+		repository.findByLastname("Matthews", Sort.by("lastname"));
+
+		assertThat(rewriter.invocations).hasValue(2);
+	}
+
+	interface UserRepositoryWithCacheableRewriter extends Repository<User, Integer> {
+
+		@Query(value = "select u from User u where u.lastname = ?1", queryRewriter = CountingQueryRewriter.class)
+		List<User> findByLastname(String lastname, Sort sort);
+	}
+
+	static class CountingQueryRewriter implements QueryRewriter {
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		@Override
+		public String rewrite(String query, Sort sort) {
+
+			invocations.incrementAndGet();
+			return query;
+		}
+
+		@Override
+		public boolean isCacheable() {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.data.jpa.util.JpaMetamodel;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link CountQueryOptimizer} verifying that derived count queries are valid and omit
+ * cardinality-neutral joins.
+ *
+ * @author agent
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration("classpath:infrastructure.xml")
+@Transactional
+class CountQueryOptimizerIntegrationTests {
+
+	@PersistenceContext EntityManager em;
+
+	JpaMetamodel metamodel;
+
+	@BeforeEach
+	void setUp() {
+		metamodel = JpaMetamodel.of(em.getMetamodel());
+	}
+
+	@Test
+	void removesUnreferencedLeftJoinOfToOneAssociation() {
+
+		String countQuery = hql("select u from User u left join u.manager m where u.firstname = :name");
+
+		assertThat(countQuery).isEqualToIgnoringCase("select count(u) from User u where u.firstname = :name");
+		assertThat(jpql("select u from User u left join u.manager m where u.firstname = :name")).isEqualTo(countQuery);
+		assertThat(eql("select u from User u left join u.manager m where u.firstname = :name")).isEqualTo(countQuery);
+		assertThat(em.createQuery(countQuery).setParameter("name", "Dave").getSingleResult()).isEqualTo(0L);
+	}
+
+	@Test
+	void removesDistinctIfNoJoinRemains() {
+
+		String countQuery = hql("select distinct u from User u left join u.manager m");
+
+		assertThat(countQuery).isEqualToIgnoringCase("select count(u) from User u");
+		assertThat(em.createQuery(countQuery).getSingleResult()).isEqualTo(0L);
+	}
+
+	@Test
+	void removesLeftFetchJoinOfCollectionForHibernate() {
+
+		String countQuery = hql("select distinct u from User u left join fetch u.roles r");
+
+		assertThat(countQuery).isEqualToIgnoringCase("select count(u) from User u");
+		assertThat(jpql("select distinct u from User u left join fetch u.roles")).containsIgnoringCase("distinct")
+				.containsIgnoringCase("join");
+	}
+
+	@Test
+	void retainsReferencedJoins() {
+
+		assertThat(hql("select u from User u left join u.manager m where m.lastname = :name")).containsIgnoringCase("join");
+		assertThat(hql("select u from User u left join u.manager m", "m.id")).containsIgnoringCase("join");
+	}
+
+	@Test
+	void retainsJoinsAffectingCardinality() {
+
+		assertThat(hql("select u from User u join u.manager m")).containsIgnoringCase("join");
+		assertThat(hql("select u from User u left join u.roles r")).containsIgnoringCase("join");
+		assertThat(hql("select distinct u from User u left join u.manager m left join u.roles r"))
+				.containsIgnoringCase("distinct").containsIgnoringCase("join");
+	}
+
+	@Test
+	void retainsRestrictedJoins() {
+
+		String countQuery = hql("select u from User u left join u.manager m on m.lastname = :name");
+
+		assertThat(countQuery).containsIgnoringCase("join");
+		assertThat(em.createQuery(countQuery).setParameter("name", "Dave").getSingleResult()).isEqualTo(0L);
+	}
+
+	@Test
+	void doesNotOptimizeSubqueries() {
+
+		String countQuery = hql(
+				"select u from User u where exists (select s from User s left join s.manager m where s.id = u.id)");
+
+		assertThat(countQuery).containsIgnoringCase("left join s.manager m");
+	}
+
+	private String hql(String query) {
+		return hql(query, null);
+	}
+
+	private String hql(String query, String countProjection) {
+		return JpaQueryEnhancer.HqlQueryParser.parseQuery(query).createCountQueryFor(countProjection, metamodel);
+	}
+
+	private String jpql(String query) {
+		return JpaQueryEnhancer.JpqlQueryParser.parseQuery(query).createCountQueryFor(null, metamodel);
+	}
+
+	private String eql(String query) {
+		return JpaQueryEnhancer.EqlQueryParser.parseQuery(query).createCountQueryFor(null, metamodel);
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.data.jpa.domain.sample.Address;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.util.JpaMetamodel;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.ReturnedType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link DtoProjectionRewriter}.
+ *
+ * @author agent
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration("classpath:infrastructure.xml")
+@Transactional
+class DtoProjectionRewriterIntegrationTests {
+
+	@PersistenceContext EntityManager em;
+
+	DtoProjectionRewriter rewriter;
+
+	@BeforeEach
+	void setUp() {
+
+		rewriter = new DtoProjectionRewriter(JpaMetamodel.of(em.getMetamodel()), true);
+
+		User user = new User("Dave", "Matthews", "dave@dmband.com");
+		user.setAddress(new Address("USA", "Charlottesville", "Main Street", "1"));
+		em.persist(user);
+		em.flush();
+		em.clear();
+	}
+
+	@Test
+	void rewritesEntitySelectionToConstructorExpression() {
+
+		String query = rewriter.rewrite("select u from User u where u.lastname = :lastname order by u.firstname",
+				returnedType(UserDto.class));
+
+		assertThat(query).isEqualTo("select new " + UserDto.class.getName()
+				+ "(u.firstname, u.lastname, u.address) from User u where u.lastname = :lastname order by u.firstname");
+
+		List<?> result = em.createQuery(query).setParameter("lastname", "Matthews").getResultList();
+
+		assertThat(result).hasSize(1).first().isInstanceOfSatisfying(UserDto.class, it -> {
+
+			assertThat(it.firstname()).isEqualTo("Dave");
+			assertThat(it.address().getCity()).isEqualTo("Charlottesville");
+		});
+	}
+
+	@Test
+	void rewritesEntitySelectionToTupleProjection() {
+
+		String query = rewriter.rewrite("select u from User u where u.lastname = :lastname",
+				returnedType(UserProjection.class));
+
+		assertThat(query).isEqualTo(
+				"select u.firstname as firstname, u.lastname as lastname from User u where u.lastname = :lastname");
+
+		Tuple tuple = em.createQuery(query, Tuple.class).setParameter("lastname", "Matthews").getSingleResult();
+
+		assertThat(tuple.get("firstname")).isEqualTo("Dave");
+		assertThat(tuple.get("lastname")).isEqualTo("Matthews");
+	}
+
+	@Test
+	void doesNotRewriteQueriesThatCannotBeProjected() {
+
+		ReturnedType dto = returnedType(UserDto.class);
+
+		assertThat(rewriter.rewrite("select distinct u from User u", dto)).isNull();
+		assertThat(rewriter.rewrite("select u from User u left join fetch u.roles", dto)).isNull();
+		assertThat(rewriter.rewrite("select u.firstname from User u", dto)).isNull();
+		assertThat(rewriter.rewrite("select u from User u", returnedType(ManagerDto.class))).isNull();
+		assertThat(rewriter.rewrite("select u from User u", returnedType(MismatchedDto.class))).isNull();
+		assertThat(rewriter.rewrite("select u from User u", returnedType(User.class))).isNull();
+	}
+
+	@Test
+	void doesNotRewriteQueriesSelectingOtherEntities() {
+
+		ReturnedType dto = returnedType(UserDto.class);
+
+		assertThat(rewriter.rewrite("select r from Role r", dto)).isNull();
+		assertThat(rewriter.rewrite("select a from (select u from User u) a", dto)).isNull();
+		assertThat(rewriter.rewrite("select u from org.springframework.data.jpa.domain.sample.User u", dto)).isNotNull();
+	}
+
+	@Test
+	void doesNotRewriteInterfaceProjectionsIfTupleProjectionsAreDisabled() {
+
+		DtoProjectionRewriter rewriter = new DtoProjectionRewriter(JpaMetamodel.of(em.getMetamodel()), false);
+
+		assertThat(rewriter.rewrite("select u from User u", returnedType(UserProjection.class))).isNull();
+		assertThat(rewriter.rewrite("select u from User u", returnedType(UserDto.class))).isNotNull();
+	}
+
+	private static ReturnedType returnedType(Class<?> type) {
+		return ReturnedType.of(type, User.class, new SpelAwareProxyProjectionFactory());
+	}
+
+	record UserDto(String firstname, String lastname, Address address) {
+	}
+
+	record ManagerDto(String firstname, User manager) {
+	}
+
+	record MismatchedDto(String firstname, Long lastname) {
+	}
+
+	interface UserProjection {
+
+		String getFirstname();
+
+		String getLastname();
+	}
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.EntityManager;
 
 import java.lang.reflect.Method;
 
+import org.hibernate.query.TypedParameterValue;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -45,6 +46,21 @@ class HibernateJpaParametersParameterAccessorUnitTests {
 		}
 	}
 
+	@Test
+	void factoryBindsNullValuesUsingResolvedType() throws NoSuchMethodException {
+
+		Method method = String.class.getMethod("concat", String.class);
+		JpaParameters parameters = new JpaParameters(ParametersSource.of(method));
+
+		JpaParametersParameterAccessor accessor = HibernateJpaParametersParameterAccessor.factory(parameters, em)
+				.apply(new Object[] { null });
+
+		Object value = accessor.getValue(parameters.getParameter(0));
+
+		Assertions.assertInstanceOf(TypedParameterValue.class, value);
+		Assertions.assertNull(((TypedParameterValue<?>) value).getValue());
+	}
+
 	private void parametersCanGetAccessesOutsideTransaction() throws NoSuchMethodException {
 
 		Method method = EntityManager.class.getMethod("flush");
@@ -78,6 +78,21 @@ class HqlQueryTransformerTests {
 		assertThat(results).contains("ORDER BY e.role, e.hire_date, e.first_name asc, e.last_name asc");
 	}
 
+	@Test
+	void reusedEnhancerAppliesDifferentSorts() {
+
+		QueryEnhancer enhancer = newParser("select u from User u where u.name = :name order by u.age");
+
+		assertThat(enhancer.applySorting(Sort.by("firstname")))
+				.isEqualTo("select u from User u where u.name = :name order by u.age, u.firstname asc");
+		assertThat(enhancer.applySorting(Sort.by(Order.desc("lastname").ignoreCase(), Order.asc("id"))))
+				.isEqualTo("select u from User u where u.name = :name order by u.age, lower(u.lastname) desc, u.id asc");
+		assertThat(enhancer.applySorting(Sort.unsorted()))
+				.isEqualTo("select u from User u where u.name = :name order by u.age");
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> enhancer.applySorting(Sort.by("age; drop table User")));
+	}
+
 	@Test // GH-1280
 	void nullFirstLastSorting() {
 
@@ -202,6 +202,21 @@ class JpaQueryMethodUnitTests {
 		assertThatIllegalArgumentException().isThrownBy(() -> new JpaQueryMethod(method, metadata, factory, extractor));
 	}
 
+	@Test
+	void considersOnlyOptedInMethodsBatchMethods() throws Exception {
+
+		assertThat(getQueryMethod(UserRepository.class, "updateActiveStateInBatch", List.class).isBatchQuery()).isTrue();
+		assertThat(getQueryMethod(ValidRepository.class, "deactivate", List.class).isBatchQuery()).isFalse();
+	}
+
+	@Test
+	void rejectsBatchMethodWithoutUpdateCounts() throws Exception {
+
+		JpaQueryMethod method = getQueryMethod(InvalidRepository.class, "deactivate", List.class);
+
+		assertThatIllegalStateException().isThrownBy(method::isBatchQuery);
+	}
+
 	@Test
 	void rejectsModifyingMethodWithSort() throws Exception {
 
@@ -516,6 +531,11 @@ class JpaQueryMethodUnitTests {
 		@Modifying
 		void updateMethod(String firstname, Sort sort);
 
+		// Batch methods must return update counts
+		@Modifying(batch = true)
+		@Query("update User u set u.active = false where u.id = ?1")
+		int deactivate(List<Integer> ids);
+
 	}
 
 	interface ValidRepository extends Repository<User, Integer> {
@@ -546,6 +566,10 @@ class JpaQueryMethodUnitTests {
 
 		@CustomComposedAnnotationWithAliasFor
 		void withMetaAnnotationUsingAliasFor();
+
+		@Modifying
+		@Query("update User u set u.active = false where u.id in ?1")
+		int[] deactivate(List<Integer> ids);
 	}
 
 	interface JpaRepositoryOverride extends JpaRepository<User, Integer> {
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Unit tests for {@link JpaQueryParserWarmUp}.
+ *
+ * @author agent
+ */
+class JpaQueryParserWarmUpUnitTests {
+
+	static Stream<Arguments> parsers() {
+
+		return Stream.of( //
+				Arguments.of("HQL", (Function<String, JpaQueryEnhancer>) JpaQueryEnhancer.HqlQueryParser::parseQuery), //
+				Arguments.of("JPQL", (Function<String, JpaQueryEnhancer>) JpaQueryEnhancer.JpqlQueryParser::parseQuery), //
+				Arguments.of("EQL", (Function<String, JpaQueryEnhancer>) JpaQueryEnhancer.EqlQueryParser::parseQuery));
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("parsers")
+	void warmUpQueriesAreValid(String grammar, Function<String, JpaQueryEnhancer> parser) {
+
+		for (String query : JpaQueryParserWarmUp.QUERIES) {
+			assertThatNoException().as(query).isThrownBy(() -> parser.apply(query));
+		}
+	}
+
+	@Test
+	void warmsUpInBackgroundUntilDestroyed() throws Exception {
+
+		List<String> parsed = new CopyOnWriteArrayList<>();
+		JpaQueryParserWarmUp warmUp = new JpaQueryParserWarmUp(query -> {
+
+			parsed.add(query);
+			return JpaQueryEnhancer.JpqlQueryParser.parseQuery(query);
+		});
+
+		warmUp.afterPropertiesSet();
+		warmUp.destroy();
+
+		assertThat(parsed).isSubsetOf(JpaQueryParserWarmUp.QUERIES);
+		assertThatNoException().isThrownBy(warmUp::destroy);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("parsers")
+	void rejectsInvalidQueriesAfterFallingBackToLlPrediction(String grammar, Function<String, JpaQueryEnhancer> parser) {
+
+		assertThatExceptionOfType(BadJpqlGrammarException.class)
+				.isThrownBy(() -> parser.apply("select u from User u where u.lastname = = :lastname"));
+	}
+}
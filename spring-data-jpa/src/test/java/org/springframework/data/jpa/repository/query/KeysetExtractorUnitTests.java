@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.sample.Address;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+
+/**
+ * Unit tests for {@link KeysetExtractor}.
+ *
+ * @author agent
+ */
+class KeysetExtractorUnitTests {
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	void extractsIdentifierAndSortProperties() {
+
+		JpaEntityInformation<User, Integer> entity = mock(JpaEntityInformation.class);
+		SingularAttribute idAttribute = mock(SingularAttribute.class);
+
+		when(idAttribute.getName()).thenReturn("id");
+		when(entity.getRequiredIdAttribute()).thenReturn(idAttribute);
+		when(entity.getId(any())).thenReturn(42);
+
+		User user = new User("Dave", "Matthews", "dave@dmband.com");
+		user.setAddress(new Address("USA", "Charlottesville", "Main Street", "22901"));
+
+		KeysetExtractor<User> extractor = new KeysetExtractor<>(entity,
+				Sort.by("lastname", "address.city", "id"));
+
+		assertThat(extractor.getKeyset(user)).containsExactly(entry("id", 42), entry("lastname", "Matthews"),
+				entry("address.city", "Charlottesville"));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	void returnsNullForNullIntermediateValues() {
+
+		JpaEntityInformation<User, Integer> entity = mock(JpaEntityInformation.class);
+		SingularAttribute idAttribute = mock(SingularAttribute.class);
+
+		when(idAttribute.getName()).thenReturn("id");
+		when(entity.getRequiredIdAttribute()).thenReturn(idAttribute);
+
+		KeysetExtractor<User> extractor = new KeysetExtractor<>(entity, Sort.by("address.city"));
+
+		assertThat(extractor.getKeyset(new User())).containsEntry("address.city", null);
+	}
+}
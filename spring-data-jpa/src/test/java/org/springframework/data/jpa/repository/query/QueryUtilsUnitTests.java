@@ -19,9 +19,11 @@ import static org.assertj.core.api.Assertions.*;
 import static org.springframework.data.jpa.repository.query.QueryUtils.*;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.Test;
@@ -952,4 +954,30 @@ class QueryUtilsUnitTests {
 		assertCountQuery("select * from User","select count(*) from User");
 		assertCountQuery("select * from User u","select count(u) from User u");
 	}
+
+	@Test
+	void padsInClauseValuesToNextPowerOfTwo() {
+
+		assertThat(padInClauseValues(List.of(1, 2))).containsExactly(1, 2);
+		assertThat(padInClauseValues(List.of(1, 2, 3))).containsExactly(1, 2, 3, 3);
+		assertThat(padInClauseValues(List.of(1, 2, 3, 4))).containsExactly(1, 2, 3, 4);
+		assertThat(padInClauseValues(List.of(1, 2, 3, 4, 5))).hasSize(8).endsWith(5, 5, 5, 5);
+	}
+
+	@Test
+	void doesNotPadInClauseValuesBeyondChunkSize() {
+
+		List<Integer> values = IntStream.range(0, IN_CLAUSE_CHUNK_SIZE + 88).boxed().toList();
+
+		assertThat(padInClauseValues(IntStream.range(0, 300).boxed().toList())).hasSize(IN_CLAUSE_CHUNK_SIZE);
+		assertThat(padInClauseValues(values)).isSameAs(values);
+	}
+
+	@Test
+	void doesNotPadInClauseValuesByDefault() {
+
+		List<Integer> values = List.of(1, 2, 3);
+
+		assertThat(potentiallyPadInClauseValues(values)).isSameAs(values);
+	}
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ScannedQuery}.
+ *
+ * @author agent
+ */
+class ScannedQueryUnitTests {
+
+	@Test
+	void detectsAliasAndProjection() {
+
+		ScannedQuery query = ScannedQuery.scan("select distinct u.name, u.age from users as u where u.age > 18");
+
+		assertThat(query.getAlias()).isEqualTo("u");
+		assertThat(query.getProjection()).isEqualTo("u.name, u.age");
+		assertThat(query.getEntityName()).isEqualTo("users");
+		assertThat(query.hasOrderByClause()).isFalse();
+	}
+
+	@Test
+	void ignoresSubqueriesLiteralsAndComments() {
+
+		ScannedQuery query = ScannedQuery.scan("""
+				select (select max(o.total) from orders o order by o.id) as total, 'from x y' -- from comment c
+				/* from other o */ from users u where u.name = 'it''s from' order by u.name""");
+
+		assertThat(query.getAlias()).isEqualTo("u");
+		assertThat(query.getSelectionAliases()).contains("total");
+		assertThat(query.hasOrderByClause()).isTrue();
+		assertThat(query.createCountQuery(null, true)).isEqualTo("select count(1) from users u where u.name = 'it''s from'");
+	}
+
+	@Test
+	void detectsJoinAliases() {
+
+		ScannedQuery query = ScannedQuery
+				.scan("select u from users u left outer join roles as r on u.id = r.user_id join fetch u.address a");
+
+		assertThat(query.getAlias()).isEqualTo("u");
+		assertThat(query.getJoinAliases()).containsOnly("r", "a");
+	}
+
+	@Test
+	void treatsQuotedIdentifiersAsWords() {
+
+		ScannedQuery query = ScannedQuery.scan("select \"u\".\"from\" from \"my schema\".\"users\" \"u\"");
+
+		assertThat(query.getAlias()).isEqualTo("\"u\"");
+		assertThat(query.getProjection()).isEqualTo("\"u\".\"from\"");
+	}
+
+	@Test
+	void detectsAliasOfSubqueryInFromClause() {
+
+		ScannedQuery query = ScannedQuery.scan("select t.name from (select name from users u) as t");
+
+		assertThat(query.getAlias()).isEqualTo("t");
+		assertThat(query.getEntityName()).isNull();
+		assertThat(query.createCountQuery(null, true)).isEqualTo("select count(t.name) from (select name from users u) as t");
+	}
+
+	@Test
+	void doesNotConsiderNamedParametersKeywords() {
+
+		ScannedQuery query = ScannedQuery.scan("select u from users u where u.sort = :order by");
+
+		assertThat(query.hasOrderByClause()).isFalse();
+	}
+
+	@Test
+	void detectsConstructorExpression() {
+
+		assertThat(ScannedQuery.scan("select new com.example.Dto(u.name) from User u").hasConstructorExpression())
+				.isTrue();
+		assertThat(ScannedQuery.scan("select u.new from User u").hasConstructorExpression()).isFalse();
+	}
+
+	@Test
+	void doesNotCreateCountQueryForUnsupportedStructure() {
+
+		assertThat(ScannedQuery.scan("with cte as (select * from users) select * from cte c").createCountQuery(null, true))
+				.isNull();
+		assertThat(ScannedQuery.scan("(select * from users u) union (select * from admins a)").createCountQuery(null,
+				true)).isNull();
+	}
+
+	@Test
+	void replacesProjection() {
+
+		ScannedQuery query = ScannedQuery.scan("select u from User u where u.id in (select s.id from User s) order by u.id");
+
+		assertThat(query.isDistinct()).isFalse();
+		assertThat(query.hasFetchJoin()).isFalse();
+		assertThat(query.replaceProjection("u.firstname as firstname"))
+				.isEqualTo("select u.firstname as firstname from User u where u.id in (select s.id from User s) order by u.id");
+	}
+
+	@Test
+	void detectsDistinctAndFetchJoins() {
+
+		ScannedQuery query = ScannedQuery.scan("select distinct u from User u left join fetch u.roles");
+
+		assertThat(query.isDistinct()).isTrue();
+		assertThat(query.hasFetchJoin()).isTrue();
+		assertThat(ScannedQuery.scan("from User u").replaceProjection("u.firstname")).isNull();
+	}
+}
@@ -25,6 +25,7 @@ import org.springframework.data.jpa.domain.sample.User;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.lang.Nullable;
@@ -75,6 +76,13 @@ public interface RepositoryMethodsWithEntityGraphConfigRepository
 	@EntityGraph("User.detail")
 	Page<User> findAll(@Nullable Specification spec, Pageable pageable);
 
+	@EntityGraph(attributePaths = { "roles", "colleagues" }, twoPhasePagination = true)
+	Page<User> findPagedByFirstnameIsNotNull(Pageable pageable);
+
+	@Query("select u from User u where u.firstname is not null")
+	@EntityGraph(attributePaths = "roles", twoPhasePagination = true)
+	Page<User> findPagedByDeclaredQuery(Pageable pageable);
+
 	// DATAJPA-1041
 	@EntityGraph(type = EntityGraphType.FETCH, value = "User.withSubGraph")
 	User findOneWithMultipleSubGraphsUsingNamedEntityGraphById(Integer id);
@@ -203,6 +203,9 @@ public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecifi
 
 	Window<User> findByLastnameOrderByFirstname(String lastname, Pageable page);
 
+	// backed by a named query declared in orm.xml
+	Window<User> findWindowByLastname(String lastname, ScrollPosition scrollPosition, Limit limit);
+
 	Window<NameOnly> findTop1ByLastnameOrderByFirstname(ScrollPosition scrollPosition, String lastname);
 
 	List<User> findByLastnameIgnoringCaseLike(String lastname);
@@ -360,6 +363,12 @@ public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecifi
 	@Procedure // DATAJPA-455
 	Integer plus1(@Param("arg") Integer arg);
 
+	/**
+	 * Calls the procedure "procedure_in1_out0_no_return_with_update" once per name.
+	 */
+	@Procedure(procedureName = "procedure_in1_out0_no_return_with_update", batch = true)
+	int[] procedureWithUpdateInBatch(List<String> names);
+
 	// DATAJPA-456
 	@Query(value = "select u from User u where u.firstname like ?1%", countProjection = "u.firstname")
 	Page<User> findAllByFirstnameLike(String firstname, Pageable page);
@@ -648,6 +657,22 @@ public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecifi
 	@Query(value = "update SD_User u set u.active = false where u.id = :userId", nativeQuery = true)
 	void setActiveToFalseWithModifyingNative(@Param("userId") int userId);
 
+	@Modifying(clearAutomatically = true, batch = true)
+	@Query("update User u set u.active = :active where u.id = :id")
+	int[] updateActiveStateInBatch(List<ActiveState> states);
+
+	@Modifying(clearAutomatically = true, batch = true)
+	@Query("update User u set u.active = false where u.id = :id")
+	int[] deactivateInBatch(@Param("id") List<Integer> ids);
+
+	@Modifying(clearAutomatically = true, batch = true)
+	@Query(value = "update SD_User u set u.active = ?2 where u.id = ?1", nativeQuery = true)
+	int[] updateActiveStateInBatchNative(List<Object[]> states);
+
+	@Modifying(clearAutomatically = true, batch = true)
+	@Query(value = "update SD_User u set u.lastname = ?2 where u.id = ?1", nativeQuery = true)
+	int[] updateLastnameInBatchNative(List<Object[]> lastnames);
+
 	// GH-2578
 	@Query(value = "SELECT u.firstname from SD_User u where u.age < 32 " //
 			+ "except " //
@@ -737,4 +762,7 @@ public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecifi
 		int getId();
 	}
 
+	record ActiveState(Integer id, boolean active) {
+	}
+
 }
@@ -54,6 +54,15 @@ public abstract class JpaMetamodelEntityInformationIntegrationTests {
 		assertThat(information.getIdType()).isAssignableFrom(Integer.class);
 	}
 
+	@Test
+	void sharesEntityInformationPerMetamodel() {
+
+		JpaEntityInformation<User, ?> information = getEntityInformation(User.class, em);
+
+		assertThat(getEntityInformation(User.class, em)).isSameAs(information);
+		assertThat(information.getIdAttributeNames()).containsExactly("id");
+	}
+
 	@Test // DATAJPA-141
 	void detectsIdTypeForMappedSuperclass() {
 
@@ -19,6 +19,7 @@ import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.data.jpa.domain.Specification.where;
@@ -32,6 +33,7 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -216,4 +218,36 @@ class SimpleJpaRepositoryUnitTests {
 
 		verify(metadata).getQueryHintsForCount();
 	}
+
+	@Test
+	void reusesQueryHintsPerRepositoryMethod() throws Exception {
+
+		when(metadata.getMethod()).thenReturn(CrudRepository.class.getMethod("findById", Object.class));
+
+		repo.findById(1);
+		repo.findById(2);
+
+		verify(metadata).getQueryHints();
+		verify(em).find(User.class, 1, Collections.emptyMap());
+		verify(em).find(User.class, 2, Collections.emptyMap());
+	}
+
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	void resolvesFetchGraphOnEachInvocation() throws Exception {
+
+		String entityGraphName = "User.detail";
+		when(entityGraphAnnotation.value()).thenReturn(entityGraphName);
+		when(entityGraphAnnotation.type()).thenReturn(EntityGraphType.LOAD);
+		when(metadata.getEntityGraph()).thenReturn(Optional.of(entityGraphAnnotation));
+		when(em.getEntityGraph(entityGraphName)).thenReturn((EntityGraph) entityGraph);
+		when(information.getEntityName()).thenReturn("User");
+		when(metadata.getMethod()).thenReturn(CrudRepository.class.getMethod("findById", Object.class));
+
+		repo.findById(1);
+		repo.findById(2);
+
+		verify(em, times(2)).getEntityGraph(entityGraphName);
+		verify(em).find(User.class, 2, singletonMap(EntityGraphType.LOAD.getKey(), (Object) entityGraph));
+	}
 }
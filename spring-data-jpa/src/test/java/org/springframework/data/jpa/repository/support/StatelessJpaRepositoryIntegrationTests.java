@@ -0,0 +1,224 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.jpa.domain.sample.Customer;
+import org.springframework.data.jpa.domain.sample.SampleWithTimestampVersion;
+import org.springframework.data.jpa.domain.sample.User;
+import org.springframework.data.jpa.domain.sample.VersionedUser;
+import org.springframework.data.jpa.repository.support.StatelessJpaRepository.ClearingBulkOperations;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link StatelessJpaRepository}.
+ *
+ * @author agent
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration("classpath:infrastructure.xml")
+@Transactional
+class StatelessJpaRepositoryIntegrationTests {
+
+	@PersistenceContext EntityManager em;
+
+	private StatelessJpaRepository<User> repository;
+
+	@BeforeEach
+	void setUp() {
+
+		repository = new StatelessJpaRepository<>(User.class, em);
+		repository.setBatchSize(2);
+	}
+
+	@Test
+	void insertsEntitiesWithoutAttachingThemToThePersistenceContext() {
+
+		User dave = new User("Dave", "Matthews", "dave@dmband.com");
+		User carter = new User("Carter", "Beauford", "carter@dmband.com");
+		User oliver = new User("Oliver", "Gierke", "ogierke@gopivotal.com");
+
+		assertThat(repository.insertAll(List.of(dave, carter, oliver))).isEqualTo(3);
+
+		assertThat(dave.getId()).isNotNull();
+		assertThat(em.contains(dave)).isFalse();
+		assertThat(em.createQuery("select count(u) from User u", Long.class).getSingleResult()).isEqualTo(3L);
+	}
+
+	@Test
+	void flushesPendingChangesBeforeInsertingEntities() {
+
+		User dave = new User("Dave", "Matthews", "dave@dmband.com");
+		em.persist(dave);
+
+		repository.insertAll(List.of(new User("Carter", "Beauford", "carter@dmband.com")));
+
+		assertThat(repository.findAll()).extracting(User::getFirstname).containsExactlyInAnyOrder("Dave", "Carter");
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void rejectsOperationsWithoutActiveTransaction() {
+
+		List<User> users = List.of(new User("Dave", "Matthews", "dave@dmband.com"));
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() -> repository.insertAll(users));
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() -> repository.stream());
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> repository.upsertAll(users, "emailAddress"));
+	}
+
+	@Test
+	void readsDetachedEntities() {
+
+		repository.insertAll(List.of(new User("Dave", "Matthews", "dave@dmband.com"),
+				new User("Carter", "Beauford", "carter@dmband.com")));
+
+		List<User> users = repository.findAll();
+
+		assertThat(users).extracting(User::getFirstname).containsExactlyInAnyOrder("Dave", "Carter");
+		assertThat(users).noneMatch(em::contains);
+
+		try (Stream<User> stream = repository.stream()) {
+			assertThat(stream).hasSize(2);
+		}
+	}
+
+	@Test
+	void updatesAndDeletesEntities() {
+
+		User dave = new User("Dave", "Matthews", "dave@dmband.com");
+		repository.insertAll(List.of(dave));
+
+		dave.setLastname("Grohl");
+		assertThat(repository.updateAll(List.of(dave))).isOne();
+		assertThat(repository.findAll()).extracting(User::getLastname).containsExactly("Grohl");
+
+		assertThat(repository.deleteAll(List.of(dave))).isOne();
+		assertThat(repository.findAll()).isEmpty();
+	}
+
+	@Test
+	void upsertsEntitiesByKeyProperty() {
+
+		StatelessJpaRepository<Customer> customers = new StatelessJpaRepository<>(Customer.class, em);
+		customers.setBatchSize(2);
+
+		customers.upsertAll(List.of(customer(1L, "Dave"), customer(2L, "Carter")), "id");
+		customers.upsertAll(List.of(customer(2L, "Boyd"), customer(3L, "Stefan")), "id");
+
+		assertThat(customers.findAll()).hasSize(3);
+		assertThat(em.createQuery("select c.name from Customer c where c.id = 2", String.class).getSingleResult())
+				.isEqualTo("Boyd");
+	}
+
+	@Test
+	void incrementsVersionOnUpsert() {
+
+		StatelessJpaRepository<VersionedUser> users = new StatelessJpaRepository<>(VersionedUser.class, em);
+
+		VersionedUser user = new VersionedUser();
+		user.setId(4711L);
+
+		users.upsertAll(List.of(user), "id");
+		users.upsertAll(List.of(user), "id");
+
+		assertThat(em.createQuery("select u.version from VersionedUser u where u.id = 4711", Long.class) //
+				.getSingleResult()).isOne();
+	}
+
+	@Test
+	void rejectsUpsertOfEntitiesWithNonNumericVersion() {
+
+		StatelessJpaRepository<SampleWithTimestampVersion> samples = new StatelessJpaRepository<>(
+				SampleWithTimestampVersion.class, em);
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> samples.upsertAll(List.of(new SampleWithTimestampVersion()), "id"))
+				.withMessageContaining("version");
+	}
+
+	@Test
+	void rejectsUpsertOfEntitiesInSingleTableHierarchy() {
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class)
+				.isThrownBy(() -> repository.upsertAll(List.of(new User("Dave", "Matthews", "dave@dmband.com")),
+						"emailAddress"))
+				.withMessageContaining("single table inheritance");
+	}
+
+	@Test
+	void clearingOperationsWriteEntitiesInBatches() {
+
+		ClearingBulkOperations operations = new ClearingBulkOperations(em, 2);
+
+		User dave = new User("Dave", "Matthews", "dave@dmband.com");
+		User carter = new User("Carter", "Beauford", "carter@dmband.com");
+		User oliver = new User("Oliver", "Gierke", "ogierke@gopivotal.com");
+
+		assertThat(operations.insertAll(List.of(dave, carter, oliver))).isEqualTo(3);
+		assertThat(em.contains(dave)).isFalse();
+
+		oliver.setLastname("Drotbohm");
+		assertThat(operations.updateAll(List.of(oliver))).isOne();
+		assertThat(operations.deleteAll(List.of(carter))).isOne();
+
+		try (Stream<User> stream = operations.stream("select u from User u", User.class)) {
+
+			List<User> users = stream.toList();
+
+			assertThat(users).extracting(User::getLastname).containsExactlyInAnyOrder("Matthews", "Drotbohm");
+			assertThat(users).noneMatch(em::contains);
+		}
+	}
+
+	@Test
+	void clearingOperationsDetachUnrelatedEntities() {
+
+		User dave = new User("Dave", "Matthews", "dave@dmband.com");
+		em.persist(dave);
+
+		ClearingBulkOperations operations = new ClearingBulkOperations(em, 2);
+		operations.insertAll(List.of(new User("Carter", "Beauford", "carter@dmband.com")));
+
+		assertThat(em.contains(dave)).isFalse();
+		assertThat(em.find(User.class, dave.getId())).isNotNull();
+	}
+
+	private static Customer customer(Long id, String name) {
+
+		Customer customer = new Customer();
+		ReflectionTestUtils.setField(customer, "id", id);
+		ReflectionTestUtils.setField(customer, "name", name);
+
+		return customer;
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.jpa.repository.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.UpsertQueryCreator.ColumnMapping;
+import org.springframework.data.jpa.repository.support.UpsertQueryCreator.UpsertDialect;
+
+/**
+ * Unit tests for {@link UpsertQueryCreator}.
+ *
+ * @author agent
+ */
+class UpsertQueryCreatorUnitTests {
+
+	private static final List<ColumnMapping> COLUMNS = List.of(new ColumnMapping("id", "id", null, true, false, false),
+			new ColumnMapping("email", "email_address", null, false, true, false),
+			new ColumnMapping("name", "name", null, false, false, false));
+
+	@Test
+	void rendersMerge() {
+
+		assertThat(UpsertDialect.MERGE.render("person", COLUMNS, 2)).isEqualTo(
+				"merge into person t using (values (?, ?, ?), (?, ?, ?)) s (id, email_address, name) on (t.email_address = s.email_address)"
+						+ " when matched then update set name = s.name"
+						+ " when not matched then insert (id, email_address, name) values (s.id, s.email_address, s.name)");
+	}
+
+	@Test
+	void rendersInsertOnConflict() {
+
+		assertThat(UpsertDialect.ON_CONFLICT.render("person", COLUMNS, 1)).isEqualTo(
+				"insert into person (id, email_address, name) values (?, ?, ?) on conflict (email_address) do update set name = excluded.name");
+	}
+
+	@Test
+	void rendersInsertOnDuplicateKey() {
+
+		assertThat(UpsertDialect.ON_DUPLICATE_KEY.render("person", COLUMNS, 1)).isEqualTo(
+				"insert into person (id, email_address, name) values (?, ?, ?) on duplicate key update name = values(name)");
+	}
+
+	@Test
+	void rendersMergeWithoutUpdateWhenOnlyKeysAreGiven() {
+
+		List<ColumnMapping> columns = List.of(new ColumnMapping("id", "id", null, true, true, false));
+
+		assertThat(UpsertDialect.MERGE.render("customer", columns, 1)).isEqualTo(
+				"merge into customer t using (values (?)) s (id) on (t.id = s.id) when not matched then insert (id) values (s.id)");
+		assertThat(UpsertDialect.ON_CONFLICT.render("customer", columns, 1))
+				.isEqualTo("insert into customer (id) values (?) on conflict (id) do nothing");
+	}
+
+	@Test
+	void castsMergeSourceValuesToColumnTypes() {
+
+		List<ColumnMapping> columns = List.of(new ColumnMapping("id", "id", "bigint", true, true, false),
+				new ColumnMapping("name", "name", "varchar(255)", false, false, false));
+
+		assertThat(UpsertDialect.MERGE.render("customer", columns, 2)).startsWith(
+				"merge into customer t using (values (cast(? as bigint), cast(? as varchar(255))), (cast(? as bigint), cast(? as varchar(255)))) s (id, name)");
+		assertThat(UpsertDialect.ON_CONFLICT.render("customer", columns, 1))
+				.startsWith("insert into customer (id, name) values (?, ?)");
+	}
+
+	@Test
+	void incrementsVersionOnUpdate() {
+
+		List<ColumnMapping> columns = List.of(new ColumnMapping("id", "id", null, true, true, false),
+				new ColumnMapping("version", "version", null, false, false, true));
+
+		assertThat(UpsertDialect.MERGE.render("customer", columns, 1))
+				.contains("when matched then update set version = t.version + 1")
+				.endsWith("insert (id, version) values (s.id, s.version)");
+		assertThat(UpsertDialect.ON_CONFLICT.render("customer", columns, 1))
+				.endsWith("on conflict (id) do update set version = customer.version + 1");
+		assertThat(UpsertDialect.ON_DUPLICATE_KEY.render("customer", columns, 1))
+				.endsWith("on duplicate key update version = version + 1");
+	}
+}